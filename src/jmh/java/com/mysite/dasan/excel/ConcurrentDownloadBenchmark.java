@@ -0,0 +1,216 @@
+package com.mysite.dasan.excel;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.ThreadMXBean;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.mysite.dasan.DasanApplication;
+
+/**
+ * 동시 다운로드 부하 측정 - 플랫폼 스레드와 가상 스레드(virtual-threads.enabled) 비교
+ * 같은 힙(-Xmx512m)에서 애플리케이션 전체를 H2 메모리 DB 로 기동하고, 로그인한 클라이언트 clients 개가
+ * 동시에 /api/excel/download/direct 를 내려받는 한 회차의 소요 시간을 측정합니다.
+ * 회차별 성공/거절(429)/실패 건수를 보조 지표로 기록하고, 회차마다 최대 힙 사용량과 최대 플랫폼 스레드 수를 출력합니다.
+ * 실행: ./gradlew jmh -PjmhInclude=ConcurrentDownloadBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx512m", "-Xms512m" })
+public class ConcurrentDownloadBenchmark {
+
+	private static final String JDBC_URL = "jdbc:h2:mem:download-load;DB_CLOSE_DELAY=-1";
+	private static final String USERNAME = "load";
+	private static final String PASSWORD = "load-password";
+
+	@Param({ "false", "true" })
+	public boolean virtualThreads;
+
+	@Param({ "200" })
+	public int clients;
+
+	@Param({ "20000" })
+	public int rowCount;
+
+	// 톰캣 플랫폼 스레드 풀 크기 (가상 스레드 모드에서는 사용하지 않음)
+	@Param({ "50" })
+	public int tomcatThreads;
+
+	// 동시에 생성할 수 있는 내보내기 수 - 초과분은 queue-timeout 까지 대기
+	@Param({ "10" })
+	public int maxConcurrentExports;
+
+	private ConfigurableApplicationContext context;
+	private ExecutorService clientExecutor;
+	private HttpClient client;
+	private URI downloadUri;
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		createSchema(rowCount);
+		// 기본 속성보다 application.properties, devtools 기본값이 우선하므로 명령행 인자로 전달
+		context = new SpringApplicationBuilder(DasanApplication.class).run(
+				"--server.port=0",
+				"--spring.datasource.url=" + JDBC_URL,
+				"--spring.datasource.driver-class-name=org.h2.Driver",
+				"--spring.datasource.username=sa",
+				"--spring.datasource.password=",
+				"--spring.h2.console.enabled=false",
+				"--spring.devtools.restart.enabled=false",
+				"--spring.datasource.hikari.maximum-pool-size=" + maxConcurrentExports,
+				"--virtual-threads.enabled=" + virtualThreads,
+				"--server.tomcat.threads.max=" + tomcatThreads,
+				"--excel.admission.max-concurrent=" + maxConcurrentExports,
+				"--excel.admission.queue-timeout-ms=120000",
+				"--excel.export.coalesce.enabled=false",
+				"--logging.level.root=WARN",
+				"--logging.level.com.mysite.dasan=WARN",
+				"--logging.level.java.sql=WARN",
+				"--logging.level.com.mysite.dasan.common.SqlMetricsInterceptor=ERROR",
+				"--logging.level.org.mybatis.spring.SqlSessionTemplate=WARN");
+		int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+		// 클라이언트 스레드가 서버의 플랫폼 스레드 수에 섞이지 않도록 가상 스레드로 응답 처리
+		clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+		client = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.executor(clientExecutor)
+				.cookieHandler(new CookieManager())
+				.followRedirects(HttpClient.Redirect.NEVER)
+				.connectTimeout(Duration.ofSeconds(10))
+				.build();
+		login(URI.create("http://localhost:" + port + "/login"));
+		downloadUri = URI.create("http://localhost:" + port + "/api/excel/download/direct?format=xlsx&rowCount=" + rowCount);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		clientExecutor.close();
+		context.close();
+	}
+
+	/**
+	 * 회차별 보조 지표 - 성공/거절/실패 건수 (최대값은 회차 합계가 의미 없으므로 별도 출력)
+	 */
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	@State(Scope.Thread)
+	public static class RoundResult {
+		public long ok;
+		public long rejected;
+		public long failed;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			ok = 0;
+			rejected = 0;
+			failed = 0;
+			for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+				pool.resetPeakUsage();
+			}
+			ManagementFactory.getThreadMXBean().resetPeakThreadCount();
+		}
+	}
+
+	@Benchmark
+	public void concurrentDirectDownloads(RoundResult result) {
+		HttpRequest request = HttpRequest.newBuilder(downloadUri).timeout(Duration.ofMinutes(5)).GET().build();
+		List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>(clients);
+		for (int i = 0; i < clients; i++) {
+			responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+		}
+		for (CompletableFuture<HttpResponse<Void>> response : responses) {
+			try {
+				int status = response.join().statusCode();
+				if (status == 200) {
+					result.ok++;
+				} else if (status == 429) {
+					result.rejected++;
+				} else {
+					result.failed++;
+				}
+			} catch (RuntimeException e) {
+				result.failed++;
+				System.out.println("download failed: " + e.getCause());
+			}
+		}
+
+		long peakHeap = 0;
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() == MemoryType.HEAP) {
+				peakHeap += pool.getPeakUsage().getUsed();
+			}
+		}
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		System.out.printf("peak heap %d MB, peak platform threads %d%n", peakHeap / (1024 * 1024), threads.getPeakThreadCount());
+	}
+
+	private void login(URI loginUri) throws Exception {
+		HttpRequest request = HttpRequest.newBuilder(loginUri)
+				.header("Content-Type", "application/x-www-form-urlencoded")
+				.POST(HttpRequest.BodyPublishers.ofString("username=" + USERNAME + "&password=" + PASSWORD))
+				.build();
+		HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+		String location = response.headers().firstValue("Location").orElse("");
+		if (response.statusCode() != 302 || location.contains("error")) {
+			throw new IllegalStateException("로그인 실패: " + response.statusCode() + " " + location);
+		}
+	}
+
+	/**
+	 * 애플리케이션 기동 전에 H2 에 Unit_Task, MEMBER 테이블과 부하용 계정을 생성
+	 */
+	private static void createSchema(int rowCount) throws Exception {
+		try (Connection connection = DriverManager.getConnection(JDBC_URL, "sa", "");
+				Statement statement = connection.createStatement()) {
+			statement.execute("DROP TABLE IF EXISTS Unit_Task");
+			statement.execute("DROP TABLE IF EXISTS MEMBER");
+			statement.execute("CREATE TABLE Unit_Task (id BIGINT PRIMARY KEY, level1 VARCHAR(100), level2 VARCHAR(100), "
+					+ "level3 VARCHAR(100), level4 VARCHAR(100), level5 VARCHAR(100), level6 VARCHAR(100), department VARCHAR(100))");
+			statement.execute("INSERT INTO Unit_Task SELECT X, '본부 ' || MOD(X, 7), '실 ' || MOD(X, 31), '팀 ' || MOD(X, 127), "
+					+ "'업무 ' || MOD(X, 509), '세부 ' || MOD(X, 2003), '단위 ' || X, '부서 ' || MOD(X, 61) "
+					+ "FROM SYSTEM_RANGE(1, " + rowCount + ")");
+			statement.execute("CREATE TABLE MEMBER (NO INT, ID VARCHAR(50), PASSWORD VARCHAR(100), EMAIL VARCHAR(100), "
+					+ "ROLE VARCHAR(20), CREATE_DATE DATE)");
+			try (PreparedStatement insert = connection.prepareStatement(
+					"INSERT INTO MEMBER VALUES (1, ?, ?, 'load@example.com', 'USER', CURRENT_DATE)")) {
+				insert.setString(1, USERNAME);
+				insert.setString(2, new BCryptPasswordEncoder().encode(PASSWORD));
+				insert.executeUpdate();
+			}
+		}
+	}
+}
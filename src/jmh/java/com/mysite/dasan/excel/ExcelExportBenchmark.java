@@ -0,0 +1,196 @@
+package com.mysite.dasan.excel;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.executor.result.DefaultResultContext;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Excel 생성 경로별 처리량, 할당률(gc 프로파일러), 출력 크기 비교 벤치마크
+ * 데이터베이스 없이 합성 UnitTaskVO 행으로 ExcelService 의 각 방식을 실행합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ExcelExportBenchmark {
+
+	@Param({ "10000", "50000" })
+	public int rowCount;
+
+	@Param({ "8", "32" })
+	public int stringLength;
+
+	@Param({ "20", "5000" })
+	public int cardinality;
+
+	// 합성 매퍼는 DB 를 사용하지 않으므로 아무 일도 하지 않는 트랜잭션 관리자
+	private static final PlatformTransactionManager NO_OP_TRANSACTIONS = new PlatformTransactionManager() {
+		@Override
+		public TransactionStatus getTransaction(TransactionDefinition definition) {
+			return new SimpleTransactionStatus();
+		}
+
+		@Override
+		public void commit(TransactionStatus status) {
+		}
+
+		@Override
+		public void rollback(TransactionStatus status) {
+		}
+	};
+
+	private ExcelService excelService;
+	private SyntheticUnitTaskMapper mapper;
+	private List<String[]> memoryRows;
+	private UnitTaskRowBuffer rowBuffer;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		mapper = new SyntheticUnitTaskMapper(rowCount, stringLength, cardinality);
+		excelService = new ExcelService(mapper, new UnitTaskFetcher(mapper, NO_OP_TRANSACTIONS, null, 1, 1, false, "", 0),
+				new ExportMetrics(new SimpleMeterRegistry()), XlsxCompression.DEFAULT);
+
+		memoryRows = new ArrayList<>(rowCount);
+		rowBuffer = new UnitTaskRowBuffer(rowCount);
+		for (UnitTaskVO task : mapper.getTasks()) {
+			memoryRows.add(new String[] { task.getId(), task.getLevel1(), task.getLevel2(), task.getLevel3(),
+					task.getLevel4(), task.getLevel5(), task.getLevel6(), task.getDepartment() });
+			rowBuffer.add(task);
+		}
+	}
+
+	/**
+	 * 생성된 파일 크기 (바이트) - 결과에 보조 지표로 함께 기록
+	 */
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	@State(Scope.Thread)
+	public static class OutputSize {
+		public long outputBytes;
+	}
+
+	/**
+	 * 처리한 행 수 - 초당 행 처리량으로 기록
+	 */
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	@State(Scope.Thread)
+	public static class RowRate {
+		public long rows;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			rows = 0;
+		}
+	}
+
+	@Benchmark
+	public void generateExcelBytes(OutputSize size) throws IOException {
+		size.outputBytes = excelService.generateExcelBytes(memoryRows, "Bench").length;
+	}
+
+	@Benchmark
+	public void generateExcelBytesFromRowBuffer(OutputSize size) throws IOException {
+		size.outputBytes = excelService.generateExcelBytes(rowBuffer, "Bench").length;
+	}
+
+	/**
+	 * 메모리 방식 조회 단계 - 열 단위 사전 인코딩 버퍼 적재
+	 */
+	@Benchmark
+	public UnitTaskRowBuffer fetchRowBuffer() {
+		return excelService.fetchRowBuffer(rowCount);
+	}
+
+	/**
+	 * 메모리 방식 조회 단계 - 기존 행별 String[] 목록 적재
+	 */
+	@Benchmark
+	public List<String[]> fetchDataFromDatabase() {
+		return excelService.fetchDataFromDatabase(rowCount);
+	}
+
+	@Benchmark
+	public void createExcelStream(OutputSize size) {
+		CountingOutputStream out = new CountingOutputStream();
+		excelService.createExcelStream(out, rowCount);
+		size.outputBytes = out.count;
+	}
+
+	@Benchmark
+	public void createDirectExcelStream(OutputSize size) {
+		CountingOutputStream out = new CountingOutputStream();
+		excelService.createDirectExcelStream(out, rowCount);
+		size.outputBytes = out.count;
+	}
+
+	@Benchmark
+	public void createCsvStream(OutputSize size) {
+		CountingOutputStream out = new CountingOutputStream();
+		excelService.createCsvStream(out, rowCount, false);
+		size.outputBytes = out.count;
+	}
+
+	@Benchmark
+	public void createGzipCsvStream(OutputSize size) {
+		CountingOutputStream out = new CountingOutputStream();
+		excelService.createCsvStream(out, rowCount, true);
+		size.outputBytes = out.count;
+	}
+
+	/**
+	 * ExcelResultHandler.handleResult 행 단위 비용 (SXSSF 임시 파일 기록 포함, 최종 zip 기록 제외)
+	 */
+	@Benchmark
+	public int excelResultHandlerRows(RowRate rate) throws IOException {
+		try (SXSSFWorkbook workbook = new SXSSFWorkbook(5000)) {
+			Sheet sheet = workbook.createSheet("Data");
+			ExcelResultHandler handler = new ExcelResultHandler(sheet);
+			DefaultResultContext<UnitTaskVO> context = new DefaultResultContext<>();
+			for (UnitTaskVO task : mapper.getTasks()) {
+				context.nextResultObject(task);
+				handler.handleResult(context);
+			}
+			int written = sheet.getLastRowNum();
+			rate.rows += written;
+			workbook.dispose();
+			return written;
+		}
+	}
+
+	/**
+	 * 기록된 바이트 수만 세고 버리는 출력 스트림
+	 */
+	private static class CountingOutputStream extends OutputStream {
+		long count;
+
+		@Override
+		public void write(int b) {
+			count++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			count += len;
+		}
+	}
+}
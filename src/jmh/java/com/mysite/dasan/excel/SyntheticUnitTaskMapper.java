@@ -0,0 +1,135 @@
+package com.mysite.dasan.excel;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.ibatis.executor.result.DefaultResultContext;
+import org.apache.ibatis.session.ResultHandler;
+
+/**
+ * 벤치마크용 UnitTaskMapper 구현 - 데이터베이스 없이 합성 UnitTaskVO 를 제공
+ * 문자열 길이와 값의 종류 수(카디널리티)를 조절하여 계층 라벨의 반복 정도를 흉내냅니다. (조회 조건은 적용하지 않음)
+ */
+public class SyntheticUnitTaskMapper implements UnitTaskMapper {
+
+	private final List<UnitTaskVO> tasks;
+
+	public SyntheticUnitTaskMapper(int rowCount, int stringLength, int cardinality) {
+		this.tasks = generate(rowCount, stringLength, cardinality);
+	}
+
+	public static List<UnitTaskVO> generate(int rowCount, int stringLength, int cardinality) {
+		Random random = new Random(42);
+		String[][] dictionaries = new String[7][];
+		for (int column = 0; column < dictionaries.length; column++) {
+			dictionaries[column] = new String[cardinality];
+			for (int i = 0; i < cardinality; i++) {
+				dictionaries[column][i] = randomLabel(random, stringLength);
+			}
+		}
+
+		List<UnitTaskVO> result = new ArrayList<>(rowCount);
+		for (int i = 0; i < rowCount; i++) {
+			UnitTaskVO task = new UnitTaskVO();
+			task.setId(String.valueOf(i + 1));
+			task.setLevel1(dictionaries[0][random.nextInt(cardinality)]);
+			task.setLevel2(dictionaries[1][random.nextInt(cardinality)]);
+			task.setLevel3(dictionaries[2][random.nextInt(cardinality)]);
+			task.setLevel4(dictionaries[3][random.nextInt(cardinality)]);
+			task.setLevel5(dictionaries[4][random.nextInt(cardinality)]);
+			task.setLevel6(dictionaries[5][random.nextInt(cardinality)]);
+			task.setDepartment(dictionaries[6][random.nextInt(cardinality)]);
+			result.add(task);
+		}
+		return result;
+	}
+
+	private static String randomLabel(Random random, int length) {
+		StringBuilder label = new StringBuilder(length);
+		for (int i = 0; i < length; i++) {
+			// 한글 음절 영역 (실제 계층 라벨과 같은 3바이트 UTF-8 문자)
+			label.append((char) (0xAC00 + random.nextInt(11172)));
+		}
+		return label.toString();
+	}
+
+	public List<UnitTaskVO> getTasks() {
+		return tasks;
+	}
+
+	@Override
+	public List<UnitTaskVO> selectAllUnitTask(UnitTaskFilter filter, int rowCount) {
+		return rowCount > 0 && rowCount < tasks.size() ? tasks.subList(0, rowCount) : tasks;
+	}
+
+	@Override
+	public void streamAllUnitTasks(ResultHandler<UnitTaskVO> handler, UnitTaskFilter filter, int rowCount) {
+		DefaultResultContext<UnitTaskVO> context = new DefaultResultContext<>();
+		for (UnitTaskVO task : selectAllUnitTask(filter, rowCount)) {
+			context.nextResultObject(task);
+			handler.handleResult(context);
+		}
+	}
+
+	@Override
+	public UnitTaskIdRange selectIdRange(UnitTaskFilter filter, int rowCount) {
+		throw new UnsupportedOperationException("Partitioned fetch is not used in benchmarks");
+	}
+
+	@Override
+	public void streamUnitTasksByIdRange(ResultHandler<UnitTaskVO> handler, UnitTaskFilter filter, long fromId, long toId) {
+		throw new UnsupportedOperationException("Partitioned fetch is not used in benchmarks");
+	}
+
+	@Override
+	public int countUnitTasks(UnitTaskFilter filter, int limit) {
+		return Math.min(tasks.size(), limit);
+	}
+
+	@Override
+	public UnitTaskDataVersion selectDataVersion() {
+		UnitTaskDataVersion version = new UnitTaskDataVersion();
+		version.setMaxId((long) tasks.size());
+		version.setRowCount(tasks.size());
+		return version;
+	}
+
+	@Override
+	public Long selectIdWatermark(Long afterId, int rowCount) {
+		throw new UnsupportedOperationException("Incremental fetch is not used in benchmarks");
+	}
+
+	@Override
+	public void streamUnitTasksAfterId(ResultHandler<UnitTaskVO> handler, Long afterId, long toId) {
+		throw new UnsupportedOperationException("Incremental fetch is not used in benchmarks");
+	}
+
+	@Override
+	public LocalDateTime selectCurrentTimestamp() {
+		throw new UnsupportedOperationException("Incremental fetch is not used in benchmarks");
+	}
+
+	@Override
+	public UnitTaskWatermark selectModifiedWatermark(String modifiedColumn, UnitTaskWatermark after, LocalDateTime before,
+			int rowCount) {
+		throw new UnsupportedOperationException("Incremental fetch is not used in benchmarks");
+	}
+
+	@Override
+	public void streamUnitTasksModifiedAfter(ResultHandler<UnitTaskVO> handler, String modifiedColumn,
+			UnitTaskWatermark after, UnitTaskWatermark until) {
+		throw new UnsupportedOperationException("Incremental fetch is not used in benchmarks");
+	}
+
+	@Override
+	public void insertUnitTask(long id, UnitTaskVO task) {
+		throw new UnsupportedOperationException("Import is not used in benchmarks");
+	}
+
+	@Override
+	public int deleteAllUnitTasks() {
+		throw new UnsupportedOperationException("Import is not used in benchmarks");
+	}
+}
@@ -0,0 +1,108 @@
+package com.mysite.dasan.excel;
+
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import org.h2.tools.Server;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.mysite.dasan.DasanApplication;
+
+/**
+ * 내보내기 조회 병렬도(excel.export.fetch-parallelism) 비교 - 순차 조회(1)와 id 범위 분할 조회(N)
+ * 행이 소켓을 거쳐 전달되도록 H2 를 TCP 서버로 띄우고, 애플리케이션의 UnitTaskFetcher 와 ExcelService 로
+ * 전체 행 조회만 하는 경우와 CSV 로 내보내는 경우의 1회 소요 시간을 측정합니다.
+ * 실행: ./gradlew jmh -PjmhInclude=UnitTaskFetchBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx1g", "-Xms1g" })
+public class UnitTaskFetchBenchmark {
+
+	@Param({ "1", "2", "4" })
+	public int parallelism;
+
+	@Param({ "300000" })
+	public int rowCount;
+
+	private Server server;
+	private ConfigurableApplicationContext context;
+	private UnitTaskFetcher unitTaskFetcher;
+	private ExcelService excelService;
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		int port;
+		try (ServerSocket socket = new ServerSocket(0)) {
+			port = socket.getLocalPort();
+		}
+		server = Server.createTcpServer("-tcpPort", String.valueOf(port), "-ifNotExists").start();
+		String jdbcUrl = "jdbc:h2:tcp://localhost:" + port + "/mem:fetch-bench;DB_CLOSE_DELAY=-1";
+		createSchema(jdbcUrl, rowCount);
+
+		// 기본 속성보다 application.properties, devtools 기본값이 우선하므로 명령행 인자로 전달
+		context = new SpringApplicationBuilder(DasanApplication.class).run(
+				"--server.port=0",
+				"--spring.datasource.url=" + jdbcUrl,
+				"--spring.datasource.driver-class-name=org.h2.Driver",
+				"--spring.datasource.username=sa",
+				"--spring.datasource.password=",
+				"--spring.h2.console.enabled=false",
+				"--spring.devtools.restart.enabled=false",
+				"--excel.export.fetch-parallelism=" + parallelism,
+				"--excel.export.fetch-max-in-flight=" + parallelism,
+				"--logging.level.root=WARN",
+				"--logging.level.com.mysite.dasan=WARN",
+				"--logging.level.com.mysite.dasan.common.SqlMetricsInterceptor=ERROR");
+		unitTaskFetcher = context.getBean(UnitTaskFetcher.class);
+		excelService = context.getBean(ExcelService.class);
+		if (unitTaskFetcher.getParallelism() != parallelism) {
+			throw new IllegalStateException("조회 병렬도가 풀 크기로 제한됨: " + unitTaskFetcher.getParallelism());
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+		server.stop();
+	}
+
+	@Benchmark
+	public void fetchRows(Blackhole blackhole) {
+		unitTaskFetcher.fetch(resultContext -> blackhole.consume(resultContext.getResultObject()), rowCount);
+	}
+
+	@Benchmark
+	public void exportCsv() {
+		excelService.createCsvStream(OutputStream.nullOutputStream(), rowCount, false);
+	}
+
+	private static void createSchema(String jdbcUrl, int rowCount) throws Exception {
+		try (Connection connection = DriverManager.getConnection(jdbcUrl, "sa", "");
+				Statement statement = connection.createStatement()) {
+			statement.execute("CREATE TABLE Unit_Task (id BIGINT PRIMARY KEY, level1 VARCHAR(100), level2 VARCHAR(100), "
+					+ "level3 VARCHAR(100), level4 VARCHAR(100), level5 VARCHAR(100), level6 VARCHAR(100), department VARCHAR(100))");
+			statement.execute("INSERT INTO Unit_Task SELECT X, '본부 ' || MOD(X, 7), '실 ' || MOD(X, 31), '팀 ' || MOD(X, 127), "
+					+ "'업무 ' || MOD(X, 509), '세부 ' || MOD(X, 2003), '단위 ' || X, '부서 ' || MOD(X, 61) "
+					+ "FROM SYSTEM_RANGE(1, " + rowCount + ")");
+		}
+	}
+}
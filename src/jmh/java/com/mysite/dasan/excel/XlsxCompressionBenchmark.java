@@ -0,0 +1,115 @@
+package com.mysite.dasan.excel;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * xlsx 압축 정책별 소요 시간과 파일 크기 비교 벤치마크
+ * 일반적인 Unit_Task 내보내기(라벨 16자, 열마다 서로 다른 값 200개)를 직접 스트리밍/디스크 방식으로 생성하며,
+ * 소요 시간은 벤치마크 점수(ms/op), 파일 크기는 outputBytes 보조 지표로 기록됩니다.
+ * 실행: ./gradlew jmh -PjmhInclude=XlsxCompressionBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class XlsxCompressionBenchmark {
+
+	@Param({ "50000", "200000" })
+	public int rowCount;
+
+	// 0 저장만, 1 가장 빠름, 6 기본 수준
+	@Param({ "0", "1", "6" })
+	public int level;
+
+	@Param({ "1", "4" })
+	public int threads;
+
+	private static final PlatformTransactionManager NO_OP_TRANSACTIONS = new PlatformTransactionManager() {
+		@Override
+		public TransactionStatus getTransaction(TransactionDefinition definition) {
+			return new SimpleTransactionStatus();
+		}
+
+		@Override
+		public void commit(TransactionStatus status) {
+		}
+
+		@Override
+		public void rollback(TransactionStatus status) {
+		}
+	};
+
+	private XlsxCompression compression;
+	private ExcelService excelService;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		SyntheticUnitTaskMapper mapper = new SyntheticUnitTaskMapper(rowCount, 16, 200);
+		compression = new XlsxCompression(level, threads, 512 * 1024);
+		excelService = new ExcelService(mapper, new UnitTaskFetcher(mapper, NO_OP_TRANSACTIONS, null, 1, 1, false, "", 0),
+				new ExportMetrics(new SimpleMeterRegistry()), compression);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		compression.close();
+	}
+
+	/**
+	 * 생성된 파일 크기 (바이트)
+	 */
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	@State(Scope.Thread)
+	public static class OutputSize {
+		public long outputBytes;
+	}
+
+	@Benchmark
+	public void createDirectExcelStream(OutputSize size) {
+		CountingOutputStream out = new CountingOutputStream();
+		excelService.createDirectExcelStream(out, rowCount);
+		size.outputBytes = out.count;
+	}
+
+	@Benchmark
+	public void createExcelStream(OutputSize size) {
+		CountingOutputStream out = new CountingOutputStream();
+		excelService.createExcelStream(out, rowCount);
+		size.outputBytes = out.count;
+	}
+
+	/**
+	 * 기록된 바이트 수만 세고 버리는 출력 스트림
+	 */
+	private static class CountingOutputStream extends OutputStream {
+		long count;
+
+		@Override
+		public void write(int b) {
+			count++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			count += len;
+		}
+	}
+}
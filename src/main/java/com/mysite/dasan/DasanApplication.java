@@ -2,8 +2,10 @@ package com.mysite.dasan;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class DasanApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,177 @@
+package com.mysite.dasan.common;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * BCrypt 해시 생성과 검증을 크기가 제한된 전용 스레드 풀에서 실행하는 PasswordEncoder
+ * 로그인이 몰려도 해시 계산이 사용하는 CPU 코어 수가 풀 크기로 제한되어 내보내기 등 다른 요청이 밀리지 않으며,
+ * 대기열이 가득 차거나 대기 시간을 넘으면 AuthenticationServiceException 으로 거절합니다.
+ * 저장된 해시의 cost 가 설정값과 다르면 upgradeEncoding 이 true 를 반환하여,
+ * 로그인 성공 시 UserDetailsPasswordService 를 통해 설정된 cost 로 다시 해시합니다. (올리거나 내리는 경우 모두)
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(BoundedPasswordEncoder.class);
+
+    // 대량 해시 시 한 번에 제출하는 비밀번호 수
+    private static final int BULK_CHUNK_SIZE = 8;
+
+    // $2a$10$... 형식에서 cost 추출
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[aby]?\\$(\\d\\d)\\$");
+
+    private final BCryptPasswordEncoder delegate;
+    private final int strength;
+    private final long timeoutMillis;
+    private final ThreadPoolExecutor executor;
+
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Timer bulkEncodeTimer;
+    private final Counter rejections;
+
+    /**
+     * @param strength 새로 해시할 때 사용할 BCrypt cost (4~31)
+     * @param threads 해시 계산 스레드 수
+     * @param queueCapacity 대기할 수 있는 해시 요청 수
+     * @param timeoutMillis 요청 스레드가 해시 결과를 기다리는 최대 시간 (대기열에 있는 시간 포함)
+     */
+    public BoundedPasswordEncoder(int strength, int threads, int queueCapacity, long timeoutMillis, MeterRegistry meterRegistry) {
+        this.delegate = new BCryptPasswordEncoder(strength);
+        this.strength = strength;
+        this.timeoutMillis = timeoutMillis;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        this.encodeTimer = Timer.builder("password.hash").tag("operation", "encode").register(meterRegistry);
+        this.matchesTimer = Timer.builder("password.hash").tag("operation", "matches").register(meterRegistry);
+        this.bulkEncodeTimer = Timer.builder("password.hash").tag("operation", "bulk-encode").register(meterRegistry);
+        this.rejections = Counter.builder("password.hash.rejections").register(meterRegistry);
+        Gauge.builder("password.hash.queue.depth", executor, pool -> pool.getQueue().size()).register(meterRegistry);
+        Gauge.builder("password.hash.active", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+        logger.info("Password hashing: BCrypt cost {}, {} threads, queue capacity {}", strength, threads, queueCapacity);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(encodeTimer, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * 여러 비밀번호를 해시 스레드 풀에서 병렬로 해시 (대량 등록용)
+     * 작은 묶음 단위로 나누어 스레드 수만큼만 동시에 제출하므로, 처리 중에 들어온 로그인 요청은
+     * 대기열에서 최대 한 묶음 처리 시간만 기다립니다.
+     * @return 입력 순서와 같은 순서의 해시 목록
+     */
+    public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+        String[] encoded = new String[rawPasswords.size()];
+        Deque<Future<?>> inFlight = new ArrayDeque<>();
+        try {
+            for (int start = 0; start < encoded.length; start += BULK_CHUNK_SIZE) {
+                if (inFlight.size() >= executor.getMaximumPoolSize()) {
+                    await(inFlight.removeFirst());
+                }
+                int from = start;
+                int to = Math.min(start + BULK_CHUNK_SIZE, encoded.length);
+                inFlight.addLast(submit(bulkEncodeTimer, () -> {
+                    for (int i = from; i < to; i++) {
+                        encoded[i] = delegate.encode(rawPasswords.get(i));
+                    }
+                    return null;
+                }));
+            }
+            while (!inFlight.isEmpty()) {
+                await(inFlight.removeFirst());
+            }
+        } finally {
+            inFlight.forEach(future -> future.cancel(true));
+        }
+        return Arrays.asList(encoded);
+    }
+
+    /**
+     * 저장된 해시의 cost 가 설정된 cost 와 다르면 다시 해시 (BCrypt 형식이 아니면 대상 아님)
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) != strength;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private <T> T execute(Timer timer, Callable<T> task) {
+        return await(submit(timer, task));
+    }
+
+    private <T> Future<T> submit(Timer timer, Callable<T> task) {
+        try {
+            return executor.submit(timer.wrap(task));
+        } catch (RejectedExecutionException e) {
+            rejections.increment();
+            logger.warn("Password hashing queue is full ({} waiting)", executor.getQueue().size());
+            throw new AuthenticationServiceException("로그인 요청이 많습니다. 잠시 후 다시 시도해 주세요.", e);
+        }
+    }
+
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejections.increment();
+            logger.warn("Password hashing timed out after {} ms", timeoutMillis);
+            throw new AuthenticationServiceException("로그인 요청이 많습니다. 잠시 후 다시 시도해 주세요.", e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new AuthenticationServiceException("Password hashing interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -1,10 +1,12 @@
 package com.mysite.dasan.common;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 /**
  * 비밀번호 인코더 설정
  */
@@ -12,10 +14,16 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 public class PasswordEncoderConfig {
 
     /**
-     * BCrypt 방식의 PasswordEncoder 빈 생성
+     * BCrypt 방식의 PasswordEncoder 빈 생성 (해시 계산은 전용 스레드 풀에서 실행)
+     * 스레드 수가 0 이하이면 가용 코어의 절반을 사용합니다.
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+            @Value("${security.password.bcrypt-strength:10}") int strength,
+            @Value("${security.password.hash-threads:0}") int threads,
+            @Value("${security.password.queue-capacity:200}") int queueCapacity,
+            @Value("${security.password.timeout-ms:10000}") long timeoutMillis) {
+        int hashThreads = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(strength, hashThreads, queueCapacity, timeoutMillis, meterRegistry);
     }
 }
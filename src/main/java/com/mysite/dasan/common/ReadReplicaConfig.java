@@ -0,0 +1,63 @@
+package com.mysite.dasan.common;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 읽기 전용 복제본 라우팅 설정 (datasource.replica.enabled=true 일 때만 적용)
+ * 기본 DB 풀(spring.datasource.*)과 복제본 풀(datasource.replica.*)을 만들고, 읽기 전용 트랜잭션에서 실행되는
+ * 내보내기/집계 조회(UnitTaskFetcher 등)만 복제본으로 보냅니다. 로그인, 회원 등록 등 쓰기와 읽기/쓰기 트랜잭션은 기본 DB 를 사용합니다.
+ * 설정하지 않으면 Spring Boot 기본 데이터소스 자동 설정을 그대로 사용합니다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    /**
+     * 기본 DB 커넥션 풀 (spring.datasource.* 와 spring.datasource.hikari.* 설정 사용)
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * 읽기 전용 복제본 커넥션 풀 (datasource.replica.jdbc-url, username, password 등 Hikari 설정)
+     */
+    @Bean
+    @ConfigurationProperties("datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    /**
+     * 애플리케이션 전체(MyBatis, 트랜잭션 관리자)가 사용하는 라우팅 데이터소스
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") HikariDataSource primary,
+            @Qualifier("replicaDataSource") HikariDataSource replica, MeterRegistry meterRegistry,
+            @Value("${datasource.replica.retry-interval-ms:30000}") long retryIntervalMillis) {
+        return new LazyConnectionDataSourceProxy(
+                new ReadReplicaRoutingDataSource(primary, replica, retryIntervalMillis, meterRegistry));
+    }
+}
@@ -0,0 +1,128 @@
+package com.mysite.dasan.common;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLInvalidAuthorizationSpecException;
+import java.sql.SQLNonTransientConnectionException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 읽기 전용 트랜잭션의 커넥션을 읽기 전용 복제본에서, 나머지(쓰기, 읽기/쓰기 트랜잭션, 트랜잭션 밖 조회)는 기본 DB 에서 가져오는 데이터소스
+ * 트랜잭션 시작 시점에는 읽기 전용 여부가 아직 설정되지 않으므로 LazyConnectionDataSourceProxy 로 감싸서
+ * 첫 SQL 실행 시점에 커넥션을 가져오도록 사용해야 합니다.
+ * 복제본에 접속하지 못하거나 인증에 실패하면 기본 DB 를 사용하고, retryInterval 동안 복제본을 사용하지 않습니다.
+ * 복제본 풀이 모두 사용 중이라 대기 시간이 지난 경우(SQLTransientConnectionException)는 장애가 아니라 포화이므로
+ * 기본 DB 로 넘기지 않고 예외를 그대로 던집니다. 내보내기 부하가 기본 DB 로 몰리지 않도록 하기 위함입니다.
+ */
+public final class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadReplicaRoutingDataSource.class);
+
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA = "replica";
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final long retryIntervalNanos;
+    private final Counter replicaConnections;
+    private final Counter primaryConnections;
+    private final Counter fallbacks;
+
+    // 복제본을 다시 시도할 시각 (System.nanoTime 기준, 0 이면 사용 가능)
+    private volatile long replicaRetryAt;
+
+    public ReadReplicaRoutingDataSource(DataSource primary, DataSource replica, long retryIntervalMillis, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.retryIntervalNanos = TimeUnit.MILLISECONDS.toNanos(retryIntervalMillis);
+        setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+
+        this.replicaConnections = Counter.builder("datasource.routing.connections").tag("target", REPLICA).register(meterRegistry);
+        this.primaryConnections = Counter.builder("datasource.routing.connections").tag("target", PRIMARY).register(meterRegistry);
+        this.fallbacks = Counter.builder("datasource.routing.fallbacks").register(meterRegistry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() && isReplicaAvailable() ? REPLICA : PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (REPLICA.equals(determineCurrentLookupKey())) {
+            try {
+                Connection connection = replica.getConnection();
+                replicaConnections.increment();
+                return connection;
+            } catch (SQLException e) {
+                if (!isReplicaFailure(e)) {
+                    throw e;
+                }
+                markReplicaDown(e);
+            }
+        }
+        primaryConnections.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (REPLICA.equals(determineCurrentLookupKey())) {
+            try {
+                Connection connection = replica.getConnection(username, password);
+                replicaConnections.increment();
+                return connection;
+            } catch (SQLException e) {
+                if (!isReplicaFailure(e)) {
+                    throw e;
+                }
+                markReplicaDown(e);
+            }
+        }
+        primaryConnections.increment();
+        return primary.getConnection(username, password);
+    }
+
+    private boolean isReplicaAvailable() {
+        long retryAt = replicaRetryAt;
+        return retryAt == 0 || System.nanoTime() - retryAt >= 0;
+    }
+
+    /**
+     * 접속 실패(SQLState 08xxx)나 인증 실패(28xxx)인지 확인
+     * Hikari 는 풀 대기 시간 초과 예외에 마지막 접속 실패의 SQLState 와 원인을 담으므로, 복제본이 내려가서 커넥션을
+     * 만들지 못한 경우는 장애로, 원인 없이 대기 시간만 지난 경우는 포화로 구분됩니다.
+     */
+    private static boolean isReplicaFailure(SQLException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLNonTransientConnectionException || cause instanceof SQLInvalidAuthorizationSpecException) {
+                return true;
+            }
+            if (cause instanceof SQLException sqlException && sqlException.getSQLState() != null
+                    && (sqlException.getSQLState().startsWith("08") || sqlException.getSQLState().startsWith("28"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void markReplicaDown(SQLException e) {
+        fallbacks.increment();
+        replicaRetryAt = System.nanoTime() + retryIntervalNanos;
+        logger.warn("Read replica unavailable, using primary for the next {} ms: {}",
+                TimeUnit.NANOSECONDS.toMillis(retryIntervalNanos), e.getMessage());
+    }
+}
@@ -43,7 +43,11 @@ public class SecurityConfig {
 			.authorizeHttpRequests(auth -> auth
 				.requestMatchers("/login", "/register", "/webjars/**", "/css/**", "/js/**").permitAll()
 				.requestMatchers(HttpMethod.GET, "/api/members/org").hasAnyRole("ADMIN", "ORG")
+				.requestMatchers(HttpMethod.POST, "/api/members/import").hasRole("ADMIN")
 				.requestMatchers(HttpMethod.GET, "/api/excel/**").hasAnyRole("ADMIN", "USER")
+				.requestMatchers(HttpMethod.POST, "/api/excel/jobs").hasAnyRole("ADMIN", "USER")
+				.requestMatchers(HttpMethod.POST, "/api/excel/imports").hasRole("ADMIN")
+				.requestMatchers(HttpMethod.GET, "/api/hierarchy/**").hasAnyRole("ADMIN", "USER")
 				.anyRequest().authenticated()
 			)
 			.formLogin(form -> form
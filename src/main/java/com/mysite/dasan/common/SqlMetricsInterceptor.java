@@ -0,0 +1,168 @@
+package com.mysite.dasan.common;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.BatchExecutor;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * 매핑 구문별 SQL 실행 시간과 행 수를 Micrometer 로 집계하고, 느린 구문을 표본 추출하여 기록하는 MyBatis 플러그인
+ * 구문 이름은 "매퍼.메서드" (예: UnitTaskMapper.streamAllUnitTasks) 로 태그하며, ResultHandler 로 스트리밍하는
+ * 조회는 첫 행을 받을 때까지의 시간을 구문 실행 시간으로 기록하고 느린 구문 판정에도 이 시간을 사용합니다.
+ * 결과 처리(파일 기록, 응답 전송 등)까지 포함한 전체 시간은 mybatis.statement.stream 으로 따로 기록합니다.
+ * 느린 구문 로그에는 바인딩 값 없이 SQL 만 남기므로 비밀번호 해시 등 파라미터가 로그에 남지 않습니다.
+ * mybatis-spring-boot-starter 가 Interceptor 빈을 SqlSessionFactory 에 자동 등록합니다.
+ */
+@Component
+@Intercepts({
+        @Signature(type = Executor.class, method = "query",
+                args = { MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class }),
+        @Signature(type = Executor.class, method = "query",
+                args = { MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class }),
+        @Signature(type = Executor.class, method = "update", args = { MappedStatement.class, Object.class })
+})
+public class SqlMetricsInterceptor implements Interceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlMetricsInterceptor.class);
+
+    // 느린 구문 로그에 남길 SQL 최대 길이
+    private static final int MAX_LOGGED_SQL_LENGTH = 2000;
+
+    private final MeterRegistry meterRegistry;
+    private final long slowThresholdNanos;
+    private final double slowSampleRate;
+
+    public SqlMetricsInterceptor(MeterRegistry meterRegistry,
+            @Value("${mybatis.slow-query.threshold-ms:500}") long slowThresholdMillis,
+            @Value("${mybatis.slow-query.sample-rate:1.0}") double slowSampleRate) {
+        this.meterRegistry = meterRegistry;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+        this.slowSampleRate = slowSampleRate;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Object[] args = invocation.getArgs();
+        MappedStatement statement = (MappedStatement) args[0];
+        boolean query = "query".equals(invocation.getMethod().getName());
+
+        // 스트리밍 조회는 반환 목록이 비어 있으므로 결과 처리기를 감싸 행 수와 첫 행을 받은 시각을 기록
+        // (행 수, 첫 행 시각)
+        long[] streamed = new long[2];
+        boolean streaming = query && args[3] instanceof ResultHandler<?>;
+        if (streaming) {
+            args[3] = countingHandler((ResultHandler<?>) args[3], streamed);
+        }
+
+        String outcome = "success";
+        long rows = -1;
+        long startedAt = System.nanoTime();
+        try {
+            Object result = invocation.proceed();
+            if (query) {
+                rows = result instanceof List<?> list && !streaming ? list.size() : streamed[0];
+            } else if (result instanceof Integer count && count != BatchExecutor.BATCH_UPDATE_RETURN_VALUE) {
+                rows = count;
+            }
+            return result;
+        } catch (Throwable e) {
+            outcome = "error";
+            throw e;
+        } finally {
+            long finishedAt = System.nanoTime();
+            // 스트리밍 조회는 결과 처리기 시간을 빼고 첫 행까지 (행이 없으면 전체가 SQL 실행 시간)
+            long elapsedNanos = (streaming && streamed[0] > 0 ? streamed[1] : finishedAt) - startedAt;
+            record(statement, outcome, elapsedNanos, rows);
+            if (streaming) {
+                recordStream(statement, outcome, finishedAt - startedAt);
+            }
+            if (elapsedNanos >= slowThresholdNanos && ThreadLocalRandom.current().nextDouble() < slowSampleRate) {
+                logSlowStatement(statement, args[1], elapsedNanos, rows, outcome, streaming);
+            }
+        }
+    }
+
+    /**
+     * 스트리밍 조회의 전체 시간 (결과 처리 포함) - 구문 실행 시간 분포와 섞이지 않도록 별도 지표
+     */
+    private void recordStream(MappedStatement statement, String outcome, long totalNanos) {
+        Timer.builder("mybatis.statement.stream")
+                .tag("statement", statementName(statement))
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(totalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void record(MappedStatement statement, String outcome, long elapsedNanos, long rows) {
+        String name = statementName(statement);
+        Timer.builder("mybatis.statement")
+                .tag("statement", name)
+                .tag("type", statement.getSqlCommandType().name().toLowerCase())
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        if (rows >= 0) {
+            DistributionSummary.builder("mybatis.statement.rows")
+                    .tag("statement", name)
+                    .baseUnit("rows")
+                    .register(meterRegistry)
+                    .record(rows);
+        }
+    }
+
+    private void logSlowStatement(MappedStatement statement, Object parameter, long elapsedNanos, long rows, String outcome,
+            boolean streaming) {
+        String sql;
+        try {
+            sql = statement.getBoundSql(parameter).getSql().replaceAll("\\s+", " ").trim();
+        } catch (RuntimeException e) {
+            sql = "(SQL 을 만들 수 없음: " + e.getMessage() + ")";
+        }
+        if (sql.length() > MAX_LOGGED_SQL_LENGTH) {
+            sql = sql.substring(0, MAX_LOGGED_SQL_LENGTH) + "...";
+        }
+        logger.warn("Slow SQL {} took {} ms{} ({} rows, {}): {}", statementName(statement),
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), streaming && rows > 0 ? " to first row" : "",
+                rows >= 0 ? rows : "?", outcome, sql);
+    }
+
+    /**
+     * 매핑 구문 id 에서 패키지를 뺀 "매퍼.메서드" 이름
+     */
+    private static String statementName(MappedStatement statement) {
+        String id = statement.getId();
+        int methodDot = id.lastIndexOf('.');
+        int mapperDot = methodDot > 0 ? id.lastIndexOf('.', methodDot - 1) : -1;
+        return id.substring(mapperDot + 1);
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static ResultHandler<?> countingHandler(ResultHandler handler, long[] streamed) {
+        return context -> {
+            if (streamed[0]++ == 0) {
+                streamed[1] = System.nanoTime();
+            }
+            handler.handleResult(context);
+        };
+    }
+}
@@ -0,0 +1,34 @@
+package com.mysite.dasan.common;
+
+import java.util.concurrent.Executors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 가상 스레드 실행 모드 설정 (virtual-threads.enabled=true 일 때만 적용)
+ * Tomcat 요청 처리를 요청마다 새 가상 스레드에서 실행하여, PostgreSQL 응답이나 클라이언트 소켓을 기다리는
+ * 다운로드가 플랫폼 스레드 풀을 점유하지 않도록 합니다. 동시 실행 한도는 스레드 수 대신
+ * Hikari 커넥션 풀과 내보내기 실행 승인(ExportAdmissionService)이 결정합니다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    /**
+     * Tomcat 커넥터의 요청 처리 스레드 풀을 가상 스레드 실행기로 교체
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> {
+            logger.info("Handling requests on virtual threads");
+            protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        };
+    }
+}
@@ -0,0 +1,57 @@
+package com.mysite.dasan.excel;
+
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * MyBatis 결과 핸들러로 조회 결과를 CsvStreamWriter 를 통해 응답 스트림에 바로 기록합니다.
+ * 셀 스타일이나 zip 구조가 필요 없는 평면 데이터 소비자를 위한 가장 가벼운 내보내기 경로입니다.
+ */
+@Slf4j
+public class CsvResultHandler implements ResultHandler<UnitTaskVO> {
+
+    private final CsvStreamWriter writer;
+    private int rowCount = 0;
+
+    /**
+     * CsvResultHandler 생성자
+     * @param writer 헤더 행이 이미 기록된 CSV 스트림 작성기
+     */
+    public CsvResultHandler(CsvStreamWriter writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * MyBatis 쿼리 결과 한 건을 CSV 한 행으로 기록합니다.
+     *
+     * @param context 현재 처리 중인 결과 컨텍스트
+     * @throws RuntimeException 행 기록 중 오류 발생 시 (클라이언트 연결 종료 포함)
+     */
+    @Override
+    public void handleResult(ResultContext<? extends UnitTaskVO> context) {
+        try {
+            UnitTaskVO task = context.getResultObject();
+            writer.writeCell(task.getId());
+            writer.writeCell(task.getLevel1());
+            writer.writeCell(task.getLevel2());
+            writer.writeCell(task.getLevel3());
+            writer.writeCell(task.getLevel4());
+            writer.writeCell(task.getLevel5());
+            writer.writeCell(task.getLevel6());
+            writer.writeCell(task.getDepartment());
+            writer.endRow();
+            rowCount++;
+        } catch (Exception e) {
+            log.error("Error occurred while writing CSV row for UnitTaskVO", e);
+            throw new RuntimeException("Failed to handle result and write CSV row", e);
+        }
+    }
+
+    /**
+     * 지금까지 기록한 데이터 행 수 (헤더 제외)
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+}
@@ -0,0 +1,198 @@
+package com.mysite.dasan.excel;
+
+import java.io.Closeable;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * CSV(RFC 4180)를 출력 스트림에 직접 기록하는 작성기 (선택적으로 gzip 압축)
+ * 문자열을 재사용하는 바이트 버퍼에 바로 UTF-8 로 인코딩하므로 셀마다 객체를 생성하지 않습니다.
+ * Excel 에서 한글이 깨지지 않도록 UTF-8 BOM 으로 시작하며, 전달받은 출력 스트림은 닫지 않습니다.
+ */
+public class CsvStreamWriter implements Closeable {
+
+	private static final byte[] UTF8_BOM = { (byte) 0xEF, (byte) 0xBB, (byte) 0xBF };
+	private static final int BUFFER_SIZE = 64 * 1024;
+	// 한 문자가 차지하는 최대 바이트 수 (서로게이트 쌍은 두 char 에 4바이트)
+	private static final int MAX_BYTES_PER_CHAR = 3;
+	private static final int FLUSH_INTERVAL_ROWS = 5000;
+
+	private final OutputStream out;
+	private final GZIPOutputStream gzip;
+	private final byte[] buffer = new byte[BUFFER_SIZE];
+
+	private int position;
+	private boolean rowStarted;
+	private int rowNum;
+	private boolean finished;
+
+	/**
+	 * CsvStreamWriter 생성자
+	 * @param out CSV 바이트를 기록할 출력 스트림 (예: HttpServletResponse 출력 스트림)
+	 * @param compress true 이면 gzip 으로 압축하여 기록
+	 */
+	public CsvStreamWriter(OutputStream out, boolean compress) throws IOException {
+		OutputStream target = new FilterOutputStream(out) {
+			@Override
+			public void write(byte[] b, int off, int len) throws IOException {
+				out.write(b, off, len);
+			}
+
+			@Override
+			public void close() throws IOException {
+				// 하위 스트림(응답 스트림)은 호출자가 관리하므로 닫지 않음
+				out.flush();
+			}
+		};
+		this.gzip = compress ? new GZIPOutputStream(target, BUFFER_SIZE) {
+			{
+				// 압축이 CSV 생성보다 훨씬 느리므로 압축률보다 속도를 우선하는 수준 사용
+				def.setLevel(Deflater.BEST_SPEED);
+			}
+		} : null;
+		this.out = compress ? gzip : target;
+		System.arraycopy(UTF8_BOM, 0, buffer, 0, UTF8_BOM.length);
+		position = UTF8_BOM.length;
+	}
+
+	/**
+	 * 셀 값 기록 - 쉼표, 큰따옴표, 줄바꿈이 있으면 큰따옴표로 감싸고 내부 큰따옴표는 두 번 씀
+	 * @param value 셀 값 (null 이면 빈 셀)
+	 */
+	public void writeCell(String value) throws IOException {
+		if (rowStarted) {
+			writeByte(',');
+		}
+		rowStarted = true;
+		if (value == null || value.isEmpty()) {
+			return;
+		}
+		if (needsQuoting(value)) {
+			writeByte('"');
+			writeEncoded(value, true);
+			writeByte('"');
+		} else {
+			writeEncoded(value, false);
+		}
+	}
+
+	/**
+	 * 현재 행 종료 (CRLF)
+	 */
+	public void endRow() throws IOException {
+		writeByte('\r');
+		writeByte('\n');
+		rowStarted = false;
+		// 클라이언트가 데이터를 지속적으로 받도록 일정 행마다 전송
+		if (++rowNum % FLUSH_INTERVAL_ROWS == 0) {
+			flush();
+		}
+	}
+
+	/**
+	 * 값 배열을 한 행으로 기록
+	 */
+	public void writeRow(String[] values) throws IOException {
+		for (String value : values) {
+			writeCell(value);
+		}
+		endRow();
+	}
+
+	/**
+	 * 지금까지 기록한 행 수
+	 */
+	public int getRowNum() {
+		return rowNum;
+	}
+
+	/**
+	 * 버퍼에 쌓인 바이트를 하위 스트림으로 전송
+	 */
+	public void flush() throws IOException {
+		drain();
+		out.flush();
+	}
+
+	/**
+	 * 남은 바이트를 기록하고 gzip 스트림을 마무리 (하위 스트림은 닫지 않음, 두 번 호출해도 한 번만 기록)
+	 */
+	public void finish() throws IOException {
+		if (finished) {
+			return;
+		}
+		finished = true;
+		drain();
+		if (gzip != null) {
+			gzip.finish();
+		}
+		out.flush();
+	}
+
+	/**
+	 * finish 와 같음
+	 */
+	@Override
+	public void close() throws IOException {
+		finish();
+	}
+
+	private static boolean needsQuoting(String value) {
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void writeEncoded(String value, boolean escapeQuotes) throws IOException {
+		int length = value.length();
+		for (int i = 0; i < length; i++) {
+			if (position + MAX_BYTES_PER_CHAR * 2 > BUFFER_SIZE) {
+				drain();
+			}
+			char c = value.charAt(i);
+			if (c < 0x80) {
+				if (c == '"' && escapeQuotes) {
+					buffer[position++] = '"';
+				}
+				buffer[position++] = (byte) c;
+			} else if (c < 0x800) {
+				buffer[position++] = (byte) (0xC0 | (c >> 6));
+				buffer[position++] = (byte) (0x80 | (c & 0x3F));
+			} else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+				int codePoint = Character.toCodePoint(c, value.charAt(++i));
+				buffer[position++] = (byte) (0xF0 | (codePoint >> 18));
+				buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+				buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+				buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+			} else if (Character.isSurrogate(c)) {
+				// 짝이 없는 서로게이트는 String.getBytes 와 같이 '?' 로 대체
+				buffer[position++] = '?';
+			} else {
+				buffer[position++] = (byte) (0xE0 | (c >> 12));
+				buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+				buffer[position++] = (byte) (0x80 | (c & 0x3F));
+			}
+		}
+	}
+
+	private void writeByte(char c) throws IOException {
+		if (position == BUFFER_SIZE) {
+			drain();
+		}
+		buffer[position++] = (byte) c;
+	}
+
+	private void drain() throws IOException {
+		if (position > 0) {
+			out.write(buffer, 0, position);
+			position = 0;
+		}
+	}
+}
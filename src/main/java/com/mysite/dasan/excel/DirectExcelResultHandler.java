@@ -0,0 +1,98 @@
+package com.mysite.dasan.excel;
+
+import java.io.IOException;
+
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * MyBatis 결과 핸들러로 조회 결과를 XlsxStreamWriter 를 통해 응답 스트림에 바로 기록합니다.
+ * SXSSF 와 달리 임시 파일을 거치지 않으므로 행을 조회하는 동안 클라이언트로 바이트가 전송됩니다.
+ * 파트(시트 또는 파일)당 최대 행 수에 도달하면 Rollover 로 다음 파트를 시작합니다.
+ */
+@Slf4j
+public class DirectExcelResultHandler implements ResultHandler<UnitTaskVO> {
+
+    /**
+     * 다음 파트 시작 - 헤더 행까지 기록된 작성기를 반환 (같은 작성기에 새 시트를 시작하거나 현재 작성기를 닫고 새 작성기를 생성)
+     */
+    @FunctionalInterface
+    public interface Rollover {
+        XlsxStreamWriter next(XlsxStreamWriter current, int partIndex) throws IOException;
+    }
+
+    private final int maxRowsPerPart;
+    private final Rollover rollover;
+    private XlsxStreamWriter writer;
+    private int rowCount = 0;
+    private int rowsInPart = 0;
+    private int partIndex = 0;
+
+    /**
+     * DirectExcelResultHandler 생성자
+     * @param writer 시트가 이미 시작된 xlsx 스트림 작성기
+     */
+    public DirectExcelResultHandler(XlsxStreamWriter writer) {
+        this(writer, Integer.MAX_VALUE, null);
+    }
+
+    /**
+     * 파트 분할을 지원하는 DirectExcelResultHandler 생성자
+     * @param writer 시트가 시작되고 헤더 행이 기록된 xlsx 스트림 작성기
+     * @param maxRowsPerPart 파트당 최대 데이터 행 수 (헤더 제외)
+     * @param rollover 현재 작성기와 파트 순번(1부터)을 받아 다음 파트를 시작하는 함수
+     */
+    public DirectExcelResultHandler(XlsxStreamWriter writer, int maxRowsPerPart, Rollover rollover) {
+        this.writer = writer;
+        this.maxRowsPerPart = maxRowsPerPart;
+        this.rollover = rollover;
+    }
+
+    /**
+     * MyBatis 쿼리 결과 한 건을 시트의 한 행으로 기록합니다.
+     *
+     * @param context 현재 처리 중인 결과 컨텍스트
+     * @throws RuntimeException 행 기록 중 오류 발생 시 (클라이언트 연결 종료 포함)
+     */
+    @Override
+    public void handleResult(ResultContext<? extends UnitTaskVO> context) {
+        try {
+            UnitTaskVO task = context.getResultObject();
+            if (rowsInPart == maxRowsPerPart && rollover != null) {
+                writer = rollover.next(writer, ++partIndex);
+                rowsInPart = 0;
+                log.info("Excel rows rolled over to part: {}", partIndex + 1);
+            }
+            writer.startRow();
+            writer.writeCell(task.getId());
+            writer.writeCell(task.getLevel1());
+            writer.writeCell(task.getLevel2());
+            writer.writeCell(task.getLevel3());
+            writer.writeCell(task.getLevel4());
+            writer.writeCell(task.getLevel5());
+            writer.writeCell(task.getLevel6());
+            writer.writeCell(task.getDepartment());
+            writer.endRow();
+            rowCount++;
+            rowsInPart++;
+        } catch (Exception e) {
+            log.error("Error occurred while writing Excel row for UnitTaskVO", e);
+            throw new RuntimeException("Failed to handle result and write Excel row", e);
+        }
+    }
+
+    /**
+     * 지금까지 기록한 데이터 행 수 (헤더 제외)
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * 현재 기록 중인 파트의 작성기 (파일 분할 시 마지막 파일을 마무리하는 데 사용)
+     */
+    public XlsxStreamWriter getWriter() {
+        return writer;
+    }
+}
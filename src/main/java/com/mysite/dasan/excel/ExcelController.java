@@ -1,21 +1,26 @@
 package com.mysite.dasan.excel;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.HttpRange;
 import org.springframework.stereotype.Controller;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
 /**
@@ -27,29 +32,73 @@ public class ExcelController {
 
 	private static final Logger logger = LoggerFactory.getLogger(ExcelController.class);
 	private static final String EXCEL_CONTENT_TYPE = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+	// 실제 적용된 내보내기 방식을 알려주는 응답 헤더
+	private static final String EXPORT_MODE_HEADER = "X-Export-Mode";
+	// 증분 내보내기의 새 기준점 (다음 요청의 since 로 전달)
+	private static final String WATERMARK_HEADER = "X-Export-Watermark";
 
 	@Autowired
 	private ExcelService excelService;
 
+	@Autowired
+	private ExcelFileCache excelFileCache;
+
+	@Autowired
+	private ExportAdmissionService exportAdmissionService;
+
+	@Autowired
+	private ExportCoalescer exportCoalescer;
+
+	// 행 수 조회 시 최대로 셀 건수 (넘으면 한도 이상으로만 응답)
+	@Value("${excel.export.count-limit:1000000}")
+	private int countLimit;
+
+	/**
+	 * 내보낼 행 수 조회 (다운로드 전에 방식을 고르기 위한 빠른 추정)
+	 * 조회 조건에 맞는 행을 count-limit 건까지만 세어 비용이 전체 건수와 무관하며,
+	 * 한도에 도달하면 exact=false 로 "한도 이상"임을 알림 - mode 는 현재 힙 예산 기준 권장 방식
+	 */
+	@GetMapping("/count")
+	@ResponseBody
+	public Map<String, Object> countRows(@RequestParam(defaultValue = "0") int rowCount, UnitTaskFilter filter) {
+		// 메모리 방식 기준 행 수보다 적게 세면 방식을 판단할 수 없으므로 한도는 기준 + 1 이상
+		int limit = Math.max(countLimit, exportAdmissionService.getMemoryModeMaxRows() + 1);
+		int count = excelService.countRows(filter, rowCount, limit);
+		boolean exact = count < limit || (rowCount > 0 && rowCount <= limit);
+		String mode = exportAdmissionService.suggestMode(exact ? count : rowCount);
+		logger.debug("Row count for filter {}: {} (exact: {}, suggested mode: {})", filter, count, exact, mode);
+		return Map.of("count", count, "exact", exact, "mode", mode);
+	}
+
 	/**
 	 * 메모리 기반 Excel 다운로드
 	 * 중소 규모 데이터셋(50,000건 이하)에 사용
+	 * 조회 조건에 맞는 행 수를 먼저 세어 예상 힙 사용량이 여유를 넘으면 스트리밍 방식으로 전환하여 전송
 	 */
 	@GetMapping("/download/memory")
-	public ResponseEntity<byte[]> downloadMemoryExcel(@RequestParam(defaultValue = "50000") int rowCount) throws IOException {
-		logger.info("Downloading Excel in memory mode with row count: {}", rowCount);
-		
-		try {
-			List<String[]> data = excelService.fetchDataFromDatabase(rowCount);
-			byte[] excelBytes = excelService.generateExcelBytes(data, "HighMemoryMode");
+	public void downloadMemoryExcel(HttpServletResponse response,
+			@RequestParam(defaultValue = "50000") int rowCount, UnitTaskFilter filter) throws IOException {
+		logger.info("Downloading Excel in memory mode with row count: {} (filter: {})", rowCount, filter);
+
+		int expectedRows = exportAdmissionService.expectedMemoryModeRows(rowCount,
+				limit -> excelService.countRows(filter, rowCount, limit));
+		try (ExportAdmissionService.Permit permit = exportAdmissionService.admit("memory", expectedRows)) {
+			if (!"memory".equals(permit.getMode())) {
+				streamExcel(response, permit.getMode(), rowCount, filter);
+				return;
+			}
+
+			ExportProgress progress = new ExportProgress();
+			byte[] excelBytes = excelService.createExcelBytes(rowCount, filter, "HighMemoryMode", progress);
 			
 			String fileName = URLEncoder.encode("HighMemoryMode", StandardCharsets.UTF_8) + ".xlsx";
-			logger.info("Excel file prepared for download: {} with {} rows", fileName, data.size());
+			logger.info("Excel file prepared for download: {} with {} rows", fileName, progress.getRowsWritten());
 			
-			return ResponseEntity.ok()
-					.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
-					.contentType(MediaType.parseMediaType(EXCEL_CONTENT_TYPE))
-					.body(excelBytes);
+			response.setContentType(EXCEL_CONTENT_TYPE);
+			response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"");
+			response.setHeader(EXPORT_MODE_HEADER, permit.getMode());
+			response.setContentLength(excelBytes.length);
+			response.getOutputStream().write(excelBytes);
 		} catch (IOException e) {
 			logger.error("Error creating Excel file", e);
 			throw e;
@@ -59,12 +108,13 @@ public class ExcelController {
 	/**
 	 * 디스크 기반 Excel 다운로드 (스트림 방식)
 	 * 대규모 데이터셋(50,000건 이상)에 사용 - 메모리 효율적
+	 * 같은 행 개수와 조회 조건의 다운로드가 진행 중이면 새로 생성하지 않고 그 결과를 함께 전송
 	 */
 	@GetMapping("/download/harddisk")
 	public void downloadHardDiskExcel(HttpServletResponse response, 
-			@RequestParam(defaultValue = "50000") int rowCount) throws Exception {
+			@RequestParam(defaultValue = "50000") int rowCount, UnitTaskFilter filter) throws Exception {
 		
-		logger.info("Downloading Excel in disk mode with row count: {}", rowCount);
+		logger.info("Downloading Excel in disk mode with row count: {} (filter: {})", rowCount, filter);
 		String fileName = "LowMemoryMode.xlsx";
 
 		try {
@@ -72,7 +122,9 @@ public class ExcelController {
 			response.setContentType(EXCEL_CONTENT_TYPE);
 			response.setHeader("Content-Disposition", "attachment; filename=\"" + encodedFileName + "\"");
 
-			excelService.createExcelStream(response.getOutputStream(), rowCount);
+			String key = "harddisk:xlsx:rowCount=" + rowCount + ":filter=" + filter.cacheKey();
+			exportCoalescer.stream(key, "harddisk", rowCount,
+					out -> excelService.createExcelStream(out, rowCount, filter, new ExportProgress()), response.getOutputStream());
 			logger.info("Excel file downloaded successfully in disk mode");
 		} catch (IOException e) {
 			logger.error("Error during Excel download", e);
@@ -84,4 +136,234 @@ public class ExcelController {
 			}
 		}
 	}
+
+	/**
+	 * 직접 스트리밍 Excel 다운로드
+	 * 조회와 동시에 응답으로 전송 - 첫 바이트 전송 시간이 데이터 건수와 무관 (결과가 커지면 합류할 요청을 위해 임시 파일에도 기록)
+	 * format 파라미터(xlsx, csv, csv.gz, zip) 또는 Accept 헤더(text/csv, application/gzip, application/zip)로 형식을 선택할 수 있음
+	 * 시트당 최대 행 수를 넘으면 xlsx 는 다음 시트로, zip 은 다음 xlsx 파일로 이어서 기록
+	 * 같은 형식, 행 개수, 조회 조건의 다운로드가 진행 중이면 새로 조회하지 않고 그 결과를 함께 전송
+	 */
+	@GetMapping("/download/direct")
+	public void downloadDirectExcel(HttpServletRequest request, HttpServletResponse response,
+			@RequestParam(defaultValue = "50000") int rowCount,
+			@RequestParam(required = false) String format, UnitTaskFilter filter) throws Exception {
+
+		ExportFormat exportFormat = ExportFormat.resolve(format, request.getHeader(HttpHeaders.ACCEPT));
+		if (exportFormat == null) {
+			response.sendError(HttpServletResponse.SC_BAD_REQUEST, "지원하지 않는 형식입니다: " + format);
+			return;
+		}
+
+		logger.info("Downloading {} in direct streaming mode with row count: {} (filter: {})", exportFormat, rowCount, filter);
+		String fileName = "DirectStreamMode" + exportFormat.getExtension();
+
+		String encodedFileName = URLEncoder.encode(fileName, StandardCharsets.UTF_8).replaceAll("\\+", "%20");
+		response.setContentType(exportFormat.getMediaType().toString());
+		response.setHeader("Content-Disposition", "attachment; filename=\"" + encodedFileName + "\"");
+		response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+
+		try {
+			String key = "direct:" + exportFormat + ":rowCount=" + rowCount + ":filter=" + filter.cacheKey();
+			exportCoalescer.stream(key, "direct", rowCount, out -> {
+				switch (exportFormat) {
+					case CSV -> excelService.createCsvStream(out, rowCount, filter, false, new ExportProgress());
+					case CSV_GZIP -> excelService.createCsvStream(out, rowCount, filter, true, new ExportProgress());
+					case XLSX_ZIP -> excelService.createDirectExcelZipStream(out, rowCount, filter, "DirectStreamMode", new ExportProgress());
+					default -> excelService.createDirectExcelStream(out, rowCount, filter, new ExportProgress());
+				}
+			}, response.getOutputStream());
+			logger.info("{} file downloaded successfully in direct streaming mode", exportFormat);
+		} catch (ExportRejectedException e) {
+			// GlobalExceptionHandler 가 429 로 응답
+			throw e;
+		} catch (RuntimeException e) {
+			// 이미 응답이 커밋된 경우 상태 코드를 바꿀 수 없으므로 연결만 종료됨
+			logger.error("Error during direct Excel download", e);
+			if (!response.isCommitted()) {
+				response.reset();
+				response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+				response.setContentType("text/plain;charset=UTF-8");
+				response.getWriter().write("엑셀 다운로드 중 오류가 발생했습니다: " + e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * 증분 Excel 다운로드 (since 기준점 이후 변경된 행만 직접 스트리밍)
+	 * watermark=id 이면 since 이후 추가된 id, watermark=modified 이면 수정 시각 컬럼(설정 필요) 기준으로 조회하며,
+	 * 한 번에 rowCount 건까지 내보내고 새 기준점을 X-Export-Watermark 헤더로 반환 - 다음 요청의 since 로 이어서 사용
+	 * 변경된 행이 없으면 204 (No Content) 와 기존 기준점을 반환
+	 */
+	@GetMapping("/download/incremental")
+	public void downloadIncrementalExcel(HttpServletRequest request, HttpServletResponse response,
+			@RequestParam(required = false) String since,
+			@RequestParam(defaultValue = "id") String watermark,
+			@RequestParam(defaultValue = "50000") int rowCount,
+			@RequestParam(required = false) String format) throws Exception {
+
+		ExportFormat exportFormat = ExportFormat.resolve(format, request.getHeader(HttpHeaders.ACCEPT));
+		if (exportFormat == null) {
+			response.sendError(HttpServletResponse.SC_BAD_REQUEST, "지원하지 않는 형식입니다: " + format);
+			return;
+		}
+		UnitTaskWatermark.Type watermarkType = UnitTaskWatermark.Type.of(watermark);
+		if (watermarkType == null || !excelService.supportsWatermark(watermarkType)) {
+			response.sendError(HttpServletResponse.SC_BAD_REQUEST, "지원하지 않는 기준점 종류입니다: " + watermark);
+			return;
+		}
+		UnitTaskWatermark sinceWatermark;
+		try {
+			sinceWatermark = since == null || since.isBlank() ? null : UnitTaskWatermark.parse(watermarkType, since);
+		} catch (IllegalArgumentException e) {
+			response.sendError(HttpServletResponse.SC_BAD_REQUEST, "기준점 형식이 올바르지 않습니다: " + since);
+			return;
+		}
+
+		// 새 기준점을 먼저 정해 응답 헤더로 보내고, 본문은 그 기준점까지만 조회
+		UnitTaskWatermark untilWatermark = excelService.findNextWatermark(watermarkType, sinceWatermark, rowCount);
+		response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+		if (untilWatermark == null) {
+			logger.info("No unit task changes since {}", sinceWatermark);
+			if (sinceWatermark != null) {
+				response.setHeader(WATERMARK_HEADER, sinceWatermark.toString());
+			}
+			response.setStatus(HttpServletResponse.SC_NO_CONTENT);
+			return;
+		}
+
+		logger.info("Downloading incremental {} since {} until {}", exportFormat, sinceWatermark, untilWatermark);
+		String fileName = "IncrementalMode" + exportFormat.getExtension();
+		String encodedFileName = URLEncoder.encode(fileName, StandardCharsets.UTF_8).replaceAll("\\+", "%20");
+		response.setContentType(exportFormat.getMediaType().toString());
+		response.setHeader("Content-Disposition", "attachment; filename=\"" + encodedFileName + "\"");
+		response.setHeader(WATERMARK_HEADER, untilWatermark.toString());
+
+		// 승인 거절(ExportRejectedException)은 GlobalExceptionHandler 가 429 로 응답하도록 try 밖에서 승인
+		ExportAdmissionService.Permit permit = exportAdmissionService.admit("direct", rowCount);
+		try {
+			excelService.createIncrementalStream(response.getOutputStream(), exportFormat, sinceWatermark, untilWatermark,
+					"IncrementalMode");
+			logger.info("Incremental {} file downloaded successfully", exportFormat);
+		} catch (RuntimeException e) {
+			logger.error("Error during incremental Excel download", e);
+			if (!response.isCommitted()) {
+				response.reset();
+				response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+				response.setContentType("text/plain;charset=UTF-8");
+				response.getWriter().write("엑셀 다운로드 중 오류가 발생했습니다: " + e.getMessage());
+			}
+		} finally {
+			permit.close();
+		}
+	}
+
+	/**
+	 * 캐시 기반 Excel 다운로드
+	 * 같은 행 개수, 조회 조건, 데이터 버전이면 디스크에 캐시된 파일을 재사용하고, ETag(If-None-Match, If-Range)와 Range 요청을 지원
+	 * ETag 는 파일 내용의 해시이므로 캐시에서 삭제되어 다시 생성한 파일의 내용이 다르면 이전 ETag 와 일치하지 않습니다.
+	 */
+	@GetMapping("/download/cached")
+	public void downloadCachedExcel(HttpServletRequest request, HttpServletResponse response,
+			@RequestParam(defaultValue = "50000") int rowCount, UnitTaskFilter filter) throws IOException {
+
+		logger.info("Downloading Excel in cached mode with row count: {} (filter: {})", rowCount, filter);
+		String cacheKey = "xlsx:rowCount=" + rowCount + ":filter=" + filter.cacheKey() + ":version=" + excelFileCache.currentDataVersion();
+
+		// 캐시 적중 시에는 생성 비용이 없으므로 생성할 때만 실행 승인을 받음
+		// 전송이 끝날 때까지 파일을 임대하여 그 사이 캐시 정리로 삭제되지 않도록 함
+		try (ExcelFileCache.Lease lease = excelFileCache.getOrCreate(cacheKey, out -> {
+			ExportAdmissionService.Permit permit = exportAdmissionService.admit("direct", rowCount);
+			try {
+				excelService.createDirectExcelStream(out, rowCount, filter, new ExportProgress());
+			} finally {
+				permit.close();
+			}
+		})) {
+			String etag = "\"" + lease.getFile().getEtag() + "\"";
+			response.setHeader(HttpHeaders.ETAG, etag);
+			response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+			response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+
+			if (matchesEtag(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+				response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+				return;
+			}
+			sendCachedFile(request, response, lease, etag);
+		}
+	}
+
+	/**
+	 * 임대한 캐시 파일 전송 (Range 요청이면 요청한 구간만)
+	 */
+	private void sendCachedFile(HttpServletRequest request, HttpServletResponse response, ExcelFileCache.Lease lease,
+			String etag) throws IOException {
+		ExcelFileCache.CachedFile file = lease.getFile();
+		long length = file.getSize();
+		long start = 0;
+		long end = length - 1;
+		String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+		String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+		// If-Range 가 현재 ETag 와 다르면 파일이 바뀐 것이므로 전체를 전송
+		if (rangeHeader != null && (ifRange == null || ifRange.equals(etag))) {
+			try {
+				List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+				if (ranges.size() == 1) {
+					start = ranges.get(0).getRangeStart(length);
+					end = ranges.get(0).getRangeEnd(length);
+					response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+					response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+				}
+			} catch (IllegalArgumentException e) {
+				logger.debug("Unsatisfiable range request: {}", rangeHeader);
+				response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+				response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+				return;
+			}
+		}
+
+		String encodedFileName = URLEncoder.encode("CachedMode.xlsx", StandardCharsets.UTF_8).replaceAll("\\+", "%20");
+		response.setContentType(EXCEL_CONTENT_TYPE);
+		response.setHeader("Content-Disposition", "attachment; filename=\"" + encodedFileName + "\"");
+		response.setContentLengthLong(end - start + 1);
+
+		try (InputStream in = lease.openStream()) {
+			StreamUtils.copyRange(in, response.getOutputStream(), start, end);
+		}
+		logger.info("Cached Excel file sent: {} (bytes {}-{}/{})", file.getEtag(), start, end, length);
+	}
+
+	/**
+	 * 메모리 방식 요청이 스트리밍 방식으로 전환된 경우의 전송
+	 */
+	private void streamExcel(HttpServletResponse response, String mode, int rowCount, UnitTaskFilter filter) throws IOException {
+		String fileName = "harddisk".equals(mode) ? "LowMemoryMode.xlsx" : "DirectStreamMode.xlsx";
+		String encodedFileName = URLEncoder.encode(fileName, StandardCharsets.UTF_8).replaceAll("\\+", "%20");
+		response.setContentType(EXCEL_CONTENT_TYPE);
+		response.setHeader("Content-Disposition", "attachment; filename=\"" + encodedFileName + "\"");
+		response.setHeader(EXPORT_MODE_HEADER, mode);
+
+		if ("harddisk".equals(mode)) {
+			excelService.createExcelStream(response.getOutputStream(), rowCount, filter, new ExportProgress());
+		} else {
+			excelService.createDirectExcelStream(response.getOutputStream(), rowCount, filter, new ExportProgress());
+		}
+		logger.info("Excel file downloaded successfully in {} mode (switched from memory mode)", mode);
+	}
+
+	private static boolean matchesEtag(String ifNoneMatch, String etag) {
+		if (ifNoneMatch == null) {
+			return false;
+		}
+		for (String candidate : ifNoneMatch.split(",")) {
+			String value = candidate.trim();
+			if (value.startsWith("W/")) {
+				value = value.substring(2);
+			}
+			if (value.equals("*") || value.equals(etag)) {
+				return true;
+			}
+		}
+		return false;
+	}
 }
@@ -0,0 +1,61 @@
+package com.mysite.dasan.excel;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 비동기 Excel 내보내기 작업 정보
+ */
+@Getter
+@Setter
+public class ExcelExportJob {
+
+	private final String jobId;
+	private final String mode;
+	private final int rowCount;
+	private final UnitTaskFilter filter;
+	@JsonIgnore
+	private final String owner;
+	@JsonIgnore
+	private final ExportProgress progress = new ExportProgress();
+	private final LocalDateTime createdAt = LocalDateTime.now();
+
+	// 실행 승인 결과 실제로 적용된 방식 (메모리 방식이 스트리밍 방식으로 전환될 수 있음)
+	private volatile String executedMode;
+	private volatile LocalDateTime finishedAt;
+	private volatile String errorMessage;
+	@JsonIgnore
+	private volatile Path file;
+
+	public ExcelExportJob(String jobId, String mode, int rowCount, UnitTaskFilter filter, String owner) {
+		this.jobId = jobId;
+		this.mode = mode;
+		this.rowCount = rowCount;
+		this.filter = filter;
+		this.owner = owner;
+	}
+
+	public ExportProgress.Phase getPhase() {
+		return progress.getPhase();
+	}
+
+	public long getRowsWritten() {
+		return progress.getRowsWritten();
+	}
+
+	public long getBytesWritten() {
+		return progress.getBytesWritten();
+	}
+
+	/**
+	 * 완료된 작업의 결과 파일 다운로드 URL (미완료 시 null)
+	 */
+	public String getDownloadUrl() {
+		return getPhase() == ExportProgress.Phase.COMPLETED ? "/api/excel/jobs/" + jobId + "/file" : null;
+	}
+}
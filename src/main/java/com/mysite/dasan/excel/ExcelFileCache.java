@@ -0,0 +1,351 @@
+package com.mysite.dasan.excel;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Excel 내보내기 결과 디스크 캐시
+ * 내보내기 파라미터와 UNIT_TASK 데이터 버전으로 만든 키별로 생성된 파일을 보관하고,
+ * 전체 용량이 한도를 넘으면 가장 오래 사용하지 않은 파일부터 삭제합니다. (LRU)
+ * 전송 중인 파일은 임대(Lease)로 잡아 두어, 그 사이 삭제 대상이 되더라도 전송이 끝난 뒤에 삭제합니다.
+ * ETag 는 파일 내용의 해시이므로, 삭제 후 같은 키로 다시 생성한 파일의 내용이 다르면(zip 엔트리 시각 등) ETag 도 달라집니다.
+ */
+@Component
+public final class ExcelFileCache {
+
+	private static final Logger logger = LoggerFactory.getLogger(ExcelFileCache.class);
+	private static final String FILE_SUFFIX = ".xlsx";
+
+	/**
+	 * 캐시 파일 생성 작업
+	 */
+	@FunctionalInterface
+	public interface Generator {
+		void write(OutputStream out) throws IOException;
+	}
+
+	/**
+	 * 캐시된 파일 정보 (id 는 캐시 키의 해시, etag 는 파일 내용의 해시이며 파일명은 "id.etag.xlsx")
+	 */
+	@Getter
+	@RequiredArgsConstructor
+	public static class CachedFile {
+		private final String id;
+		private final String etag;
+		private final Path path;
+		private final long size;
+		// 전송 중인 임대 수와 그 사이 캐시에서 제거되었는지 (캐시 잠금으로 보호)
+		@Getter(AccessLevel.NONE)
+		private int leases;
+		@Getter(AccessLevel.NONE)
+		private boolean evicted;
+	}
+
+	/**
+	 * 캐시 파일 임대 - 전송이 끝날 때까지 파일이 삭제되지 않도록 잡아 두며, 전송 후 반드시 close
+	 */
+	public class Lease implements AutoCloseable {
+
+		private final CachedFile file;
+		private boolean closed;
+
+		private Lease(CachedFile file) {
+			this.file = file;
+		}
+
+		public CachedFile getFile() {
+			return file;
+		}
+
+		public InputStream openStream() throws IOException {
+			return Files.newInputStream(file.getPath());
+		}
+
+		@Override
+		public void close() {
+			if (!closed) {
+				closed = true;
+				release(file);
+			}
+		}
+	}
+
+	private final UnitTaskFetcher unitTaskFetcher;
+	private final Path cacheDir;
+	private final long maxBytes;
+	private final long versionTtlMillis;
+
+	// 접근 순서 LinkedHashMap: 가장 앞이 가장 오래 사용하지 않은 항목
+	private final LinkedHashMap<String, CachedFile> entries = new LinkedHashMap<>(16, 0.75f, true);
+	private final Map<String, Object> generationLocks = new ConcurrentHashMap<>();
+	private long totalBytes;
+
+	private volatile String cachedVersion;
+	private volatile long cachedVersionAt;
+
+	private final Counter hits;
+	private final Counter misses;
+	private final Counter evictions;
+
+	public ExcelFileCache(UnitTaskFetcher unitTaskFetcher, MeterRegistry meterRegistry,
+			@Value("${excel.cache.dir:${java.io.tmpdir}/dasan-export-cache}") String cacheDir,
+			@Value("${excel.cache.max-bytes:1073741824}") long maxBytes,
+			@Value("${excel.cache.version-ttl-seconds:10}") long versionTtlSeconds) throws IOException {
+		this.unitTaskFetcher = unitTaskFetcher;
+		this.cacheDir = Files.createDirectories(Paths.get(cacheDir));
+		this.maxBytes = maxBytes;
+		this.versionTtlMillis = versionTtlSeconds * 1000;
+
+		this.hits = Counter.builder("excel.cache.requests").tag("result", "hit").register(meterRegistry);
+		this.misses = Counter.builder("excel.cache.requests").tag("result", "miss").register(meterRegistry);
+		this.evictions = Counter.builder("excel.cache.evictions").register(meterRegistry);
+		Gauge.builder("excel.cache.size", this, ExcelFileCache::getTotalBytes).baseUnit("bytes").register(meterRegistry);
+		Gauge.builder("excel.cache.entries", this, cache -> cache.getEntryCount()).register(meterRegistry);
+
+		loadExistingFiles();
+	}
+
+	/**
+	 * 현재 UNIT_TASK 데이터 버전 (최대 id + 건수)
+	 * 버튼 클릭마다 집계 쿼리가 실행되지 않도록 짧은 시간 동안 재사용합니다.
+	 */
+	public String currentDataVersion() {
+		long now = System.currentTimeMillis();
+		if (cachedVersion == null || now - cachedVersionAt > versionTtlMillis) {
+			UnitTaskDataVersion version = unitTaskFetcher.dataVersion();
+			cachedVersion = version != null ? version.fingerprint() : "empty";
+			cachedVersionAt = now;
+		}
+		return cachedVersion;
+	}
+
+	/**
+	 * 캐시 키의 해시 (캐시 항목 식별자)
+	 */
+	private static String idOf(String key) {
+		return DigestUtils.md5DigestAsHex(key.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * 캐시된 파일을 임대하여 반환하고, 없으면 생성 후 캐시에 등록합니다.
+	 * 같은 키를 동시에 요청하면 한 요청만 생성하고 나머지는 생성 결과를 사용합니다.
+	 */
+	public Lease getOrCreate(String key, Generator generator) throws IOException {
+		String id = idOf(key);
+		Lease cached = lookup(id);
+		if (cached != null) {
+			hits.increment();
+			return cached;
+		}
+
+		Object lock = generationLocks.computeIfAbsent(id, k -> new Object());
+		synchronized (lock) {
+			try {
+				cached = lookup(id);
+				if (cached != null) {
+					hits.increment();
+					return cached;
+				}
+				misses.increment();
+				logger.info("Export cache miss, generating file for key: {}", key);
+
+				// 기록하면서 내용 해시를 계산하여 ETag 로 사용
+				MessageDigest digest = md5();
+				Path tempFile = Files.createTempFile(cacheDir, id, ".tmp");
+				try (OutputStream out = new BufferedOutputStream(new DigestOutputStream(Files.newOutputStream(tempFile), digest))) {
+					generator.write(out);
+				} catch (IOException | RuntimeException e) {
+					Files.deleteIfExists(tempFile);
+					throw e;
+				}
+				String etag = HexFormat.of().formatHex(digest.digest());
+				Path target = cacheDir.resolve(id + "." + etag + FILE_SUFFIX);
+				Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+				return new Lease(store(new CachedFile(id, etag, target, Files.size(target)), true));
+			} finally {
+				generationLocks.remove(id);
+			}
+		}
+	}
+
+	public synchronized long getTotalBytes() {
+		return totalBytes;
+	}
+
+	public synchronized int getEntryCount() {
+		return entries.size();
+	}
+
+	private Lease lookup(String id) {
+		CachedFile cached;
+		synchronized (this) {
+			cached = entries.get(id);
+			if (cached != null && !Files.exists(cached.getPath())) {
+				// 외부에서 삭제된 파일은 캐시에서 제거
+				entries.remove(id);
+				totalBytes -= cached.getSize();
+				cached = null;
+			}
+			if (cached != null) {
+				cached.leases++;
+			}
+		}
+		if (cached == null) {
+			return null;
+		}
+		touch(cached.getPath());
+		return new Lease(cached);
+	}
+
+	/**
+	 * 캐시에 등록 (lease 이면 삭제 대상이 되지 않도록 같은 잠금 안에서 임대)
+	 */
+	private synchronized CachedFile store(CachedFile file, boolean lease) {
+		CachedFile previous = entries.put(file.getId(), file);
+		if (previous != null) {
+			totalBytes -= previous.getSize();
+			// 같은 키의 이전 파일 (내용이 달라 파일명이 다름) - 전송 중이면 전송 후 삭제
+			if (!previous.getPath().equals(file.getPath())) {
+				if (previous.leases > 0) {
+					previous.evicted = true;
+				} else {
+					deleteQuietly(previous.getPath());
+				}
+			}
+		}
+		totalBytes += file.getSize();
+		if (lease) {
+			file.leases++;
+		}
+		evictIfNecessary(file.getId());
+		return file;
+	}
+
+	/**
+	 * 임대 해제 - 전송 중에 캐시에서 제거된 파일은 마지막 임대가 끝날 때 삭제
+	 */
+	private void release(CachedFile file) {
+		boolean delete;
+		synchronized (this) {
+			delete = --file.leases == 0 && file.evicted;
+		}
+		if (delete) {
+			deleteQuietly(file.getPath());
+			logger.debug("Deleted evicted export cache file after transfer: {}", file.getPath());
+		}
+	}
+
+	/**
+	 * 용량 한도를 넘으면 가장 오래 사용하지 않은 파일부터 삭제 (방금 등록한 항목은 제외, 전송 중인 파일은 전송 후 삭제)
+	 */
+	private void evictIfNecessary(String keepId) {
+		Iterator<CachedFile> iterator = entries.values().iterator();
+		while (totalBytes > maxBytes && iterator.hasNext()) {
+			CachedFile eldest = iterator.next();
+			if (eldest.getId().equals(keepId)) {
+				continue;
+			}
+			iterator.remove();
+			totalBytes -= eldest.getSize();
+			evictions.increment();
+			if (eldest.leases > 0) {
+				eldest.evicted = true;
+				continue;
+			}
+			deleteQuietly(eldest.getPath());
+			logger.debug("Evicted export cache file: {} ({} bytes)", eldest.getPath(), eldest.getSize());
+		}
+	}
+
+	/**
+	 * 재시작 전에 생성된 캐시 파일을 최근 사용 순서대로 다시 등록 (내용 해시가 파일명에 없는 이전 형식 파일은 삭제)
+	 */
+	private void loadExistingFiles() throws IOException {
+		List<Path> files;
+		try (Stream<Path> stream = Files.list(cacheDir)) {
+			files = stream.toList();
+		}
+		files.stream().filter(path -> path.getFileName().toString().endsWith(".tmp")).forEach(this::deleteQuietly);
+		files.stream()
+				.filter(path -> path.getFileName().toString().endsWith(FILE_SUFFIX))
+				.sorted(Comparator.comparing(this::lastModified))
+				.forEach(path -> {
+					String fileName = path.getFileName().toString();
+					String[] parts = fileName.substring(0, fileName.length() - FILE_SUFFIX.length()).split("\\.");
+					if (parts.length != 2) {
+						deleteQuietly(path);
+						return;
+					}
+					try {
+						store(new CachedFile(parts[0], parts[1], path, Files.size(path)), false);
+					} catch (IOException e) {
+						logger.warn("Failed to register cached export file: {}", path, e);
+					}
+				});
+		logger.info("Export cache initialized with {} files ({} bytes) in {}", getEntryCount(), getTotalBytes(), cacheDir);
+	}
+
+	private static MessageDigest md5() {
+		try {
+			return MessageDigest.getInstance("MD5");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private FileTime lastModified(Path path) {
+		try {
+			return Files.getLastModifiedTime(path);
+		} catch (IOException e) {
+			return FileTime.fromMillis(0);
+		}
+	}
+
+	private void touch(Path path) {
+		try {
+			Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
+		} catch (IOException e) {
+			logger.debug("Failed to touch cached export file: {}", path, e);
+		}
+	}
+
+	private void deleteQuietly(Path path) {
+		try {
+			Files.deleteIfExists(path);
+		} catch (IOException e) {
+			logger.warn("Failed to delete cached export file: {}", path, e);
+		}
+	}
+}
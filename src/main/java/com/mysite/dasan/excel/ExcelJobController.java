@@ -0,0 +1,100 @@
+package com.mysite.dasan.excel;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+/**
+ * 비동기 Excel 내보내기 작업 등록, 상태 조회, 결과 다운로드 API를 처리하는 컨트롤러
+ */
+@Controller
+@RequestMapping("/api/excel/jobs")
+public class ExcelJobController {
+
+	private static final Logger logger = LoggerFactory.getLogger(ExcelJobController.class);
+	private static final String EXCEL_CONTENT_TYPE = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+
+	@Autowired
+	private ExcelJobService excelJobService;
+
+	/**
+	 * 내보내기 작업 등록 - 작업 ID 를 즉시 반환 (department, level1~level6 조회 조건 지정 가능)
+	 */
+	@PostMapping
+	@ResponseBody
+	public ResponseEntity<?> submitJob(Authentication auth,
+			@RequestParam(defaultValue = "direct") String mode,
+			@RequestParam(defaultValue = "50000") int rowCount, UnitTaskFilter filter) {
+		if (!ExcelJobService.SUPPORTED_MODES.contains(mode)) {
+			return ResponseEntity.badRequest().body(Map.of("message", "지원하지 않는 내보내기 방식입니다: " + mode));
+		}
+		ExcelExportJob job = excelJobService.submit(mode, rowCount, filter, auth.getName());
+		return ResponseEntity.status(HttpStatus.ACCEPTED)
+				.header(HttpHeaders.LOCATION, "/api/excel/jobs/" + job.getJobId())
+				.body(job);
+	}
+
+	/**
+	 * 작업 진행 상황 조회 (단계, 기록 행 수, 바이트 수)
+	 */
+	@GetMapping("/{jobId}")
+	@ResponseBody
+	public ResponseEntity<ExcelExportJob> getJobStatus(Authentication auth, @PathVariable String jobId) {
+		ExcelExportJob job = findOwnedJob(auth, jobId);
+		if (job == null) {
+			return ResponseEntity.notFound().build();
+		}
+		return ResponseEntity.ok(job);
+	}
+
+	/**
+	 * 완료된 작업의 결과 파일 다운로드
+	 */
+	@GetMapping("/{jobId}/file")
+	public ResponseEntity<Resource> downloadJobFile(Authentication auth, @PathVariable String jobId) {
+		ExcelExportJob job = findOwnedJob(auth, jobId);
+		if (job == null || job.getFile() == null) {
+			return ResponseEntity.notFound().build();
+		}
+		if (job.getPhase() != ExportProgress.Phase.COMPLETED) {
+			return ResponseEntity.status(HttpStatus.CONFLICT).build();
+		}
+
+		String fileName = URLEncoder.encode("Export_" + job.getMode() + "_" + job.getRowCount() + "rows.xlsx", StandardCharsets.UTF_8);
+		logger.info("Downloading export job {} result: {}", jobId, fileName);
+		return ResponseEntity.ok()
+				.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+				.contentType(MediaType.parseMediaType(EXCEL_CONTENT_TYPE))
+				.body(new FileSystemResource(job.getFile()));
+	}
+
+	/**
+	 * 작업 소유자 또는 관리자만 작업에 접근할 수 있음
+	 */
+	private ExcelExportJob findOwnedJob(Authentication auth, String jobId) {
+		ExcelExportJob job = excelJobService.getJob(jobId);
+		if (job == null) {
+			return null;
+		}
+		boolean isAdmin = auth.getAuthorities().stream().anyMatch(a -> "ROLE_ADMIN".equals(a.getAuthority()));
+		return isAdmin || job.getOwner().equals(auth.getName()) ? job : null;
+	}
+}
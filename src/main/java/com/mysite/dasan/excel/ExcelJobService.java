@@ -0,0 +1,197 @@
+package com.mysite.dasan.excel;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 비동기 Excel 내보내기 작업을 제한된 스레드 풀에서 실행하고 결과 파일을 로컬 디스크에 보관하는 서비스
+ * 요청 스레드는 작업 등록 후 즉시 반환되며, 결과 파일은 보관 기간이 지나면 삭제됩니다.
+ */
+@Service
+public class ExcelJobService {
+
+	private static final Logger logger = LoggerFactory.getLogger(ExcelJobService.class);
+
+	public static final List<String> SUPPORTED_MODES = List.of("memory", "harddisk", "direct");
+
+	private final ExcelService excelService;
+	private final ExportAdmissionService exportAdmissionService;
+	private final Path storageDir;
+	private final long admissionWaitMillis;
+	private final long retentionMinutes;
+	private final ThreadPoolExecutor executor;
+	private final Map<String, ExcelExportJob> jobs = new ConcurrentHashMap<>();
+
+	public ExcelJobService(ExcelService excelService, ExportAdmissionService exportAdmissionService,
+			@Value("${excel.job.pool-size:2}") int poolSize,
+			@Value("${excel.job.queue-capacity:20}") int queueCapacity,
+			@Value("${excel.job.storage-dir:${java.io.tmpdir}/dasan-export-jobs}") String storageDir,
+			@Value("${excel.job.retention-minutes:60}") long retentionMinutes,
+			@Value("${excel.job.admission-wait-ms:600000}") long admissionWaitMillis,
+			@Value("${virtual-threads.enabled:false}") boolean virtualThreads) throws IOException {
+		this.excelService = excelService;
+		this.exportAdmissionService = exportAdmissionService;
+		this.admissionWaitMillis = admissionWaitMillis;
+		this.storageDir = Files.createDirectories(Paths.get(storageDir));
+		this.retentionMinutes = retentionMinutes;
+
+		AtomicInteger threadNumber = new AtomicInteger();
+		// 가상 스레드 모드에서도 풀 크기와 대기열 크기로 동시 실행 작업 수를 제한
+		ThreadFactory threadFactory = virtualThreads
+				? Thread.ofVirtual().name("excel-job-", 1).factory()
+				: runnable -> {
+					Thread thread = new Thread(runnable, "excel-job-" + threadNumber.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				};
+		this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), threadFactory);
+		deleteStaleFiles();
+	}
+
+	/**
+	 * 내보내기 작업 등록
+	 * @throws ExportRejectedException 작업 대기열이 가득 찬 경우
+	 */
+	public ExcelExportJob submit(String mode, int rowCount, UnitTaskFilter filter, String owner) {
+		if (!SUPPORTED_MODES.contains(mode)) {
+			throw new IllegalArgumentException("지원하지 않는 내보내기 방식입니다: " + mode);
+		}
+		ExcelExportJob job = new ExcelExportJob(UUID.randomUUID().toString(), mode, rowCount, filter, owner);
+		jobs.put(job.getJobId(), job);
+		try {
+			executor.execute(() -> run(job));
+		} catch (RejectedExecutionException e) {
+			jobs.remove(job.getJobId());
+			logger.warn("Export job queue is full, rejecting job for user: {}", owner);
+			throw new ExportRejectedException("대기 중인 엑셀 작업이 너무 많습니다. 잠시 후 다시 시도해 주세요.", 30);
+		}
+		logger.info("Export job {} submitted by {} (mode: {}, rowCount: {}, filter: {})", job.getJobId(), owner, mode, rowCount, filter);
+		return job;
+	}
+
+	/**
+	 * 작업 조회 (없거나 만료된 경우 null)
+	 */
+	public ExcelExportJob getJob(String jobId) {
+		return jobs.get(jobId);
+	}
+
+	private void run(ExcelExportJob job) {
+		ExportProgress progress = job.getProgress();
+		Path file = storageDir.resolve(job.getJobId() + ".xlsx");
+		// 메모리 방식은 조회 조건에 맞는 실제 행 수로 방식을 판단
+		int admissionRows = "memory".equals(job.getMode())
+				? exportAdmissionService.expectedMemoryModeRows(job.getRowCount(),
+						limit -> excelService.countRows(job.getFilter(), job.getRowCount(), limit))
+				: job.getRowCount();
+		// 작업은 요청 스레드를 점유하지 않으므로 자원이 확보될 때까지 더 오래 대기
+		try (ExportAdmissionService.Permit permit = exportAdmissionService.admit(job.getMode(), admissionRows, admissionWaitMillis);
+				OutputStream out = new CountingOutputStream(new BufferedOutputStream(Files.newOutputStream(file)), progress)) {
+			job.setExecutedMode(permit.getMode());
+			switch (permit.getMode()) {
+				case "memory" -> out.write(excelService.createExcelBytes(job.getRowCount(), job.getFilter(), "HighMemoryMode", progress));
+				case "harddisk" -> excelService.createExcelStream(out, job.getRowCount(), job.getFilter(), progress);
+				default -> excelService.createDirectExcelStream(out, job.getRowCount(), job.getFilter(), progress);
+			}
+			out.flush();
+			job.setFile(file);
+			progress.setPhase(ExportProgress.Phase.COMPLETED);
+			logger.info("Export job {} completed: {} rows, {} bytes", job.getJobId(), progress.getRowsWritten(), progress.getBytesWritten());
+		} catch (Exception e) {
+			logger.error("Export job {} failed", job.getJobId(), e);
+			job.setErrorMessage(e.getMessage());
+			progress.setPhase(ExportProgress.Phase.FAILED);
+			deleteQuietly(file);
+		} finally {
+			job.setFinishedAt(LocalDateTime.now());
+		}
+	}
+
+	/**
+	 * 보관 기간이 지난 작업과 결과 파일 정리
+	 */
+	@Scheduled(fixedDelayString = "${excel.job.cleanup-interval-ms:60000}")
+	public void purgeExpiredJobs() {
+		LocalDateTime threshold = LocalDateTime.now().minusMinutes(retentionMinutes);
+		jobs.values().removeIf(job -> {
+			if (job.getFinishedAt() == null || job.getFinishedAt().isAfter(threshold)) {
+				return false;
+			}
+			if (job.getFile() != null) {
+				deleteQuietly(job.getFile());
+			}
+			logger.debug("Export job {} expired", job.getJobId());
+			return true;
+		});
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+
+	private void deleteStaleFiles() throws IOException {
+		try (Stream<Path> files = Files.list(storageDir)) {
+			files.filter(path -> path.getFileName().toString().endsWith(".xlsx")).forEach(this::deleteQuietly);
+		}
+	}
+
+	private void deleteQuietly(Path file) {
+		try {
+			Files.deleteIfExists(file);
+		} catch (IOException e) {
+			logger.warn("Failed to delete export file: {}", file, e);
+		}
+	}
+
+	/**
+	 * 기록된 바이트 수를 진행 상황에 반영하는 출력 스트림
+	 */
+	private static class CountingOutputStream extends FilterOutputStream {
+
+		private final ExportProgress progress;
+
+		CountingOutputStream(OutputStream out, ExportProgress progress) {
+			super(out);
+			this.progress = progress;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			out.write(b);
+			progress.addBytes(1);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			out.write(b, off, len);
+			progress.addBytes(len);
+		}
+	}
+}
@@ -1,7 +1,10 @@
 package com.mysite.dasan.excel;
 
+import java.util.function.IntFunction;
+
 import org.apache.ibatis.session.ResultContext;
 import org.apache.ibatis.session.ResultHandler;
+import org.apache.poi.ss.SpreadsheetVersion;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import lombok.extern.slf4j.Slf4j;
@@ -9,12 +12,16 @@ import lombok.extern.slf4j.Slf4j;
 /**
  * MyBatis 결과 핸들러로 데이터베이스 쿼리 결과를 직접 Excel 시트에 작성합니다.
  * 대용량 데이터 처리 시 메모리 효율성을 위해 스트리밍 방식으로 동작합니다.
+ * 시트당 최대 행 수에 도달하면 다음 시트를 받아 이어서 기록합니다.
  */
 @Slf4j
 public class ExcelResultHandler implements ResultHandler<UnitTaskVO> {
     
-    private final Sheet sheet;
+    private final int maxRowsPerSheet;
+    private final IntFunction<Sheet> nextSheet;
+    private Sheet sheet;
     private int rowNum = 1; // 0번 행은 헤더이므로 1부터 시작
+    private int sheetIndex = 0;
     
     // Excel 셀 인덱스 상수
     private static final int CELL_ID = 0;
@@ -31,7 +38,19 @@ public class ExcelResultHandler implements ResultHandler<UnitTaskVO> {
      * @param sheet Excel 데이터를 작성할 시트 객체
      */
     public ExcelResultHandler(Sheet sheet) {
+        this(sheet, SpreadsheetVersion.EXCEL2007.getLastRowIndex(), null);
+    }
+
+    /**
+     * 시트 분할을 지원하는 ExcelResultHandler 생성자
+     * @param sheet 첫 번째 데이터 시트 (0번 행에 헤더가 작성된 상태)
+     * @param maxRowsPerSheet 시트당 최대 데이터 행 수 (헤더 제외)
+     * @param nextSheet 시트 순번(1부터)을 받아 헤더가 작성된 새 시트를 만드는 함수
+     */
+    public ExcelResultHandler(Sheet sheet, int maxRowsPerSheet, IntFunction<Sheet> nextSheet) {
         this.sheet = sheet;
+        this.maxRowsPerSheet = maxRowsPerSheet;
+        this.nextSheet = nextSheet;
     }
 
     /**
@@ -45,6 +64,12 @@ public class ExcelResultHandler implements ResultHandler<UnitTaskVO> {
     public void handleResult(ResultContext<? extends UnitTaskVO> context) {
         try {
             UnitTaskVO task = context.getResultObject();
+            // 시트가 가득 차면 다음 시트로 전환 (헤더 행은 새 시트에 이미 작성됨)
+            if (rowNum > maxRowsPerSheet && nextSheet != null) {
+                sheet = nextSheet.apply(++sheetIndex);
+                rowNum = 1;
+                log.info("Excel rows rolled over to sheet: {}", sheet.getSheetName());
+            }
             Row row = sheet.createRow(rowNum++);
 
             // UnitTask DTO의 데이터를 순서대로 셀에 입력
@@ -57,7 +82,8 @@ public class ExcelResultHandler implements ResultHandler<UnitTaskVO> {
             row.createCell(CELL_LEVEL6).setCellValue(task.getLevel6() != null ? task.getLevel6() : "");
             row.createCell(CELL_DEPARTMENT).setCellValue(task.getDepartment() != null ? task.getDepartment() : "");
             
-            log.debug("Excel row created successfully at rowNum: {}", rowNum - 1);
+            // 행마다 호출되므로 운영 로그 레벨(DEBUG)에서는 기록하지 않음
+            log.trace("Excel row created successfully at rowNum: {}", rowNum - 1);
         } catch (Exception e) {
             log.error("Error occurred while creating Excel row for UnitTaskVO", e);
             throw new RuntimeException("Failed to handle result and create Excel row", e);
@@ -1,11 +1,18 @@
 package com.mysite.dasan.excel;
 
 import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.poi.ss.SpreadsheetVersion;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
@@ -13,23 +20,41 @@ import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
 
 /**
  * Excel 파일 생성 및 관련 비즈니스 로직을 담당하는 서비스
  */
 @Service
-@AllArgsConstructor
+@RequiredArgsConstructor
 public class ExcelService {
 
 	private static final Logger logger = LoggerFactory.getLogger(ExcelService.class);
 
 	private static final int FIXED_WIDTH_10_CHARS = 3600;
-	private static final String[] EXCEL_HEADERS = { "id", "LEVEL_1", "LEVEL_2", "LEVEL_3", "LEVEL_4", "LEVEL_5", "LEVEL_6", "DEPARTMENT" };
+	// 내보내기 머리글 (가져오기 파일도 같은 열 구성을 사용)
+	static final String[] EXCEL_HEADERS = { "id", "LEVEL_1", "LEVEL_2", "LEVEL_3", "LEVEL_4", "LEVEL_5", "LEVEL_6", "DEPARTMENT" };
+	// xlsx 시트의 최대 데이터 행 수 (전체 1,048,576 행 중 헤더 1행 제외)
+	private static final int XLSX_MAX_DATA_ROWS = SpreadsheetVersion.EXCEL2007.getLastRowIndex();
+	private static final String SHEET_NAME = "Data";
+	// 공유 문자열로 중복 제거할 열 (반복이 많은 LEVEL_1~6, DEPARTMENT - id 제외)
+	private static final int[] SHARED_STRING_COLUMNS = { 1, 2, 3, 4, 5, 6, 7 };
 
 	private final UnitTaskMapper unitTaskMapper;
+	private final UnitTaskFetcher unitTaskFetcher;
+	private final ExportMetrics exportMetrics;
+	private final XlsxCompression xlsxCompression;
+
+	// 스트리밍 내보내기 시트(zip 분할 시 파일)당 최대 데이터 행 수 - 넘으면 다음 시트(파일)로 이어서 기록
+	@Value("${excel.export.max-rows-per-sheet:1000000}")
+	private int maxRowsPerSheet = 1_000_000;
+
+	// 디스크 모드에서 열마다 공유 문자열로 등록할 최대 값 수 - 넘는 열의 새 값은 인라인 문자열 (0 이면 사용 안 함)
+	@Value("${excel.export.shared-strings.max-per-column:5000}")
+	private int sharedStringsMaxPerColumn = 5000;
 
 	/**
 	 * 데이터베이스에서 데이터 조회
@@ -37,7 +62,7 @@ public class ExcelService {
 	public List<String[]> fetchDataFromDatabase(int rowCount) {
 		logger.info("Fetching {} rows from database", rowCount);
 		try {
-			List<UnitTaskVO> taskList = unitTaskMapper.selectAllUnitTask(rowCount);
+			List<UnitTaskVO> taskList = unitTaskMapper.selectAllUnitTask(null, rowCount);
 			List<String[]> excelData = new ArrayList<>();
 
 			for (UnitTaskVO task : taskList) {
@@ -60,6 +85,56 @@ public class ExcelService {
 		}
 	}
 
+	/**
+	 * 데이터베이스에서 데이터를 조회하여 열 단위 사전 인코딩 버퍼에 적재 (메모리 방식)
+	 * 조회 결과를 스트리밍으로 받아 UnitTaskVO 목록이나 행별 String[] 을 만들지 않습니다.
+	 */
+	public UnitTaskRowBuffer fetchRowBuffer(int rowCount) {
+		return fetchRowBuffer(rowCount, null);
+	}
+
+	/**
+	 * 조회 조건에 맞는 데이터를 열 단위 사전 인코딩 버퍼에 적재 (메모리 방식)
+	 * @param filter 조회 조건 (null 이면 전체)
+	 */
+	public UnitTaskRowBuffer fetchRowBuffer(int rowCount, UnitTaskFilter filter) {
+		logger.info("Fetching {} rows from database into row buffer (filter: {})", rowCount, filter);
+		try {
+			UnitTaskRowBuffer buffer = new UnitTaskRowBuffer(rowCount);
+			unitTaskFetcher.fetch(context -> buffer.add(context.getResultObject()), rowCount, filter);
+			logger.debug("Fetched {} records successfully (distinct LEVEL_1: {}, DEPARTMENT: {})",
+					buffer.size(), buffer.getDistinctValueCount(1), buffer.getDistinctValueCount(7));
+			return buffer;
+		} catch (Exception e) {
+			logger.error("Error fetching data from database", e);
+			throw new RuntimeException("Failed to fetch data from database", e);
+		}
+	}
+
+	/**
+	 * 메모리 기반 Excel 파일 생성 (조회부터 바이트 배열 생성까지, 진행 상황 및 지표 집계 포함)
+	 */
+	public byte[] createExcelBytes(int rowCount, UnitTaskFilter filter, String sheetName, ExportProgress progress) throws IOException {
+		try (ExportMetrics.Recording recording = exportMetrics.start("memory")) {
+			try {
+				progress.setPhase(ExportProgress.Phase.FETCHING);
+				UnitTaskRowBuffer buffer = fetchRowBuffer(rowCount, filter);
+				recording.fetchCompleted();
+				progress.addRows(buffer.size());
+				recording.addRows(buffer.size());
+
+				progress.setPhase(ExportProgress.Phase.FINALIZING);
+				byte[] excelBytes = generateExcelBytes(buffer, sheetName);
+				recording.writeCompleted();
+				recording.recordBytes(excelBytes.length);
+				return excelBytes;
+			} catch (IOException | RuntimeException e) {
+				recording.failed(e);
+				throw e;
+			}
+		}
+	}
+
 	/**
 	 * 메모리 기반 Excel 파일 생성 (바이트 배열로 반환)
 	 */
@@ -86,7 +161,7 @@ public class ExcelService {
 				}
 			}
 
-			workbook.write(out);
+			writeWorkbook(workbook, out);
 			logger.debug("Excel file generated successfully with {} rows", rowNum - 1);
 			return out.toByteArray();
 		} catch (IOException e) {
@@ -96,31 +171,379 @@ public class ExcelService {
 	}
 
 	/**
-	 * 스트림 기반 Excel 파일 생성 (디스크 모드 - 대용량 처리)
+	 * 메모리 기반 Excel 파일 생성 - 열 단위 버퍼를 읽어 바이트 배열로 반환
 	 */
-	public void createExcelStream(OutputStream outputStream, int rowCount) {
-		logger.info("Creating Excel stream with row count: {}", rowCount);
-		try (SXSSFWorkbook workbook = new SXSSFWorkbook(5000)) {
-			
-			Sheet sheet = workbook.createSheet("Data");
+	public byte[] generateExcelBytes(UnitTaskRowBuffer buffer, String sheetName) throws IOException {
+		logger.info("Generating Excel file in memory mode from row buffer");
+		try (Workbook workbook = new XSSFWorkbook();
+		     ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+
+			Sheet sheet = workbook.createSheet(sheetName);
 			Row headerRow = sheet.createRow(0);
-			
+
 			// 헤더 행 생성
 			for (int i = 0; i < EXCEL_HEADERS.length; i++) {
 				headerRow.createCell(i).setCellValue(EXCEL_HEADERS[i]);
 				sheet.setColumnWidth(i, FIXED_WIDTH_10_CHARS);
 			}
 
-			// 스트림 방식으로 데이터 기록
-			ExcelResultHandler handler = new ExcelResultHandler(sheet);
-			unitTaskMapper.streamAllUnitTasks(handler, rowCount);
-			
-			workbook.write(outputStream);
-			outputStream.flush();
-			logger.info("Excel stream created successfully");
+			// 데이터 행 생성
+			int size = buffer.size();
+			for (int rowIndex = 0; rowIndex < size; rowIndex++) {
+				Row row = sheet.createRow(rowIndex + 1);
+				for (int i = 0; i < UnitTaskRowBuffer.COLUMN_COUNT; i++) {
+					row.createCell(i).setCellValue(buffer.getValue(rowIndex, i));
+				}
+			}
+
+			writeWorkbook(workbook, out);
+			logger.debug("Excel file generated successfully with {} rows", size);
+			return out.toByteArray();
+		} catch (IOException e) {
+			logger.error("Error generating Excel file", e);
+			throw e;
+		}
+	}
+
+	/**
+	 * 스트림 기반 Excel 파일 생성 (디스크 모드 - 대용량 처리)
+	 */
+	public void createExcelStream(OutputStream outputStream, int rowCount) {
+		createExcelStream(outputStream, rowCount, null, new ExportProgress());
+	}
+
+	/**
+	 * 스트림 기반 Excel 파일 생성 (조회 조건 적용, 진행 상황 집계 포함)
+	 */
+	public void createExcelStream(OutputStream outputStream, int rowCount, UnitTaskFilter filter, ExportProgress progress) {
+		logger.info("Creating Excel stream with row count: {} (filter: {})", rowCount, filter);
+		try (ExportMetrics.Recording recording = exportMetrics.start("harddisk");
+		     StreamingWorkbook workbook = new StreamingWorkbook(5000, EXCEL_HEADERS.length, SHARED_STRING_COLUMNS,
+					sharedStringsMaxPerColumn, xlsxCompression)) {
+			try {
+				Sheet sheet = createDataSheet(workbook, 0);
+
+				// 스트림 방식으로 데이터 기록 (시트가 가득 차면 헤더가 있는 새 시트로 이어서 기록)
+				progress.setPhase(ExportProgress.Phase.FETCHING);
+				ExcelResultHandler handler = new ExcelResultHandler(sheet, rowsPerSheet(),
+						sheetIndex -> createDataSheet(workbook, sheetIndex));
+				unitTaskFetcher.fetch(recording.countRows(progress.track(handler)), rowCount, filter);
+				recording.fetchCompleted();
+				
+				progress.setPhase(ExportProgress.Phase.FINALIZING);
+				ByteCountingOutputStream out = new ByteCountingOutputStream(outputStream);
+				workbook.write(out);
+				out.flush();
+				recording.writeCompleted();
+				recording.recordBytes(out.getCount());
+				// 임시 파일은 write 시점에 마지막 행까지 모두 기록된 상태
+				recording.recordSpillBytes(workbook.getSpilledBytes());
+				logSharedStrings(workbook.getSharedStrings());
+				logger.info("Excel stream created successfully");
+			} catch (Exception e) {
+				recording.failed(e);
+				throw e;
+			}
 		} catch (Exception e) {
 			logger.error("Error creating Excel stream", e);
 			throw new RuntimeException("Failed to create Excel stream", e);
 		}
 	}
+
+	/**
+	 * 직접 스트리밍 Excel 파일 생성 (임시 파일 없이 조회 중에 바로 전송)
+	 */
+	public void createDirectExcelStream(OutputStream outputStream, int rowCount) {
+		createDirectExcelStream(outputStream, rowCount, null, new ExportProgress());
+	}
+
+	/**
+	 * 직접 스트리밍 Excel 파일 생성 (조회 조건 적용, 진행 상황 집계 포함)
+	 */
+	public void createDirectExcelStream(OutputStream outputStream, int rowCount, UnitTaskFilter filter, ExportProgress progress) {
+		logger.info("Creating direct Excel stream with row count: {} (filter: {})", rowCount, filter);
+		writeDirectExcel(outputStream, handler -> unitTaskFetcher.fetch(handler, rowCount, filter), progress);
+	}
+
+	/**
+	 * source 가 결과 핸들러에 전달하는 행을 xlsx 로 직접 스트리밍
+	 */
+	private void writeDirectExcel(OutputStream outputStream, Consumer<ResultHandler<UnitTaskVO>> source, ExportProgress progress) {
+		ByteCountingOutputStream out = new ByteCountingOutputStream(outputStream);
+		try (ExportMetrics.Recording recording = exportMetrics.start("direct");
+		     XlsxStreamWriter writer = new XlsxStreamWriter(out, xlsxCompression)) {
+			try {
+				startDataSheet(writer, 0);
+				writer.flush();
+
+				// 조회 결과를 시트 XML 로 바로 기록 (조회 시간에 응답 전송 시간이 포함됨)
+				progress.setPhase(ExportProgress.Phase.FETCHING);
+				DirectExcelResultHandler handler = new DirectExcelResultHandler(writer, rowsPerSheet(),
+						(current, sheetIndex) -> startDataSheet(current, sheetIndex));
+				source.accept(recording.countRows(progress.track(handler)));
+				recording.fetchCompleted();
+
+				progress.setPhase(ExportProgress.Phase.FINALIZING);
+				writer.endSheet();
+				writer.finish();
+				recording.writeCompleted();
+				recording.recordBytes(out.getCount());
+				logger.info("Direct Excel stream created successfully with {} rows", handler.getRowCount());
+			} catch (Exception e) {
+				recording.failed(e);
+				throw e;
+			}
+		} catch (Exception e) {
+			logger.error("Error creating direct Excel stream", e);
+			throw new RuntimeException("Failed to create direct Excel stream", e);
+		}
+	}
+
+	/**
+	 * 직접 스트리밍 Excel 파일을 여러 통합 문서로 나누어 하나의 zip 으로 전송
+	 * 통합 문서마다 최대 행 수만큼 기록하며, 각 통합 문서는 헤더와 열 너비를 가진 한 개의 시트로 구성됩니다.
+	 */
+	public void createDirectExcelZipStream(OutputStream outputStream, int rowCount, String filePrefix) {
+		createDirectExcelZipStream(outputStream, rowCount, null, filePrefix, new ExportProgress());
+	}
+
+	/**
+	 * zip 분할 직접 스트리밍 Excel 파일 생성 (조회 조건 적용, 진행 상황 집계 포함)
+	 */
+	public void createDirectExcelZipStream(OutputStream outputStream, int rowCount, UnitTaskFilter filter, String filePrefix,
+			ExportProgress progress) {
+		logger.info("Creating zipped direct Excel stream with row count: {} (filter: {})", rowCount, filter);
+		writeDirectExcelZip(outputStream, handler -> unitTaskFetcher.fetch(handler, rowCount, filter), filePrefix, progress);
+	}
+
+	/**
+	 * source 가 결과 핸들러에 전달하는 행을 zip 으로 묶은 여러 xlsx 로 직접 스트리밍
+	 */
+	private void writeDirectExcelZip(OutputStream outputStream, Consumer<ResultHandler<UnitTaskVO>> source, String filePrefix,
+			ExportProgress progress) {
+		ByteCountingOutputStream out = new ByteCountingOutputStream(outputStream);
+		try (ExportMetrics.Recording recording = exportMetrics.start("direct");
+		     ZipOutputStream zip = new ZipOutputStream(out)) {
+			try {
+				// 각 xlsx 는 이미 압축되어 있으므로 다시 압축하지 않음
+				zip.setLevel(Deflater.NO_COMPRESSION);
+				XlsxStreamWriter writer = startWorkbookPart(zip, filePrefix, 0);
+				writer.flush();
+
+				progress.setPhase(ExportProgress.Phase.FETCHING);
+				DirectExcelResultHandler handler = new DirectExcelResultHandler(writer, rowsPerSheet(),
+						(current, partIndex) -> {
+							current.close();
+							zip.closeEntry();
+							return startWorkbookPart(zip, filePrefix, partIndex);
+						});
+				source.accept(recording.countRows(progress.track(handler)));
+				recording.fetchCompleted();
+
+				progress.setPhase(ExportProgress.Phase.FINALIZING);
+				handler.getWriter().close();
+				zip.closeEntry();
+				zip.finish();
+				out.flush();
+				recording.writeCompleted();
+				recording.recordBytes(out.getCount());
+				logger.info("Zipped direct Excel stream created successfully with {} rows", handler.getRowCount());
+			} catch (Exception e) {
+				recording.failed(e);
+				throw e;
+			}
+		} catch (Exception e) {
+			logger.error("Error creating zipped direct Excel stream", e);
+			throw new RuntimeException("Failed to create zipped direct Excel stream", e);
+		}
+	}
+
+	/**
+	 * CSV 스트리밍 생성 (POI 없이 조회 중에 바로 전송, compress 이면 gzip 압축)
+	 */
+	public void createCsvStream(OutputStream outputStream, int rowCount, boolean compress) {
+		createCsvStream(outputStream, rowCount, null, compress, new ExportProgress());
+	}
+
+	/**
+	 * CSV 스트리밍 생성 (조회 조건 적용, 진행 상황 집계 포함)
+	 */
+	public void createCsvStream(OutputStream outputStream, int rowCount, UnitTaskFilter filter, boolean compress,
+			ExportProgress progress) {
+		logger.info("Creating {} stream with row count: {} (filter: {})", compress ? "gzip CSV" : "CSV", rowCount, filter);
+		writeCsv(outputStream, handler -> unitTaskFetcher.fetch(handler, rowCount, filter), compress, progress);
+	}
+
+	/**
+	 * source 가 결과 핸들러에 전달하는 행을 CSV 로 스트리밍
+	 */
+	private void writeCsv(OutputStream outputStream, Consumer<ResultHandler<UnitTaskVO>> source, boolean compress,
+			ExportProgress progress) {
+		ByteCountingOutputStream out = new ByteCountingOutputStream(outputStream);
+		try (ExportMetrics.Recording recording = exportMetrics.start(compress ? "csv-gzip" : "csv");
+		     CsvStreamWriter writer = new CsvStreamWriter(out, compress)) {
+			try {
+				writer.writeRow(EXCEL_HEADERS);
+				writer.flush();
+
+				progress.setPhase(ExportProgress.Phase.FETCHING);
+				CsvResultHandler handler = new CsvResultHandler(writer);
+				source.accept(recording.countRows(progress.track(handler)));
+				recording.fetchCompleted();
+
+				progress.setPhase(ExportProgress.Phase.FINALIZING);
+				writer.finish();
+				recording.writeCompleted();
+				recording.recordBytes(out.getCount());
+				logger.info("CSV stream created successfully with {} rows", handler.getRowCount());
+			} catch (Exception e) {
+				recording.failed(e);
+				throw e;
+			}
+		} catch (Exception e) {
+			logger.error("Error creating CSV stream", e);
+			throw new RuntimeException("Failed to create CSV stream", e);
+		}
+	}
+
+	/**
+	 * 내보낼 행 수 - 조회 조건과 rowCount(0 이하면 전체)를 적용하되 limit 건까지만 셈
+	 * 행 수가 많아도 limit 건에서 멈추므로 방식 선택 전에 호출해도 비용이 작습니다.
+	 * @return 행 수 - limit 건 이상이면 limit
+	 */
+	public int countRows(UnitTaskFilter filter, int rowCount, int limit) {
+		return unitTaskFetcher.count(filter, rowCount > 0 ? Math.min(rowCount, limit) : limit);
+	}
+
+	/**
+	 * 증분 내보내기 기준점 종류를 사용할 수 있는지 (수정 시각 기준은 컬럼 설정이 필요)
+	 */
+	public boolean supportsWatermark(UnitTaskWatermark.Type type) {
+		return type == UnitTaskWatermark.Type.ID || unitTaskFetcher.supportsModifiedWatermark();
+	}
+
+	/**
+	 * 증분 내보내기의 새 기준점 (since 이후 rowCount 건의 마지막 행, 변경이 없으면 null)
+	 */
+	public UnitTaskWatermark findNextWatermark(UnitTaskWatermark.Type type, UnitTaskWatermark since, int rowCount) {
+		return unitTaskFetcher.findWatermark(type, since, rowCount);
+	}
+
+	/**
+	 * 증분 내보내기 - since 이후부터 until 까지 변경된 행만 지정한 형식으로 스트리밍
+	 * @param since 이전 기준점 (null 이면 처음부터)
+	 * @param until 새 기준점 (findNextWatermark 결과)
+	 */
+	public void createIncrementalStream(OutputStream outputStream, ExportFormat format, UnitTaskWatermark since,
+			UnitTaskWatermark until, String filePrefix) {
+		logger.info("Creating incremental {} stream since {} until {}", format, since, until);
+		Consumer<ResultHandler<UnitTaskVO>> source = handler -> unitTaskFetcher.fetchSince(handler, since, until);
+		ExportProgress progress = new ExportProgress();
+		switch (format) {
+			case CSV -> writeCsv(outputStream, source, false, progress);
+			case CSV_GZIP -> writeCsv(outputStream, source, true, progress);
+			case XLSX_ZIP -> writeDirectExcelZip(outputStream, source, filePrefix, progress);
+			default -> writeDirectExcel(outputStream, source, progress);
+		}
+	}
+
+	/**
+	 * 헤더 행과 열 너비가 지정된 데이터 시트 생성 (두 번째 시트부터 이름에 순번을 붙임)
+	 */
+	private static Sheet createDataSheet(Workbook workbook, int sheetIndex) {
+		Sheet sheet = workbook.createSheet(sheetName(sheetIndex));
+		Row headerRow = sheet.createRow(0);
+
+		// 헤더 행 생성
+		for (int i = 0; i < EXCEL_HEADERS.length; i++) {
+			headerRow.createCell(i).setCellValue(EXCEL_HEADERS[i]);
+			sheet.setColumnWidth(i, FIXED_WIDTH_10_CHARS);
+		}
+		return sheet;
+	}
+
+	/**
+	 * 직접 스트리밍 작성기에 헤더 행과 열 너비가 지정된 데이터 시트 시작 (이전 시트는 자동으로 종료)
+	 */
+	private static XlsxStreamWriter startDataSheet(XlsxStreamWriter writer, int sheetIndex) throws IOException {
+		writer.startSheet(sheetName(sheetIndex), EXCEL_HEADERS.length, FIXED_WIDTH_10_CHARS);
+		writer.writeRow(EXCEL_HEADERS);
+		return writer;
+	}
+
+	/**
+	 * zip 안에 새 xlsx 엔트리를 열고 데이터 시트를 시작한 작성기 반환
+	 */
+	private XlsxStreamWriter startWorkbookPart(ZipOutputStream zip, String filePrefix, int partIndex) throws IOException {
+		zip.putNextEntry(new ZipEntry(String.format("%s_%03d.xlsx", filePrefix, partIndex + 1)));
+		return startDataSheet(new XlsxStreamWriter(zip, xlsxCompression), 0);
+	}
+
+	/**
+	 * 메모리 방식 통합 문서를 압축 정책을 적용하여 기록 (POI 는 전달받은 zip 스트림에 파트를 기록하고 finish 까지 호출)
+	 */
+	private void writeWorkbook(Workbook workbook, OutputStream out) throws IOException {
+		try (XlsxArchiveOutputStream zip = new XlsxArchiveOutputStream(out, xlsxCompression)) {
+			workbook.write(zip);
+		}
+	}
+
+	private static String sheetName(int sheetIndex) {
+		return sheetIndex == 0 ? SHEET_NAME : SHEET_NAME + "_" + (sheetIndex + 1);
+	}
+
+	private static void logSharedStrings(SharedStringDictionary sharedStrings) {
+		if (sharedStrings == null) {
+			return;
+		}
+		StringBuilder inlineColumns = new StringBuilder();
+		for (int column : SHARED_STRING_COLUMNS) {
+			if (sharedStrings.isSaturated(column)) {
+				inlineColumns.append(inlineColumns.length() > 0 ? ", " : "").append(EXCEL_HEADERS[column]);
+			}
+		}
+		logger.debug("Shared strings: {} distinct values, columns over cap written inline: [{}]",
+				sharedStrings.size(), inlineColumns);
+	}
+
+	/**
+	 * 설정된 시트당 행 수 (xlsx 한도를 넘지 않도록 제한)
+	 */
+	private int rowsPerSheet() {
+		return maxRowsPerSheet > 0 ? Math.min(maxRowsPerSheet, XLSX_MAX_DATA_ROWS) : XLSX_MAX_DATA_ROWS;
+	}
+
+	/**
+	 * 기록된 바이트 수를 세는 출력 스트림
+	 */
+	private static class ByteCountingOutputStream extends FilterOutputStream {
+
+		private long count;
+
+		ByteCountingOutputStream(OutputStream out) {
+			super(out);
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			out.write(b);
+			count++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			out.write(b, off, len);
+			count += len;
+		}
+
+		@Override
+		public void close() throws IOException {
+			// 하위 스트림(응답 스트림)은 호출자가 관리하므로 닫지 않음
+			flush();
+		}
+
+		long getCount() {
+			return count;
+		}
+	}
 }
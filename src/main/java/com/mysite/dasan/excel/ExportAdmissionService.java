@@ -0,0 +1,221 @@
+package com.mysite.dasan.excel;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntUnaryOperator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Excel 내보내기 동시 실행 및 힙 사용량 제어 (admission control)
+ * 요청별 힙 비용을 행 개수로 추정하고 현재 힙 여유와 예약된 예산을 확인하여
+ * 요청 방식 그대로 실행하거나, 스트리밍 방식으로 전환하거나, 대기시키거나, 거절합니다.
+ */
+@Service
+public class ExportAdmissionService {
+
+	private static final Logger logger = LoggerFactory.getLogger(ExportAdmissionService.class);
+
+	private static final String MEMORY_MODE = "memory";
+
+	private final int maxConcurrent;
+	private final long budgetBytes;
+	private final long heapLimitBytes;
+	private final long memoryBytesPerRow;
+	private final long streamingBytes;
+	private final int memoryModeMaxRows;
+	private final String fallbackMode;
+	private final long queueTimeoutMillis;
+	private final long retryAfterSeconds;
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition released = lock.newCondition();
+	private int inFlight;
+	private long reservedBytes;
+
+	/**
+	 * 승인된 내보내기 실행 권한 - 내보내기 종료 시 반드시 close 하여 예약을 해제
+	 */
+	public class Permit implements AutoCloseable {
+
+		private final String mode;
+		private final long bytes;
+		private boolean closed;
+
+		private Permit(String mode, long bytes) {
+			this.mode = mode;
+			this.bytes = bytes;
+		}
+
+		/**
+		 * 실제로 실행할 내보내기 방식 (요청 방식과 다를 수 있음)
+		 */
+		public String getMode() {
+			return mode;
+		}
+
+		@Override
+		public void close() {
+			if (!closed) {
+				closed = true;
+				release(bytes);
+			}
+		}
+	}
+
+	public ExportAdmissionService(
+			@Value("${excel.admission.max-concurrent:4}") int maxConcurrent,
+			@Value("${excel.admission.heap-budget-ratio:0.5}") double heapBudgetRatio,
+			@Value("${excel.admission.heap-limit-ratio:0.9}") double heapLimitRatio,
+			@Value("${excel.admission.memory-bytes-per-row:5000}") long memoryBytesPerRow,
+			@Value("${excel.admission.streaming-bytes:33554432}") long streamingBytes,
+			@Value("${excel.admission.memory-mode-max-rows:50000}") int memoryModeMaxRows,
+			@Value("${excel.admission.fallback-mode:direct}") String fallbackMode,
+			@Value("${excel.admission.queue-timeout-ms:5000}") long queueTimeoutMillis,
+			@Value("${excel.admission.retry-after-seconds:10}") long retryAfterSeconds) {
+		long maxHeap = Runtime.getRuntime().maxMemory();
+		this.maxConcurrent = maxConcurrent;
+		this.budgetBytes = (long) (maxHeap * heapBudgetRatio);
+		this.heapLimitBytes = (long) (maxHeap * heapLimitRatio);
+		this.memoryBytesPerRow = memoryBytesPerRow;
+		this.streamingBytes = streamingBytes;
+		this.memoryModeMaxRows = memoryModeMaxRows;
+		this.fallbackMode = fallbackMode;
+		this.queueTimeoutMillis = queueTimeoutMillis;
+		this.retryAfterSeconds = retryAfterSeconds;
+		logger.info("Export admission: max {} concurrent, heap budget {} MB", maxConcurrent, budgetBytes / (1024 * 1024));
+	}
+
+	/**
+	 * 기본 대기 시간으로 내보내기 실행 승인 요청
+	 * @throws ExportRejectedException 대기 시간 안에 자원을 확보하지 못한 경우
+	 */
+	public Permit admit(String requestedMode, int rowCount) {
+		return admit(requestedMode, rowCount, queueTimeoutMillis);
+	}
+
+	/**
+	 * 내보내기 실행 승인 요청
+	 * 메모리 방식이 예산을 넘거나 행 개수가 기준보다 크면 스트리밍 방식으로 전환하고,
+	 * 스트리밍 방식도 수용할 수 없으면 maxWaitMillis 동안 대기 후 거절합니다.
+	 */
+	public Permit admit(String requestedMode, int rowCount, long maxWaitMillis) {
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+		lock.lock();
+		try {
+			while (true) {
+				if (inFlight < maxConcurrent) {
+					long headroom = Math.min(budgetBytes - reservedBytes, heapLimitBytes - estimateLiveHeap());
+
+					if (MEMORY_MODE.equals(requestedMode)) {
+						long memoryCost = estimateMemoryModeBytes(rowCount);
+						if (rowCount > 0 && rowCount <= memoryModeMaxRows && memoryCost <= headroom) {
+							return reserve(requestedMode, memoryCost);
+						}
+						if (streamingBytes <= headroom) {
+							logger.info("Switching memory mode export of {} rows to {} mode (estimated {} MB, headroom {} MB)",
+									rowCount, fallbackMode, memoryCost / (1024 * 1024), headroom / (1024 * 1024));
+							return reserve(fallbackMode, streamingBytes);
+						}
+					} else if (streamingBytes <= headroom) {
+						return reserve(requestedMode, streamingBytes);
+					}
+				}
+
+				long remaining = deadline - System.nanoTime();
+				if (remaining <= 0) {
+					logger.warn("Rejecting {} mode export of {} rows: {} in flight, {} MB reserved",
+							requestedMode, rowCount, inFlight, reservedBytes / (1024 * 1024));
+					throw new ExportRejectedException("현재 엑셀 다운로드 요청이 많습니다. 잠시 후 다시 시도해 주세요.", retryAfterSeconds);
+				}
+				released.awaitNanos(remaining);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ExportRejectedException("엑셀 다운로드 대기 중 중단되었습니다.", retryAfterSeconds);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * 메모리 방식 판단에 사용할 행 수
+	 * counter 로 실제 내보낼 행 수를 메모리 방식 기준 행 수 + 1 건까지만 세어, 기준 이하이면 실제 행 수를,
+	 * 넘으면 요청 행 수를 반환합니다. (조회 조건으로 행 수가 줄어든 요청도 메모리 방식으로 처리하기 위함)
+	 * @param counter 최대로 셀 건수를 받아 행 수를 반환하는 함수
+	 */
+	public int expectedMemoryModeRows(int rowCount, IntUnaryOperator counter) {
+		int limit = memoryModeMaxRows + 1;
+		int count = counter.applyAsInt(limit);
+		return count < limit ? count : rowCount;
+	}
+
+	/**
+	 * 예상 행 수에 적용될 내보내기 방식 (예약 없이 힙 예산만으로 판단 - 방식 선택 안내용)
+	 */
+	public String suggestMode(int rowCount) {
+		boolean fitsMemory = rowCount > 0 && rowCount <= memoryModeMaxRows && estimateMemoryModeBytes(rowCount) <= budgetBytes;
+		return fitsMemory ? MEMORY_MODE : fallbackMode;
+	}
+
+	public int getMemoryModeMaxRows() {
+		return memoryModeMaxRows;
+	}
+
+	/**
+	 * 메모리 방식의 예상 힙 사용량 (전체 조회 시 0 이하 행 개수는 무제한으로 간주)
+	 */
+	public long estimateMemoryModeBytes(int rowCount) {
+		return rowCount > 0 ? rowCount * memoryBytesPerRow : Long.MAX_VALUE;
+	}
+
+	public int getInFlight() {
+		lock.lock();
+		try {
+			return inFlight;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private Permit reserve(String mode, long bytes) {
+		inFlight++;
+		reservedBytes += bytes;
+		return new Permit(mode, bytes);
+	}
+
+	private void release(long bytes) {
+		lock.lock();
+		try {
+			inFlight--;
+			reservedBytes -= bytes;
+			released.signalAll();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * 살아있는 힙 사용량 추정 - 각 힙 영역의 마지막 GC 직후 사용량(없으면 현재 사용량)의 합
+	 * 아직 수거되지 않은 garbage 때문에 여유가 과소평가되는 것을 줄이기 위함
+	 */
+	private static long estimateLiveHeap() {
+		long live = 0;
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() != MemoryType.HEAP) {
+				continue;
+			}
+			MemoryUsage afterGc = pool.getCollectionUsage();
+			live += afterGc != null ? afterGc.getUsed() : pool.getUsage().getUsed();
+		}
+		return live;
+	}
+}
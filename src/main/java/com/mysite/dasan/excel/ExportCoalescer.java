@@ -0,0 +1,479 @@
+package com.mysite.dasan.excel;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 같은 파라미터의 동시 스트리밍 내보내기를 한 번의 생성으로 묶는 처리기 (single-flight)
+ * 첫 요청은 자신의 요청 스레드에서 실행 승인을 받아 생성하며, 결과는 어느 클라이언트도 기다리지 않고 공유 버퍼에 기록합니다.
+ * 공유 버퍼는 spillThresholdBytes 까지는 메모리에 두고, 넘으면 임시 파일(spool)로 옮겨 이어서 기록하므로
+ * 작은 내보내기는 디스크를 사용하지 않습니다. 첫 요청의 클라이언트를 포함한 모든 클라이언트는 각자의 스레드에서
+ * 공유 버퍼를 처음부터 따라 읽어 같은 바이트를 전송하며(첫 요청의 전송은 가상 스레드에 맡김), 생성이 끝날 때까지
+ * 같은 키의 요청은 언제든 합류할 수 있습니다. 느린 클라이언트는 자신만 뒤처질 뿐 생성이나 다른 클라이언트를 지연시키지 않고,
+ * 연결된 클라이언트가 모두 끊기면 생성을 중단합니다.
+ */
+@Component
+public class ExportCoalescer {
+
+	private static final Logger logger = LoggerFactory.getLogger(ExportCoalescer.class);
+	private static final String SPOOL_SUFFIX = ".spool";
+
+	private final ExportAdmissionService exportAdmissionService;
+	private final boolean enabled;
+	private final Path spoolDir;
+	private final int spillThresholdBytes;
+	private final int clientBufferBytes;
+	private final Map<String, SharedExport> inProgress = new ConcurrentHashMap<>();
+
+	private final Counter generated;
+	private final Counter joined;
+
+	public ExportCoalescer(ExportAdmissionService exportAdmissionService, MeterRegistry meterRegistry,
+			@Value("${excel.export.coalesce.enabled:true}") boolean enabled,
+			@Value("${excel.export.coalesce.spool-dir:${java.io.tmpdir}/dasan-export-spool}") String spoolDir,
+			@Value("${excel.export.coalesce.spill-threshold-bytes:1048576}") int spillThresholdBytes,
+			@Value("${excel.export.coalesce.client-buffer-bytes:65536}") int clientBufferBytes) throws IOException {
+		this.exportAdmissionService = exportAdmissionService;
+		this.enabled = enabled;
+		this.spoolDir = Files.createDirectories(Paths.get(spoolDir));
+		this.spillThresholdBytes = spillThresholdBytes;
+		this.clientBufferBytes = clientBufferBytes;
+
+		this.generated = Counter.builder("excel.export.coalesce.requests").tag("result", "generated").register(meterRegistry);
+		this.joined = Counter.builder("excel.export.coalesce.requests").tag("result", "joined").register(meterRegistry);
+		Gauge.builder("excel.export.coalesce.in-progress", inProgress, Map::size).register(meterRegistry);
+
+		deleteStaleFiles();
+	}
+
+	/**
+	 * 같은 키의 생성이 진행 중이면 그 결과를, 없으면 요청 스레드에서 새로 생성하여 out 으로 전송
+	 * @param key 내보내기 파라미터로 만든 키 (형식, 행 수, 조회 조건 등 결과 바이트를 결정하는 값 전체)
+	 * @param mode 실행 승인에 사용할 내보내기 방식
+	 * @param rowCount 실행 승인에 사용할 행 수
+	 * @param generator 결과를 기록하는 작업 (새로 생성하는 경우 호출한 스레드에서 실행)
+	 * @param out 클라이언트 출력 스트림
+	 * @throws ExportRejectedException 실행 승인을 받지 못한 경우 (합류한 요청에도 전달)
+	 * @throws IOException 클라이언트로 전송하지 못한 경우 (다른 클라이언트가 남아 있으면 생성은 끝까지 계속됨)
+	 */
+	public void stream(String key, String mode, int rowCount, ExcelFileCache.Generator generator, OutputStream out)
+			throws IOException {
+		if (!enabled) {
+			ExportAdmissionService.Permit permit = exportAdmissionService.admit(mode, rowCount);
+			try {
+				generator.write(out);
+			} finally {
+				permit.close();
+			}
+			return;
+		}
+
+		while (true) {
+			SharedExport existing = inProgress.get(key);
+			if (existing != null) {
+				if (existing.join()) {
+					joined.increment();
+					logger.info("Joining in-progress export: {}", key);
+					transfer(existing, out);
+					return;
+				}
+				// 방금 끝났거나 중단된 생성 - 목록에서 빼고 새로 생성
+				inProgress.remove(key, existing);
+				continue;
+			}
+
+			SharedExport created = new SharedExport(key, spoolDir, spillThresholdBytes);
+			if (inProgress.putIfAbsent(key, created) != null) {
+				continue;
+			}
+			generated.increment();
+			generateAndTransfer(created, mode, rowCount, generator, out);
+			return;
+		}
+	}
+
+	/**
+	 * 요청 스레드에서 생성하고, 이 요청의 클라이언트 전송은 가상 스레드에서 공유 버퍼를 따라 읽도록 맡김
+	 * 생성이 끝나면 실행 승인을 반납하고 자신의 클라이언트 전송이 끝날 때까지 기다림 (응답은 요청 스레드가 끝나기 전에 완료되어야 함)
+	 */
+	private void generateAndTransfer(SharedExport export, String mode, int rowCount, ExcelFileCache.Generator generator,
+			OutputStream out) throws IOException {
+		export.join();
+		AtomicReference<Throwable> transferFailure = new AtomicReference<>();
+		Thread delivery = Thread.ofVirtual().name("excel-shared-delivery").start(() -> {
+			try {
+				transfer(export, out);
+			} catch (Throwable e) {
+				transferFailure.set(e);
+			}
+		});
+
+		Throwable failure = generate(export, mode, rowCount, generator);
+		try {
+			delivery.join();
+		} catch (InterruptedException e) {
+			delivery.interrupt();
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while sending shared export", e);
+		}
+
+		// 생성 자체가 실패했으면 원래 오류를, 아니면 이 요청의 전송 오류를 전달
+		if (failure != null && !export.isAbandonment(failure)) {
+			rethrow(failure);
+		}
+		Throwable transferred = transferFailure.get();
+		if (transferred != null) {
+			rethrow(transferred);
+		}
+		if (export.clients > 1) {
+			logger.info("Shared export completed: {} ({} bytes, {} clients)", export.key, export.written, export.clients);
+		}
+	}
+
+	/**
+	 * 실행 승인을 받아 공유 버퍼로 생성 - 실패하면 합류한 요청에도 같은 오류를 전달
+	 * @return 생성 실패 원인 (성공하면 null)
+	 */
+	private Throwable generate(SharedExport export, String mode, int rowCount, ExcelFileCache.Generator generator) {
+		Throwable failure = null;
+		try {
+			ExportAdmissionService.Permit permit = exportAdmissionService.admit(mode, rowCount);
+			try {
+				OutputStream shared = new BufferedOutputStream(new SharedOutputStream(export), clientBufferBytes);
+				generator.write(shared);
+				shared.flush();
+			} finally {
+				permit.close();
+			}
+		} catch (Throwable e) {
+			failure = e;
+		}
+		inProgress.remove(export.key, export);
+		export.finish(failure);
+		export.release();
+		return failure;
+	}
+
+	/**
+	 * 공유 버퍼를 처음부터 따라 읽으며 클라이언트로 전송 (요청마다 clientBufferBytes 크기 버퍼만 사용)
+	 */
+	private void transfer(SharedExport export, OutputStream out) throws IOException {
+		boolean completed = false;
+		try {
+			byte[] buffer = new byte[clientBufferBytes];
+			FileChannel channel = null;
+			try {
+				long position = 0;
+				while (true) {
+					int read = export.read(position, buffer);
+					if (read < 0) {
+						break;
+					}
+					if (read == 0) {
+						// 메모리에서 임시 파일로 옮겨진 구간
+						if (channel == null) {
+							channel = FileChannel.open(export.spool, StandardOpenOption.READ);
+						}
+						ByteBuffer fileBuffer = ByteBuffer.wrap(buffer, 0,
+								(int) Math.min(buffer.length, export.available() - position));
+						read = channel.read(fileBuffer, position);
+						if (read <= 0) {
+							continue;
+						}
+					}
+					out.write(buffer, 0, read);
+					out.flush();
+					position += read;
+				}
+				completed = true;
+			} finally {
+				if (channel != null) {
+					channel.close();
+				}
+			}
+		} finally {
+			export.leave(completed);
+			export.release();
+		}
+	}
+
+	private static void rethrow(Throwable failure) throws IOException {
+		if (failure instanceof IOException e) {
+			throw e;
+		}
+		if (failure instanceof RuntimeException e) {
+			throw e;
+		}
+		if (failure instanceof Error e) {
+			throw e;
+		}
+		throw new IllegalStateException(failure);
+	}
+
+	private void deleteStaleFiles() throws IOException {
+		try (Stream<Path> files = Files.list(spoolDir)) {
+			files.filter(path -> path.getFileName().toString().endsWith(SPOOL_SUFFIX)).forEach(ExportCoalescer::deleteQuietly);
+		}
+	}
+
+	private static void deleteQuietly(Path file) {
+		try {
+			Files.deleteIfExists(file);
+		} catch (IOException e) {
+			logger.warn("Failed to delete export spool file: {}", file, e);
+		}
+	}
+
+	/**
+	 * 진행 중인 생성 1건과 공유 버퍼 - 생성 작업과 전송 중인 요청이 각각 참조를 잡고, 모두 놓으면 임시 파일을 삭제
+	 * 기록된 바이트는 spillThresholdBytes 까지는 memory 에 있고, 넘으면 전체가 임시 파일로 옮겨짐
+	 */
+	private static class SharedExport {
+
+		private final String key;
+		private final Path spoolDir;
+		private final int spillThresholdBytes;
+		private final ReentrantLock lock = new ReentrantLock();
+		private final Condition progressed = lock.newCondition();
+		// 모든 클라이언트 연결이 끊겨 생성을 중단할 때 생성 작업에 던지는 예외
+		private final IOException abandoned = new IOException("All clients disconnected from shared export");
+		private byte[] memory = new byte[0];
+		private Path spool;
+		private OutputStream spoolOut;
+		private long written;
+		private boolean finished;
+		private boolean aborted;
+		private Throwable failure;
+		private int references = 1;
+		// 전송 중인 클라이언트 수와 지금까지 연결된 클라이언트 수
+		private int attached;
+		private int clients;
+
+		SharedExport(String key, Path spoolDir, int spillThresholdBytes) {
+			this.key = key;
+			this.spoolDir = spoolDir;
+			this.spillThresholdBytes = spillThresholdBytes;
+		}
+
+		/**
+		 * 클라이언트 1건의 참조 추가 (생성이 끝났거나 중단되었으면 false)
+		 */
+		boolean join() {
+			lock.lock();
+			try {
+				if (finished || aborted) {
+					return false;
+				}
+				references++;
+				attached++;
+				clients++;
+				return true;
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		/**
+		 * 클라이언트 전송 종료 - 실패로 끝난 마지막 클라이언트이면 생성을 중단하도록 표시
+		 */
+		void leave(boolean completed) {
+			lock.lock();
+			try {
+				if (--attached == 0 && !completed && !finished) {
+					aborted = true;
+					logger.info("All clients disconnected, stopping shared export: {}", key);
+				}
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		boolean isAbandonment(Throwable e) {
+			return e == abandoned;
+		}
+
+		/**
+		 * 생성 결과 추가 - spillThresholdBytes 까지는 메모리에, 넘으면 메모리 내용과 함께 임시 파일에 기록
+		 * 임시 파일 기록은 생성 스레드만 하므로 잠금 밖에서 수행
+		 */
+		void append(byte[] b, int off, int len) throws IOException {
+			OutputStream target;
+			lock.lock();
+			try {
+				if (aborted) {
+					throw abandoned;
+				}
+				target = spoolOut;
+				if (target == null) {
+					if (written + len <= spillThresholdBytes) {
+						if (memory.length < written + len) {
+							memory = Arrays.copyOf(memory, (int) Math.min(spillThresholdBytes, Math.max(written + len, memory.length * 2L)));
+						}
+						System.arraycopy(b, off, memory, (int) written, len);
+						written += len;
+						progressed.signalAll();
+						return;
+					}
+					target = spill();
+				}
+			} finally {
+				lock.unlock();
+			}
+			target.write(b, off, len);
+			lock.lock();
+			try {
+				written += len;
+				progressed.signalAll();
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		/**
+		 * 메모리 내용을 임시 파일로 옮기고 이후 결과는 파일에 기록 (잠금 안에서 호출)
+		 */
+		private OutputStream spill() throws IOException {
+			Path file = spoolDir.resolve(UUID.randomUUID() + SPOOL_SUFFIX);
+			OutputStream fileOut = Files.newOutputStream(file);
+			try {
+				fileOut.write(memory, 0, (int) written);
+			} catch (IOException e) {
+				fileOut.close();
+				deleteQuietly(file);
+				throw e;
+			}
+			spool = file;
+			spoolOut = fileOut;
+			memory = null;
+			return fileOut;
+		}
+
+		/**
+		 * position 이후 바이트가 기록되거나 생성이 끝날 때까지 대기한 뒤 메모리 구간이면 buffer 로 복사
+		 * @return 복사한 바이트 수, 임시 파일에서 읽어야 하면 0, 생성이 끝나 더 읽을 것이 없으면 -1
+		 */
+		int read(long position, byte[] buffer) throws IOException {
+			lock.lock();
+			try {
+				while (written <= position && !finished) {
+					progressed.await();
+				}
+				if (failure != null) {
+					throw failureFor(failure);
+				}
+				if (written <= position) {
+					return -1;
+				}
+				if (memory == null) {
+					return 0;
+				}
+				int length = (int) Math.min(buffer.length, written - position);
+				System.arraycopy(memory, (int) position, buffer, 0, length);
+				return length;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IOException("Interrupted while waiting for shared export", e);
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		long available() {
+			lock.lock();
+			try {
+				return written;
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		void finish(Throwable failure) {
+			lock.lock();
+			try {
+				if (spoolOut != null) {
+					try {
+						spoolOut.close();
+					} catch (IOException e) {
+						if (failure == null) {
+							failure = e;
+						}
+					}
+				}
+				finished = true;
+				this.failure = failure;
+				progressed.signalAll();
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		void release() {
+			boolean delete;
+			lock.lock();
+			try {
+				delete = --references == 0 && spool != null;
+			} finally {
+				lock.unlock();
+			}
+			if (delete) {
+				deleteQuietly(spool);
+			}
+		}
+
+		/**
+		 * 요청 스레드마다 새 예외로 전달 (실행 승인 거절은 그대로 429 로 응답되도록 같은 종류로)
+		 */
+		private static RuntimeException failureFor(Throwable failure) {
+			if (failure instanceof ExportRejectedException rejected) {
+				return new ExportRejectedException(rejected.getMessage(), rejected.getRetryAfterSeconds());
+			}
+			return new IllegalStateException("엑셀 생성 중 오류가 발생했습니다: " + failure.getMessage(), failure);
+		}
+	}
+
+	/**
+	 * 생성 결과를 SharedExport 에 기록하는 출력 스트림
+	 */
+	private static class SharedOutputStream extends OutputStream {
+
+		private final SharedExport export;
+
+		SharedOutputStream(SharedExport export) {
+			this.export = export;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			write(new byte[] { (byte) b }, 0, 1);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			export.append(b, off, len);
+		}
+	}
+}
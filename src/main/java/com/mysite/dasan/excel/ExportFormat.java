@@ -0,0 +1,77 @@
+package com.mysite.dasan.excel;
+
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+/**
+ * 스트리밍 내보내기 출력 형식
+ * format 파라미터 또는 Accept 헤더로 선택하며, 둘 다 없으면 xlsx 를 사용합니다.
+ */
+public enum ExportFormat {
+
+	XLSX("xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", ".xlsx"),
+	CSV("csv", "text/csv;charset=UTF-8", ".csv"),
+	CSV_GZIP("csv.gz", "application/gzip", ".csv.gz"),
+	// 시트당 최대 행 수마다 별도 xlsx 로 나누어 zip 으로 묶은 형식
+	XLSX_ZIP("zip", "application/zip", ".zip");
+
+	private final String parameterValue;
+	private final MediaType mediaType;
+	private final String extension;
+
+	ExportFormat(String parameterValue, String mediaType, String extension) {
+		this.parameterValue = parameterValue;
+		this.mediaType = MediaType.parseMediaType(mediaType);
+		this.extension = extension;
+	}
+
+	public MediaType getMediaType() {
+		return mediaType;
+	}
+
+	public String getExtension() {
+		return extension;
+	}
+
+	/**
+	 * 요청에 맞는 출력 형식 결정
+	 * @param format format 파라미터 (xlsx, csv, csv.gz, zip) - 있으면 Accept 헤더보다 우선
+	 * @param accept Accept 헤더 - 품질값(q) 순으로 지원하는 형식을 찾고, 와일드카드만 있으면 xlsx
+	 * @return 출력 형식 (지원하지 않는 format 파라미터이면 null)
+	 */
+	public static ExportFormat resolve(String format, String accept) {
+		if (format != null && !format.isBlank()) {
+			for (ExportFormat candidate : values()) {
+				if (candidate.parameterValue.equalsIgnoreCase(format.trim())) {
+					return candidate;
+				}
+			}
+			return null;
+		}
+		if (accept == null || accept.isBlank()) {
+			return XLSX;
+		}
+
+		List<MediaType> acceptedTypes;
+		try {
+			acceptedTypes = MediaType.parseMediaTypes(accept);
+		} catch (InvalidMediaTypeException e) {
+			return XLSX;
+		}
+		acceptedTypes.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+		for (MediaType acceptedType : acceptedTypes) {
+			if (acceptedType.isWildcardType()) {
+				break;
+			}
+			for (ExportFormat candidate : values()) {
+				if (acceptedType.isCompatibleWith(candidate.mediaType)) {
+					return candidate;
+				}
+			}
+		}
+		return XLSX;
+	}
+}
@@ -0,0 +1,175 @@
+package com.mysite.dasan.excel;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.ibatis.session.ResultHandler;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Excel 내보내기 단계별 지표 (/actuator/metrics 로 노출, 모든 지표는 mode 태그를 가짐 - CSV 는 csv/csv-gzip)
+ * <ul>
+ * <li>excel.export.active - 실행 중인 내보내기 수</li>
+ * <li>excel.export.duration - 전체 소요 시간 (outcome 태그: success/failure)</li>
+ * <li>excel.export.fetch - 조회 단계 소요 시간 (스트리밍 방식은 행 기록 시간 포함)</li>
+ * <li>excel.export.write - 조회 이후 파일 완성 및 출력 스트림 기록 시간</li>
+ * <li>excel.export.rows / excel.export.bytes - 기록한 행 수와 출력 바이트 수 (rate 로 초당 처리량 확인)</li>
+ * <li>excel.export.spill.bytes - SXSSF 임시 파일에 기록한 바이트 수</li>
+ * <li>excel.export.failures - 실패 횟수 (exception 태그)</li>
+ * </ul>
+ */
+@Component
+public class ExportMetrics {
+
+	// 행 수 카운터 반영 주기 - 행마다 공유 카운터를 갱신하지 않도록 지역 변수에 모아서 반영
+	private static final int ROW_FLUSH_INTERVAL = 1000;
+
+	private final MeterRegistry registry;
+	private final Map<String, AtomicInteger> activeByMode = new ConcurrentHashMap<>();
+
+	public ExportMetrics(MeterRegistry registry) {
+		this.registry = registry;
+	}
+
+	/**
+	 * 내보내기 1건의 지표 기록 시작 - 종료 시 반드시 close
+	 */
+	public Recording start(String mode) {
+		return new Recording(mode);
+	}
+
+	private AtomicInteger active(String mode) {
+		return activeByMode.computeIfAbsent(mode, key -> {
+			AtomicInteger count = new AtomicInteger();
+			Gauge.builder("excel.export.active", count, AtomicInteger::get)
+					.description("Exports currently running")
+					.tag("mode", key)
+					.register(registry);
+			return count;
+		});
+	}
+
+	/**
+	 * 내보내기 1건의 지표 기록
+	 * 한 스레드에서만 사용하며, 단계 시간과 누적 값은 종료 시점에 한 번에 반영합니다.
+	 */
+	public class Recording implements AutoCloseable {
+
+		private final String mode;
+		private final long startNanos = System.nanoTime();
+		private final Counter rowCounter;
+		private long phaseStartNanos = startNanos;
+		private long pendingRows;
+		private Throwable failure;
+		private boolean closed;
+
+		private Recording(String mode) {
+			this.mode = mode;
+			this.rowCounter = Counter.builder("excel.export.rows")
+					.description("Rows written to Excel exports")
+					.tag("mode", mode)
+					.register(registry);
+			active(mode).incrementAndGet();
+		}
+
+		/**
+		 * 결과 핸들러를 감싸 처리된 행 수를 집계합니다.
+		 */
+		public <T> ResultHandler<T> countRows(ResultHandler<T> handler) {
+			return context -> {
+				handler.handleResult(context);
+				if (++pendingRows >= ROW_FLUSH_INTERVAL) {
+					flushRows();
+				}
+			};
+		}
+
+		public void addRows(long rows) {
+			pendingRows += rows;
+			flushRows();
+		}
+
+		/**
+		 * 조회 단계 종료 - 시작부터 지금까지를 조회 시간으로 기록하고 기록 단계 시작
+		 */
+		public void fetchCompleted() {
+			long now = System.nanoTime();
+			timer("excel.export.fetch", "Time spent fetching rows").record(now - phaseStartNanos, TimeUnit.NANOSECONDS);
+			phaseStartNanos = now;
+		}
+
+		/**
+		 * 기록 단계 종료 - 조회 종료부터 지금까지를 기록 시간으로 기록
+		 */
+		public void writeCompleted() {
+			long now = System.nanoTime();
+			timer("excel.export.write", "Time spent finishing and writing the file").record(now - phaseStartNanos, TimeUnit.NANOSECONDS);
+			phaseStartNanos = now;
+		}
+
+		public void recordBytes(long bytes) {
+			Counter.builder("excel.export.bytes")
+					.description("Bytes emitted by Excel exports")
+					.baseUnit("bytes")
+					.tag("mode", mode)
+					.register(registry)
+					.increment(bytes);
+		}
+
+		public void recordSpillBytes(long bytes) {
+			DistributionSummary.builder("excel.export.spill.bytes")
+					.description("Bytes spilled to SXSSF temp files per export")
+					.baseUnit("bytes")
+					.tag("mode", mode)
+					.register(registry)
+					.record(bytes);
+		}
+
+		public void failed(Throwable e) {
+			this.failure = e;
+		}
+
+		@Override
+		public void close() {
+			if (closed) {
+				return;
+			}
+			closed = true;
+			flushRows();
+			active(mode).decrementAndGet();
+			Timer.builder("excel.export.duration")
+					.description("Total time of Excel exports")
+					.tag("mode", mode)
+					.tag("outcome", failure == null ? "success" : "failure")
+					.register(registry)
+					.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+			if (failure != null) {
+				Counter.builder("excel.export.failures")
+						.description("Failed Excel exports")
+						.tag("mode", mode)
+						.tag("exception", failure.getClass().getSimpleName())
+						.register(registry)
+						.increment();
+			}
+		}
+
+		private void flushRows() {
+			if (pendingRows > 0) {
+				rowCounter.increment(pendingRows);
+				pendingRows = 0;
+			}
+		}
+
+		private Timer timer(String name, String description) {
+			return Timer.builder(name).description(description).tag("mode", mode).register(registry);
+		}
+	}
+}
@@ -0,0 +1,57 @@
+package com.mysite.dasan.excel;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.ibatis.session.ResultHandler;
+
+/**
+ * Excel 내보내기 진행 상황 (단계, 기록 행 수, 기록 바이트 수)
+ * 내보내기 스레드가 갱신하고 상태 조회 요청 스레드가 읽습니다.
+ */
+public class ExportProgress {
+
+	/**
+	 * 내보내기 진행 단계
+	 */
+	public enum Phase {
+		QUEUED, FETCHING, FINALIZING, COMPLETED, FAILED
+	}
+
+	private final AtomicLong rowsWritten = new AtomicLong();
+	private final AtomicLong bytesWritten = new AtomicLong();
+	private volatile Phase phase = Phase.QUEUED;
+
+	/**
+	 * 결과 핸들러를 감싸 처리된 행 수를 집계합니다.
+	 */
+	public <T> ResultHandler<T> track(ResultHandler<T> handler) {
+		return context -> {
+			handler.handleResult(context);
+			rowsWritten.incrementAndGet();
+		};
+	}
+
+	public void addRows(long rows) {
+		rowsWritten.addAndGet(rows);
+	}
+
+	public void addBytes(long bytes) {
+		bytesWritten.addAndGet(bytes);
+	}
+
+	public void setPhase(Phase phase) {
+		this.phase = phase;
+	}
+
+	public Phase getPhase() {
+		return phase;
+	}
+
+	public long getRowsWritten() {
+		return rowsWritten.get();
+	}
+
+	public long getBytesWritten() {
+		return bytesWritten.get();
+	}
+}
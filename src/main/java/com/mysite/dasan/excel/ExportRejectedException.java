@@ -0,0 +1,21 @@
+package com.mysite.dasan.excel;
+
+/**
+ * 서버 자원 부족으로 Excel 내보내기 요청을 받을 수 없을 때 발생하는 예외
+ * GlobalExceptionHandler 에서 429 (Too Many Requests) 와 Retry-After 헤더로 변환됩니다.
+ */
+public class ExportRejectedException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	private final long retryAfterSeconds;
+
+	public ExportRejectedException(String message, long retryAfterSeconds) {
+		super(message);
+		this.retryAfterSeconds = retryAfterSeconds;
+	}
+
+	public long getRetryAfterSeconds() {
+		return retryAfterSeconds;
+	}
+}
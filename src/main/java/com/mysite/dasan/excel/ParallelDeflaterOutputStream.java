@@ -0,0 +1,163 @@
+package com.mysite.dasan.excel;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.zip.Deflater;
+
+/**
+ * 입력을 블록으로 나누어 여러 스레드에서 압축하고 순서대로 이어 붙여 하나의 raw deflate 스트림을 기록하는 출력 스트림
+ * 블록마다 앞 블록의 마지막 32KB 를 사전으로 지정하고 SYNC_FLUSH 로 바이트 경계를 맞추므로,
+ * 이어 붙인 결과를 일반 inflate 로 그대로 풀 수 있습니다. 전달받은 출력 스트림은 닫지 않습니다.
+ */
+class ParallelDeflaterOutputStream extends OutputStream {
+
+	private static final int DICTIONARY_SIZE = 32 * 1024;
+	private static final int OUTPUT_CHUNK_SIZE = 64 * 1024;
+
+	private final OutputStream out;
+	private final int level;
+	private final int blockSize;
+	private final int maxInFlight;
+	private final Executor executor;
+	private final ArrayDeque<FutureTask<byte[]>> pending = new ArrayDeque<>();
+
+	private byte[] block;
+	private int blockLength;
+	private byte[] dictionary;
+	private boolean finished;
+
+	/**
+	 * @param out 압축 결과를 기록할 출력 스트림
+	 * @param level deflate 압축 수준
+	 * @param blockSize 블록 크기 (바이트)
+	 * @param maxInFlight 동시에 유지할 최대 블록 수 (넘으면 가장 앞 블록이 끝날 때까지 대기)
+	 * @param executor 블록 압축을 실행할 스레드 풀
+	 */
+	ParallelDeflaterOutputStream(OutputStream out, int level, int blockSize, int maxInFlight, Executor executor) {
+		this.out = out;
+		this.level = level;
+		this.blockSize = blockSize;
+		this.maxInFlight = maxInFlight;
+		this.executor = executor;
+		this.block = new byte[blockSize];
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		write(new byte[] { (byte) b }, 0, 1);
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		while (len > 0) {
+			int count = Math.min(len, blockSize - blockLength);
+			System.arraycopy(b, off, block, blockLength, count);
+			blockLength += count;
+			off += count;
+			len -= count;
+			if (blockLength == blockSize) {
+				submit(false);
+			}
+		}
+	}
+
+	/**
+	 * 압축이 끝난 앞쪽 블록만 기록 (남은 블록을 기다리지 않음)
+	 */
+	@Override
+	public void flush() throws IOException {
+		while (!pending.isEmpty() && pending.peekFirst().isDone()) {
+			writeFirst();
+		}
+		out.flush();
+	}
+
+	/**
+	 * 남은 입력을 마지막 블록으로 압축하고 모든 블록을 기록 (출력 스트림은 닫지 않음)
+	 */
+	public void finish() throws IOException {
+		if (finished) {
+			return;
+		}
+		finished = true;
+		submit(true);
+		while (!pending.isEmpty()) {
+			writeFirst();
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		finish();
+	}
+
+	private void submit(boolean last) throws IOException {
+		byte[] input = block;
+		int length = blockLength;
+		byte[] presetDictionary = dictionary;
+		if (!last) {
+			int dictionaryLength = Math.min(DICTIONARY_SIZE, length);
+			dictionary = Arrays.copyOfRange(input, length - dictionaryLength, length);
+			block = new byte[blockSize];
+			blockLength = 0;
+		}
+
+		FutureTask<byte[]> task = new FutureTask<>(() -> deflate(input, length, presetDictionary, last, level));
+		pending.addLast(task);
+		executor.execute(task);
+		while (pending.size() > maxInFlight) {
+			writeFirst();
+		}
+	}
+
+	private void writeFirst() throws IOException {
+		FutureTask<byte[]> task = pending.removeFirst();
+		try {
+			out.write(task.get());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			pending.forEach(remaining -> remaining.cancel(false));
+			throw new InterruptedIOException("Interrupted while waiting for block compression");
+		} catch (ExecutionException e) {
+			pending.forEach(remaining -> remaining.cancel(false));
+			throw new IOException("Block compression failed", e.getCause());
+		}
+	}
+
+	/**
+	 * 블록 1개 압축 - 마지막 블록이 아니면 SYNC_FLUSH 로 끝내 다음 블록을 바로 이어 붙일 수 있게 함
+	 */
+	private static byte[] deflate(byte[] input, int length, byte[] presetDictionary, boolean last, int level) {
+		Deflater deflater = new Deflater(level, true);
+		try {
+			if (presetDictionary != null) {
+				deflater.setDictionary(presetDictionary);
+			}
+			deflater.setInput(input, 0, length);
+			ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(length / 4, 64));
+			byte[] buffer = new byte[OUTPUT_CHUNK_SIZE];
+			if (last) {
+				deflater.finish();
+				while (!deflater.finished()) {
+					compressed.write(buffer, 0, deflater.deflate(buffer));
+				}
+			} else {
+				int count;
+				do {
+					count = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+					compressed.write(buffer, 0, count);
+				} while (count == buffer.length);
+			}
+			return compressed.toByteArray();
+		} finally {
+			deflater.end();
+		}
+	}
+}
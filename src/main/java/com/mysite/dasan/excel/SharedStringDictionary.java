@@ -0,0 +1,73 @@
+package com.mysite.dasan.excel;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.poi.xssf.model.SharedStringsTable;
+import org.apache.poi.xssf.usermodel.XSSFRichTextString;
+
+/**
+ * 스트리밍 xlsx 작성 시 반복이 많은 열의 문자열을 공유 문자열 테이블(sharedStrings.xml)로 중복 제거하는 사전
+ * 열마다 새로 등록할 수 있는 값의 수에 상한을 두어 메모리 사용량을 제한하며, 상한을 넘은 열(카디널리티가 높은 열)의
+ * 새 값은 인라인 문자열로 기록하도록 -1 을 반환합니다. 이미 등록된 값은 계속 공유 문자열로 참조합니다.
+ */
+public class SharedStringDictionary {
+
+	private final SharedStringsTable sharedStringsTable;
+	private final boolean[] sharedColumns;
+	private final int[] distinctCounts;
+	private final int maxDistinctPerColumn;
+	private final Map<String, Integer> indexByValue = new HashMap<>();
+
+	/**
+	 * @param sharedStringsTable 통합 문서의 공유 문자열 테이블
+	 * @param columnCount 열 개수
+	 * @param sharedColumns 공유 문자열을 사용할 열 번호
+	 * @param maxDistinctPerColumn 열마다 등록할 수 있는 서로 다른 값의 최대 수
+	 */
+	public SharedStringDictionary(SharedStringsTable sharedStringsTable, int columnCount, int[] sharedColumns,
+			int maxDistinctPerColumn) {
+		this.sharedStringsTable = sharedStringsTable;
+		this.sharedColumns = new boolean[columnCount];
+		for (int column : sharedColumns) {
+			this.sharedColumns[column] = true;
+		}
+		this.distinctCounts = new int[columnCount];
+		this.maxDistinctPerColumn = maxDistinctPerColumn;
+	}
+
+	/**
+	 * 셀 값의 공유 문자열 번호 (처음 나온 값이면 등록)
+	 * @return 공유 문자열 번호, 인라인 문자열로 기록해야 하면 -1
+	 */
+	public int indexOf(int column, String value) {
+		if (column >= sharedColumns.length || !sharedColumns[column]) {
+			return -1;
+		}
+		Integer index = indexByValue.get(value);
+		if (index != null) {
+			return index;
+		}
+		if (distinctCounts[column] >= maxDistinctPerColumn) {
+			return -1;
+		}
+		distinctCounts[column]++;
+		index = sharedStringsTable.addSharedStringItem(new XSSFRichTextString(value));
+		indexByValue.put(value, index);
+		return index;
+	}
+
+	/**
+	 * 상한에 도달하여 새 값을 인라인으로 기록 중인 열인지
+	 */
+	public boolean isSaturated(int column) {
+		return column < sharedColumns.length && sharedColumns[column] && distinctCounts[column] >= maxDistinctPerColumn;
+	}
+
+	/**
+	 * 등록된 서로 다른 문자열 수
+	 */
+	public int size() {
+		return indexByValue.size();
+	}
+}
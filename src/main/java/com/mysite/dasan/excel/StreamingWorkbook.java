@@ -0,0 +1,114 @@
+package com.mysite.dasan.excel;
+
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.streaming.SheetDataWriter;
+
+/**
+ * 디스크 모드 내보내기용 SXSSF 통합 문서
+ * 임시 파일에 기록된 바이트 수를 집계하고, 공유 문자열 사전이 지정되면 해당 열의 문자열 셀을
+ * 인라인 문자열 대신 공유 문자열 참조로 기록합니다. 최종 xlsx 기록 시 압축 정책(수준, 시트 병렬 압축)을 적용합니다.
+ */
+class StreamingWorkbook extends SXSSFWorkbook {
+
+	private final SharedStringDictionary sharedStrings;
+	private final XlsxCompression compression;
+	private long spilledBytes;
+
+	/**
+	 * @param rowAccessWindowSize 메모리에 유지할 행 수
+	 * @param columnCount 열 개수
+	 * @param sharedColumns 공유 문자열을 사용할 열 번호
+	 * @param maxDistinctPerColumn 열마다 공유 문자열로 등록할 최대 값 수 (0 이하이면 공유 문자열을 사용하지 않음)
+	 * @param compression xlsx 압축 정책
+	 */
+	StreamingWorkbook(int rowAccessWindowSize, int columnCount, int[] sharedColumns, int maxDistinctPerColumn,
+			XlsxCompression compression) {
+		super(rowAccessWindowSize);
+		this.compression = compression;
+		this.sharedStrings = maxDistinctPerColumn > 0
+				? new SharedStringDictionary(_wb.getSharedStringSource(), columnCount, sharedColumns, maxDistinctPerColumn)
+				: null;
+	}
+
+	long getSpilledBytes() {
+		return spilledBytes;
+	}
+
+	SharedStringDictionary getSharedStrings() {
+		return sharedStrings;
+	}
+
+	@Override
+	protected SheetDataWriter createSheetDataWriter() throws IOException {
+		return new SharedStringsAwareWriter();
+	}
+
+	@Override
+	protected ZipArchiveOutputStream createArchiveOutputStream(OutputStream out) {
+		ZipArchiveOutputStream zos = new XlsxArchiveOutputStream(out, compression);
+		zos.setUseZip64(zip64Mode);
+		return zos;
+	}
+
+	/**
+	 * 공유 문자열 참조 기록과 임시 파일 바이트 집계를 추가한 시트 작성기
+	 * (상위 생성자에서 임시 파일을 열기 때문에 상태는 바깥 통합 문서에 둠)
+	 */
+	private class SharedStringsAwareWriter extends SheetDataWriter {
+
+		SharedStringsAwareWriter() throws IOException {
+			super();
+		}
+
+		@Override
+		public void writeCell(int columnIndex, Cell cell) throws IOException {
+			if (sharedStrings == null || cell.getCellType() != CellType.STRING) {
+				super.writeCell(columnIndex, cell);
+				return;
+			}
+			int index = sharedStrings.indexOf(columnIndex, cell.getStringCellValue());
+			if (index < 0) {
+				super.writeCell(columnIndex, cell);
+				return;
+			}
+			_out.write("<c r=\"");
+			_out.write(new CellReference(cell.getRowIndex(), columnIndex).formatAsString());
+			_out.write('"');
+			short styleIndex = cell.getCellStyle().getIndex();
+			if (styleIndex != 0) {
+				_out.write(" s=\"");
+				_out.write(Integer.toString(styleIndex));
+				_out.write('"');
+			}
+			_out.write(" t=\"s\"><v>");
+			_out.write(Integer.toString(index));
+			_out.write("</v></c>");
+		}
+
+		@Override
+		protected OutputStream decorateOutputStream(FileOutputStream fos) {
+			return new FilterOutputStream(fos) {
+				@Override
+				public void write(int b) throws IOException {
+					out.write(b);
+					spilledBytes++;
+				}
+
+				@Override
+				public void write(byte[] b, int off, int len) throws IOException {
+					out.write(b, off, len);
+					spilledBytes += len;
+				}
+			};
+		}
+	}
+}
@@ -0,0 +1,23 @@
+package com.mysite.dasan.excel;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * UNIT_TASK 데이터 버전 정보 (최대 id, 전체 건수)
+ * 내보내기 캐시 키의 일부로 사용하여 데이터가 바뀌면 캐시가 무효화되도록 합니다.
+ */
+@Getter
+@Setter
+public class UnitTaskDataVersion {
+
+	private Long maxId;
+	private long rowCount;
+
+	/**
+	 * 캐시 키에 사용할 버전 문자열
+	 */
+	public String fingerprint() {
+		return maxId + ":" + rowCount;
+	}
+}
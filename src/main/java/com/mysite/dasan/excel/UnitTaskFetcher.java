@@ -0,0 +1,314 @@
+package com.mysite.dasan.excel;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.executor.result.DefaultResultContext;
+import org.apache.ibatis.session.ResultHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 내보내기용 UNIT_TASK 조회기
+ * 병렬도가 2 이상이면 id 범위를 keyset 조건으로 분할하여 여러 커넥션에서 동시에 조회하고,
+ * 결과는 호출 스레드에서 id 순서대로 결과 핸들러에 전달합니다. (id 컬럼이 숫자형이라는 전제)
+ * 조회 스레드 풀은 모든 내보내기가 공유하므로, 내보내기 1건이 동시에 조회하는 구간은 max-in-flight 개로 제한하여
+ * 소비가 느린 내보내기가 풀의 스레드와 커넥션을 모두 점유하지 않도록 합니다.
+ */
+@Component
+public class UnitTaskFetcher {
+
+	private static final Logger logger = LoggerFactory.getLogger(UnitTaskFetcher.class);
+
+	private static final int PARTITIONS_PER_WORKER = 4;
+	private static final int PARTITION_BUFFER_SIZE = 2000;
+	// 풀 시작 전 maximumPoolSize 가 지정되지 않은 경우 Hikari 가 적용하는 기본 크기
+	private static final int HIKARI_DEFAULT_POOL_SIZE = 10;
+	// 분할 조회 결과 종료 표시
+	private static final UnitTaskVO END_OF_PARTITION = new UnitTaskVO();
+	// SQL 에 그대로 들어가는 수정 시각 컬럼명 허용 형식
+	private static final Pattern COLUMN_NAME = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+
+	private final UnitTaskMapper unitTaskMapper;
+	private final TransactionTemplate readOnlyTransaction;
+	private final int parallelism;
+	private final int maxInFlight;
+	private final ExecutorService executor;
+	private final String modifiedColumn;
+	private final int modifiedLagSeconds;
+
+	public UnitTaskFetcher(UnitTaskMapper unitTaskMapper, PlatformTransactionManager transactionManager, DataSource dataSource,
+			@Value("${excel.export.fetch-parallelism:1}") int configuredParallelism,
+			@Value("${excel.export.fetch-max-in-flight:2}") int maxInFlight,
+			@Value("${virtual-threads.enabled:false}") boolean virtualThreads,
+			@Value("${excel.export.incremental.modified-column:}") String modifiedColumn,
+			@Value("${excel.export.incremental.modified-lag-seconds:30}") int modifiedLagSeconds) {
+		if (!modifiedColumn.isBlank() && !COLUMN_NAME.matcher(modifiedColumn.trim()).matches()) {
+			throw new IllegalArgumentException("Invalid modified column name: " + modifiedColumn);
+		}
+		this.unitTaskMapper = unitTaskMapper;
+		this.modifiedColumn = modifiedColumn.isBlank() ? null : modifiedColumn.trim();
+		this.modifiedLagSeconds = Math.max(0, modifiedLagSeconds);
+		this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+		this.readOnlyTransaction.setReadOnly(true);
+
+		// 로그인 등 다른 요청이 사용할 커넥션을 하나 이상 남겨 두도록 풀 크기로 제한
+		HikariDataSource hikari = unwrapHikari(dataSource);
+		int poolLimit = hikari != null ? poolSize(hikari) - 1 : configuredParallelism;
+		this.parallelism = Math.max(1, Math.min(configuredParallelism, poolLimit));
+		this.maxInFlight = Math.max(1, Math.min(maxInFlight, parallelism));
+		AtomicInteger threadNumber = new AtomicInteger();
+		// 가상 스레드 모드에서도 고정 크기 풀을 유지하여 동시에 조회하는 파티션 수(커넥션 수)를 제한
+		ThreadFactory threadFactory = virtualThreads
+				? Thread.ofVirtual().name("unit-task-fetch-", 1).factory()
+				: runnable -> {
+					Thread thread = new Thread(runnable, "unit-task-fetch-" + threadNumber.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				};
+		this.executor = parallelism > 1 ? Executors.newFixedThreadPool(parallelism, threadFactory) : null;
+		logger.info("Unit task fetch parallelism: {} (configured: {}, max in flight per export: {})",
+				parallelism, configuredParallelism, this.maxInFlight);
+	}
+
+	/**
+	 * 앞에서부터 rowCount 건(0 이하면 전체)을 조회하여 handler 에 순서대로 전달합니다.
+	 */
+	public void fetch(ResultHandler<UnitTaskVO> handler, int rowCount) {
+		fetch(handler, rowCount, null);
+	}
+
+	/**
+	 * 조회 조건에 맞는 행 중 id 순 앞에서부터 rowCount 건(0 이하면 전체)을 조회하여 handler 에 순서대로 전달합니다.
+	 * handler 에서 발생한 예외(클라이언트 연결 종료 등)는 순차, 분할 조회 모두 감싸지 않고 그대로 던집니다.
+	 * @param filter 조회 조건 (null 이면 전체)
+	 */
+	public void fetch(ResultHandler<UnitTaskVO> handler, int rowCount, UnitTaskFilter filter) {
+		if (parallelism <= 1) {
+			// MyBatis 가 결과 핸들러 예외를 MyBatisSystemException 으로 감싸므로 원래 예외를 꺼내 던짐
+			RuntimeException[] handlerFailure = new RuntimeException[1];
+			try {
+				readOnlyTransaction.executeWithoutResult(status -> unitTaskMapper.streamAllUnitTasks(context -> {
+					try {
+						handler.handleResult(context);
+					} catch (RuntimeException e) {
+						handlerFailure[0] = e;
+						throw e;
+					}
+				}, filter, rowCount));
+			} catch (RuntimeException e) {
+				throw handlerFailure[0] != null ? handlerFailure[0] : e;
+			}
+			return;
+		}
+
+		// 분할 조회는 작업 스레드마다 트랜잭션을 열므로 호출 스레드는 커넥션을 계속 점유하지 않음
+		UnitTaskIdRange range = readOnlyTransaction.execute(status -> unitTaskMapper.selectIdRange(filter, rowCount));
+		if (range == null || range.getMinId() == null) {
+			logger.debug("No unit tasks to fetch");
+			return;
+		}
+		fetchPartitions(handler, filter, range.getMinId(), range.getMaxId());
+	}
+
+	/**
+	 * 조회 조건에 맞는 행 수 (limit 건까지만 세므로 비용이 전체 건수와 무관)
+	 * @return 행 수 - limit 건 이상이면 limit
+	 */
+	public int count(UnitTaskFilter filter, int limit) {
+		return readOnlyTransaction.execute(status -> unitTaskMapper.countUnitTasks(filter, limit));
+	}
+
+	/**
+	 * 현재 데이터 버전 (최대 id + 건수) - 조회와 같은 데이터소스(읽기 전용 복제본 사용 시 복제본)에서 확인
+	 */
+	public UnitTaskDataVersion dataVersion() {
+		return readOnlyTransaction.execute(status -> unitTaskMapper.selectDataVersion());
+	}
+
+	/**
+	 * 증분 내보내기의 새 기준점 - since 이후 rowCount 건(0 이하면 전체)의 마지막 행
+	 * 수정 시각 기준점은 (데이터베이스 현재 시각 - modified-lag-seconds) 이전에 수정된 행까지만 포함하여,
+	 * 더 이른 수정 시각으로 늦게 커밋되는 행이 기준점 뒤로 밀려 누락되지 않도록 합니다.
+	 * @param type 기준점 종류
+	 * @param since 이전 기준점 (null 이면 처음부터)
+	 * @return 새 기준점 (since 이후 행이 없으면 null)
+	 */
+	public UnitTaskWatermark findWatermark(UnitTaskWatermark.Type type, UnitTaskWatermark since, int rowCount) {
+		if (type == UnitTaskWatermark.Type.ID) {
+			Long lastId = readOnlyTransaction.execute(status ->
+					unitTaskMapper.selectIdWatermark(since != null ? since.getId() : null, rowCount));
+			return lastId != null ? new UnitTaskWatermark(lastId) : null;
+		}
+		String column = requireModifiedColumn();
+		return readOnlyTransaction.execute(status -> {
+			LocalDateTime before = modifiedLagSeconds > 0
+					? unitTaskMapper.selectCurrentTimestamp().minusSeconds(modifiedLagSeconds)
+					: null;
+			return unitTaskMapper.selectModifiedWatermark(column, since, before, rowCount);
+		});
+	}
+
+	/**
+	 * since 이후부터 until 까지의 행을 기준점 순서대로 handler 에 전달 (keyset 조건 - 변경 건수에 비례하는 비용)
+	 * until 로 상한을 고정하므로 조회 중 추가된 행은 다음 증분 내보내기에 포함됩니다.
+	 */
+	public void fetchSince(ResultHandler<UnitTaskVO> handler, UnitTaskWatermark since, UnitTaskWatermark until) {
+		readOnlyTransaction.executeWithoutResult(status -> {
+			if (until.getType() == UnitTaskWatermark.Type.ID) {
+				unitTaskMapper.streamUnitTasksAfterId(handler, since != null ? since.getId() : null, until.getId());
+			} else {
+				unitTaskMapper.streamUnitTasksModifiedAfter(handler, requireModifiedColumn(), since, until);
+			}
+		});
+	}
+
+	/**
+	 * 수정 시각 기준 증분 내보내기를 지원하는지 (excel.export.incremental.modified-column 설정 여부)
+	 */
+	public boolean supportsModifiedWatermark() {
+		return modifiedColumn != null;
+	}
+
+	private String requireModifiedColumn() {
+		if (modifiedColumn == null) {
+			throw new IllegalStateException("excel.export.incremental.modified-column is not configured");
+		}
+		return modifiedColumn;
+	}
+
+	private void fetchPartitions(ResultHandler<UnitTaskVO> handler, UnitTaskFilter filter, long minId, long maxId) {
+		int partitionCount = parallelism * PARTITIONS_PER_WORKER;
+		long span = maxId - minId + 1;
+		long width = Math.max(1, (span + partitionCount - 1) / partitionCount);
+
+		List<long[]> ranges = new ArrayList<>();
+		for (long start = minId; start <= maxId; start += width) {
+			long toId = Math.min(maxId, start + width - 1);
+			ranges.add(new long[] { start, toId });
+			if (toId == maxId) {
+				break;
+			}
+		}
+		logger.debug("Fetching id range [{}, {}] in {} partitions with parallelism {} ({} in flight)",
+				minId, maxId, ranges.size(), parallelism, maxInFlight);
+
+		// 앞 구간을 다 소비할 때마다 다음 구간을 제출 (내보내기 1건이 점유하는 스레드, 커넥션은 maxInFlight 개 이하)
+		List<BlockingQueue<UnitTaskVO>> queues = new ArrayList<>();
+		List<Future<?>> futures = new ArrayList<>();
+		DefaultResultContext<UnitTaskVO> context = new DefaultResultContext<>();
+		try {
+			while (futures.size() < Math.min(maxInFlight, ranges.size())) {
+				submitPartition(ranges.get(futures.size()), filter, queues, futures);
+			}
+			// 분할 순서대로 소비하여 id 순서를 유지
+			for (int i = 0; i < ranges.size(); i++) {
+				BlockingQueue<UnitTaskVO> queue = queues.get(i);
+				UnitTaskVO task;
+				while ((task = queue.take()) != END_OF_PARTITION) {
+					context.nextResultObject(task);
+					handler.handleResult(context);
+				}
+				futures.get(i).get();
+				if (futures.size() < ranges.size()) {
+					submitPartition(ranges.get(futures.size()), filter, queues, futures);
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("Interrupted while fetching unit tasks", e);
+		} catch (ExecutionException e) {
+			// 구간 조회 실패는 순차 조회와 같은 예외(DataAccessException 등)로 전달
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw new RuntimeException("Failed to fetch unit tasks in parallel", e.getCause());
+		} finally {
+			futures.forEach(future -> future.cancel(true));
+		}
+	}
+
+	private void submitPartition(long[] range, UnitTaskFilter filter, List<BlockingQueue<UnitTaskVO>> queues,
+			List<Future<?>> futures) {
+		BlockingQueue<UnitTaskVO> queue = new ArrayBlockingQueue<>(PARTITION_BUFFER_SIZE);
+		queues.add(queue);
+		futures.add(executor.submit(() -> fetchPartition(queue, filter, range[0], range[1])));
+	}
+
+	/**
+	 * 한 id 구간을 읽기 전용 트랜잭션 안에서 조회 (PostgreSQL 은 autocommit 이 꺼져 있어야 fetchSize 커서가 동작)
+	 */
+	private void fetchPartition(BlockingQueue<UnitTaskVO> queue, UnitTaskFilter filter, long fromId, long toId) {
+		try {
+			readOnlyTransaction.executeWithoutResult(status -> unitTaskMapper.streamUnitTasksByIdRange(context -> {
+				try {
+					queue.put(context.getResultObject());
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new IllegalStateException("Partition fetch cancelled", e);
+				}
+			}, filter, fromId, toId));
+		} finally {
+			// 실패하더라도 소비 측이 대기하지 않도록 종료 표시 (취소된 경우 제외)
+			if (!Thread.currentThread().isInterrupted()) {
+				try {
+					queue.put(END_OF_PARTITION);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		}
+	}
+
+	/**
+	 * 커넥션 풀 (읽기 전용 복제본 라우팅 등으로 감싼 경우 기본 데이터소스의 풀)
+	 */
+	private static HikariDataSource unwrapHikari(DataSource dataSource) {
+		if (dataSource instanceof HikariDataSource hikari) {
+			return hikari;
+		}
+		try {
+			return dataSource != null && dataSource.isWrapperFor(HikariDataSource.class)
+					? dataSource.unwrap(HikariDataSource.class) : null;
+		} catch (SQLException e) {
+			return null;
+		}
+	}
+
+	private static int poolSize(HikariDataSource hikari) {
+		int maximumPoolSize = hikari.getMaximumPoolSize();
+		return maximumPoolSize > 0 ? maximumPoolSize : HIKARI_DEFAULT_POOL_SIZE;
+	}
+
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		if (executor != null) {
+			executor.shutdownNow();
+		}
+	}
+}
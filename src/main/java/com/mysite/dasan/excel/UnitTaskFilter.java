@@ -0,0 +1,65 @@
+package com.mysite.dasan.excel;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 내보내기 조회 조건 (요청 파라미터 department, level1~level6 과 바인딩)
+ * 값이 있는 항목만 WHERE 절의 일치 조건으로 추가되며, level1 부터 차례로 지정하면 계층의 한 분기를 내보냅니다.
+ * 일치 조건이므로 (department) 또는 (level1, level2, ...) 인덱스로 조회할 수 있습니다.
+ */
+@Getter
+@Setter
+public class UnitTaskFilter {
+
+	private String department;
+	private String level1;
+	private String level2;
+	private String level3;
+	private String level4;
+	private String level5;
+	private String level6;
+
+	/**
+	 * 캐시와 동시 다운로드 묶음의 키로 사용할 조건 문자열
+	 * 값에 구분자가 들어 있어도 다른 조건과 같은 키가 되지 않도록 모든 항목을 순서대로 길이와 함께 기록 (지정하지 않은 항목은 -)
+	 */
+	public String cacheKey() {
+		StringBuilder sb = new StringBuilder();
+		for (String value : new String[] { department, level1, level2, level3, level4, level5, level6 }) {
+			if (isBlank(value)) {
+				sb.append('-');
+			} else {
+				sb.append(value.length()).append(':').append(value);
+			}
+			sb.append(';');
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * 로그에 사용할 조건 문자열 (지정된 조건만 포함, 값을 구분하지 않으므로 키로 사용하지 않음)
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		append(sb, "department", department);
+		append(sb, "level1", level1);
+		append(sb, "level2", level2);
+		append(sb, "level3", level3);
+		append(sb, "level4", level4);
+		append(sb, "level5", level5);
+		append(sb, "level6", level6);
+		return sb.length() > 0 ? sb.toString() : "none";
+	}
+
+	private static void append(StringBuilder sb, String name, String value) {
+		if (!isBlank(value)) {
+			sb.append(sb.length() > 0 ? "," : "").append(name).append('=').append(value);
+		}
+	}
+
+	private static boolean isBlank(String value) {
+		return value == null || value.isEmpty();
+	}
+}
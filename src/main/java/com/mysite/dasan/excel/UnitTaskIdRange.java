@@ -0,0 +1,15 @@
+package com.mysite.dasan.excel;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 내보내기 대상 UNIT_TASK 의 id 범위 (최소/최대)
+ */
+@Getter
+@Setter
+public class UnitTaskIdRange {
+
+	private Long minId;
+	private Long maxId;
+}
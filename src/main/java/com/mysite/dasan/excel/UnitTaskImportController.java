@@ -0,0 +1,155 @@
+package com.mysite.dasan.excel;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+import org.springframework.web.multipart.MultipartFile;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Unit_Task xlsx 가져오기 요청을 처리하는 컨트롤러
+ * 업로드 즉시 작업으로 등록하고 202 Accepted 와 상태 조회 URL 을 반환합니다.
+ * multipart 업로드는 애플리케이션 전체의 multipart 크기 제한을 따르고, 큰 파일은 요청 본문으로 직접 올려
+ * excel.import.max-file-size 까지 받습니다. (다른 업로드 경로의 제한은 올리지 않음)
+ */
+@Controller
+@RequestMapping("/api/excel/imports")
+public class UnitTaskImportController {
+
+	private static final Logger logger = LoggerFactory.getLogger(UnitTaskImportController.class);
+
+	private static final String XLSX_CONTENT_TYPE = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+
+	@Autowired
+	private UnitTaskImportService unitTaskImportService;
+
+	@Value("${excel.import.max-file-size:100MB}")
+	private DataSize maxFileSize;
+
+	/**
+	 * 가져오기 작업 등록
+	 * @param file 내보내기 형식(id, LEVEL_1~6, DEPARTMENT 머리글)의 xlsx 파일
+	 * @param replace true 이면 기존 행을 모두 삭제하고 파일 내용으로 교체
+	 */
+	@PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+	@ResponseBody
+	public ResponseEntity<?> submitImport(Authentication auth, @RequestParam("file") MultipartFile file,
+			@RequestParam(defaultValue = "false") boolean replace) throws IOException {
+		String fileName = file.getOriginalFilename();
+		if (fileName == null || !fileName.toLowerCase(Locale.ROOT).endsWith(".xlsx")) {
+			return ResponseEntity.badRequest().body(Map.of("message", "xlsx 파일만 가져올 수 있습니다: " + fileName));
+		}
+		logger.info("Import requested by {}: {} ({} bytes, replace: {})", auth.getName(), fileName, file.getSize(), replace);
+		UnitTaskImportJob job;
+		try (InputStream in = file.getInputStream()) {
+			job = unitTaskImportService.submit(in, fileName, replace, auth.getName());
+		}
+		return accepted(job);
+	}
+
+	/**
+	 * 가져오기 작업 등록 - 요청 본문이 xlsx 파일 (excel.import.max-file-size 까지)
+	 * 예: curl -X POST -H "Content-Type: application/vnd.openxmlformats-officedocument.spreadsheetml.sheet" --data-binary @tasks.xlsx
+	 * @param fileName 작업 정보에 표시할 파일 이름
+	 * @param replace true 이면 기존 행을 모두 삭제하고 파일 내용으로 교체
+	 */
+	@PostMapping(consumes = { XLSX_CONTENT_TYPE, MediaType.APPLICATION_OCTET_STREAM_VALUE })
+	@ResponseBody
+	public ResponseEntity<?> submitImportBody(Authentication auth, HttpServletRequest request,
+			@RequestParam(defaultValue = "upload.xlsx") String fileName,
+			@RequestParam(defaultValue = "false") boolean replace) throws IOException {
+		long maxBytes = maxFileSize.toBytes();
+		if (request.getContentLengthLong() > maxBytes) {
+			throw new MaxUploadSizeExceededException(maxBytes);
+		}
+		logger.info("Import requested by {}: {} ({} bytes, replace: {})", auth.getName(), fileName,
+				request.getContentLengthLong(), replace);
+		UnitTaskImportJob job;
+		// Content-Length 가 없는(chunked) 요청도 받은 크기로 제한
+		try (InputStream in = new SizeLimitedInputStream(request.getInputStream(), maxBytes)) {
+			job = unitTaskImportService.submit(in, fileName, replace, auth.getName());
+		}
+		return accepted(job);
+	}
+
+	private static ResponseEntity<UnitTaskImportJob> accepted(UnitTaskImportJob job) {
+		return ResponseEntity.status(HttpStatus.ACCEPTED)
+				.header(HttpHeaders.LOCATION, "/api/excel/imports/" + job.getJobId())
+				.body(job);
+	}
+
+	/**
+	 * 가져오기 진행 상황 조회 (단계, 읽은 행 수, 등록 행 수, 거부 행 수와 사유)
+	 */
+	@GetMapping("/{jobId}")
+	@ResponseBody
+	public ResponseEntity<UnitTaskImportJob> getImportStatus(Authentication auth, @PathVariable String jobId) {
+		UnitTaskImportJob job = unitTaskImportService.getJob(jobId);
+		boolean isAdmin = auth.getAuthorities().stream().anyMatch(a -> "ROLE_ADMIN".equals(a.getAuthority()));
+		if (job == null || !(isAdmin || job.getOwner().equals(auth.getName()))) {
+			return ResponseEntity.notFound().build();
+		}
+		return ResponseEntity.ok(job);
+	}
+
+	/**
+	 * 최대 크기를 넘게 읽으면 MaxUploadSizeExceededException 을 던지는 입력 스트림
+	 */
+	private static class SizeLimitedInputStream extends FilterInputStream {
+
+		private final long maxBytes;
+		private long count;
+
+		SizeLimitedInputStream(InputStream in, long maxBytes) {
+			super(in);
+			this.maxBytes = maxBytes;
+		}
+
+		@Override
+		public int read() throws IOException {
+			int b = super.read();
+			if (b >= 0) {
+				addCount(1);
+			}
+			return b;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			int n = super.read(b, off, len);
+			if (n > 0) {
+				addCount(n);
+			}
+			return n;
+		}
+
+		private void addCount(int n) {
+			count += n;
+			if (count > maxBytes) {
+				throw new MaxUploadSizeExceededException(maxBytes);
+			}
+		}
+	}
+}
@@ -0,0 +1,102 @@
+package com.mysite.dasan.excel;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Unit_Task xlsx 가져오기 작업 정보 (진행 행 수, 거부 행 수와 일부 거부 사유)
+ * 가져오기 스레드가 갱신하고 상태 조회 요청 스레드가 읽습니다.
+ */
+@Getter
+@Setter
+public class UnitTaskImportJob {
+
+	/**
+	 * 가져오기 진행 단계
+	 */
+	public enum Phase {
+		QUEUED, LOADING, COMPLETED, FAILED
+	}
+
+	/**
+	 * 거부된 행과 사유
+	 */
+	public record RejectedRow(String sheet, int rowNumber, String reason) {
+	}
+
+	// 응답에 포함할 거부 행 최대 수 (전체 거부 수는 rowsRejected)
+	private static final int MAX_REJECTED_SAMPLES = 100;
+
+	private final String jobId;
+	private final String fileName;
+	private final boolean replace;
+	@JsonIgnore
+	private final String owner;
+	@JsonIgnore
+	private final Path file;
+	private final LocalDateTime createdAt = LocalDateTime.now();
+
+	@Getter(AccessLevel.NONE)
+	private final AtomicLong rowsRead = new AtomicLong();
+	@Getter(AccessLevel.NONE)
+	private final AtomicLong rowsInserted = new AtomicLong();
+	@Getter(AccessLevel.NONE)
+	private final AtomicLong rowsRejected = new AtomicLong();
+	@Getter(AccessLevel.NONE)
+	private final List<RejectedRow> rejectedRows = new ArrayList<>();
+
+	private volatile Phase phase = Phase.QUEUED;
+	private volatile LocalDateTime finishedAt;
+	private volatile String errorMessage;
+
+	public UnitTaskImportJob(String jobId, String fileName, boolean replace, String owner, Path file) {
+		this.jobId = jobId;
+		this.fileName = fileName;
+		this.replace = replace;
+		this.owner = owner;
+		this.file = file;
+	}
+
+	public long getRowsRead() {
+		return rowsRead.get();
+	}
+
+	/**
+	 * 등록된 행 수 (트랜잭션이 커밋되기 전에는 전송한 행 수, 실패하면 모두 취소됨)
+	 */
+	public long getRowsInserted() {
+		return rowsInserted.get();
+	}
+
+	public long getRowsRejected() {
+		return rowsRejected.get();
+	}
+
+	public synchronized List<RejectedRow> getRejectedRows() {
+		return List.copyOf(rejectedRows);
+	}
+
+	void addRead() {
+		rowsRead.incrementAndGet();
+	}
+
+	void addInserted(long rows) {
+		rowsInserted.addAndGet(rows);
+	}
+
+	synchronized void reject(String sheet, int rowNumber, String reason) {
+		rowsRejected.incrementAndGet();
+		if (rejectedRows.size() < MAX_REJECTED_SAMPLES) {
+			rejectedRows.add(new RejectedRow(sheet, rowNumber, reason));
+		}
+	}
+}
@@ -0,0 +1,222 @@
+package com.mysite.dasan.excel;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Unit_Task xlsx 가져오기 작업 서비스
+ * 업로드 파일을 로컬 디스크에 저장한 뒤 단일 작업 스레드에서 SAX 방식으로 읽어, 행마다 검증하고
+ * MyBatis 배치 실행기로 batchSize 행마다 전송합니다. 행을 모아 두지 않으므로 파일 크기와 관계없이 힙 사용량이 일정합니다.
+ * 파일 전체를 한 트랜잭션으로 등록하므로 DB 오류(중복 id 등)가 나면 모두 취소되며,
+ * replace 이면 같은 트랜잭션에서 기존 행을 먼저 삭제합니다.
+ */
+@Service
+public class UnitTaskImportService {
+
+	private static final Logger logger = LoggerFactory.getLogger(UnitTaskImportService.class);
+
+	private final SqlSessionTemplate batchSqlSession;
+	private final TransactionTemplate transaction;
+	private final Path storageDir;
+	private final int batchSize;
+	private final int maxLabelLength;
+	private final long retentionMinutes;
+	private final ThreadPoolExecutor executor;
+	private final Map<String, UnitTaskImportJob> jobs = new ConcurrentHashMap<>();
+
+	public UnitTaskImportService(SqlSessionFactory sqlSessionFactory, PlatformTransactionManager transactionManager,
+			@Value("${excel.import.storage-dir:${java.io.tmpdir}/dasan-import-jobs}") String storageDir,
+			@Value("${excel.import.batch-size:1000}") int batchSize,
+			@Value("${excel.import.max-label-length:255}") int maxLabelLength,
+			@Value("${excel.import.queue-capacity:5}") int queueCapacity,
+			@Value("${excel.job.retention-minutes:60}") long retentionMinutes) throws IOException {
+		this.batchSqlSession = new SqlSessionTemplate(sqlSessionFactory, ExecutorType.BATCH);
+		this.transaction = new TransactionTemplate(transactionManager);
+		this.storageDir = Files.createDirectories(Paths.get(storageDir));
+		this.batchSize = Math.max(1, batchSize);
+		this.maxLabelLength = maxLabelLength;
+		this.retentionMinutes = retentionMinutes;
+		// 같은 테이블에 쓰는 작업이므로 한 번에 하나씩 실행
+		this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+				runnable -> {
+					Thread thread = new Thread(runnable, "unit-task-import");
+					thread.setDaemon(true);
+					return thread;
+				});
+		deleteStaleFiles();
+	}
+
+	/**
+	 * 가져오기 작업 등록 (업로드 파일은 작업이 끝나면 삭제)
+	 * @throws ExportRejectedException 작업 대기열이 가득 찬 경우
+	 */
+	public UnitTaskImportJob submit(InputStream upload, String fileName, boolean replace, String owner) throws IOException {
+		String jobId = UUID.randomUUID().toString();
+		Path file = storageDir.resolve(jobId + ".xlsx");
+		try {
+			Files.copy(upload, file, StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException | RuntimeException e) {
+			deleteQuietly(file);
+			throw e;
+		}
+		UnitTaskImportJob job = new UnitTaskImportJob(jobId, fileName, replace, owner, file);
+		jobs.put(jobId, job);
+		try {
+			executor.execute(() -> run(job));
+		} catch (RejectedExecutionException e) {
+			jobs.remove(jobId);
+			deleteQuietly(file);
+			logger.warn("Import job queue is full, rejecting import for user: {}", owner);
+			throw new ExportRejectedException("대기 중인 가져오기 작업이 너무 많습니다. 잠시 후 다시 시도해 주세요.", 30);
+		}
+		logger.info("Import job {} submitted by {} (file: {}, replace: {})", jobId, owner, fileName, replace);
+		return job;
+	}
+
+	/**
+	 * 작업 조회 (없거나 만료된 경우 null)
+	 */
+	public UnitTaskImportJob getJob(String jobId) {
+		return jobs.get(jobId);
+	}
+
+	private void run(UnitTaskImportJob job) {
+		job.setPhase(UnitTaskImportJob.Phase.LOADING);
+		try {
+			transaction.executeWithoutResult(status -> {
+				UnitTaskMapper batchMapper = batchSqlSession.getMapper(UnitTaskMapper.class);
+				if (job.isReplace()) {
+					batchMapper.deleteAllUnitTasks();
+				}
+				int[] pending = new int[1];
+				try {
+					UnitTaskXlsxReader.read(job.getFile(), (sheet, rowNumber, values) -> {
+						job.addRead();
+						String error = validate(values);
+						if (error != null) {
+							job.reject(sheet, rowNumber, error);
+							return;
+						}
+						// 배치 결과가 flush 전까지 파라미터 객체를 참조하므로 값 배열 대신 행마다 새 객체로 전달
+						batchMapper.insertUnitTask(Long.parseLong(values[0].trim()), toTask(values));
+						if (++pending[0] == batchSize) {
+							batchSqlSession.flushStatements();
+							job.addInserted(pending[0]);
+							pending[0] = 0;
+						}
+					});
+				} catch (IOException e) {
+					throw new IllegalStateException(e);
+				}
+				batchSqlSession.flushStatements();
+				job.addInserted(pending[0]);
+			});
+			job.setPhase(UnitTaskImportJob.Phase.COMPLETED);
+			logger.info("Import job {} completed: {} rows read, {} inserted, {} rejected",
+					job.getJobId(), job.getRowsRead(), job.getRowsInserted(), job.getRowsRejected());
+		} catch (Exception e) {
+			logger.error("Import job {} failed", job.getJobId(), e);
+			job.setErrorMessage(e instanceof IllegalArgumentException ? e.getMessage() : "가져오기 중 오류가 발생하여 모두 취소되었습니다: " + rootMessage(e));
+			job.setPhase(UnitTaskImportJob.Phase.FAILED);
+		} finally {
+			job.setFinishedAt(LocalDateTime.now());
+			deleteQuietly(job.getFile());
+		}
+	}
+
+	/**
+	 * 행 검증 - id 는 정수, 라벨은 최대 길이 이하
+	 * @return 거부 사유 (문제가 없으면 null)
+	 */
+	private String validate(String[] values) {
+		String id = values[0];
+		if (id == null || id.isBlank()) {
+			return "id 가 없습니다.";
+		}
+		try {
+			Long.parseLong(id.trim());
+		} catch (NumberFormatException e) {
+			return "id 가 정수가 아닙니다: " + id;
+		}
+		for (int i = 1; i < values.length; i++) {
+			if (values[i] != null && values[i].length() > maxLabelLength) {
+				return ExcelService.EXCEL_HEADERS[i] + " 값이 " + maxLabelLength + "자를 넘습니다.";
+			}
+		}
+		return null;
+	}
+
+	private static UnitTaskVO toTask(String[] values) {
+		UnitTaskVO task = new UnitTaskVO();
+		task.setLevel1(values[1]);
+		task.setLevel2(values[2]);
+		task.setLevel3(values[3]);
+		task.setLevel4(values[4]);
+		task.setLevel5(values[5]);
+		task.setLevel6(values[6]);
+		task.setDepartment(values[7]);
+		return task;
+	}
+
+	private static String rootMessage(Throwable e) {
+		Throwable root = e;
+		while (root.getCause() != null) {
+			root = root.getCause();
+		}
+		return root.getMessage();
+	}
+
+	/**
+	 * 보관 기간이 지난 작업 정리
+	 */
+	@Scheduled(fixedDelayString = "${excel.job.cleanup-interval-ms:60000}")
+	public void purgeExpiredJobs() {
+		LocalDateTime threshold = LocalDateTime.now().minusMinutes(retentionMinutes);
+		jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(threshold));
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+
+	private void deleteStaleFiles() throws IOException {
+		try (Stream<Path> files = Files.list(storageDir)) {
+			files.filter(path -> path.getFileName().toString().endsWith(".xlsx")).forEach(this::deleteQuietly);
+		}
+	}
+
+	private void deleteQuietly(Path file) {
+		try {
+			Files.deleteIfExists(file);
+		} catch (IOException e) {
+			logger.warn("Failed to delete import file: {}", file, e);
+		}
+	}
+}
@@ -1,5 +1,6 @@
 package com.mysite.dasan.excel;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import org.apache.ibatis.annotations.Mapper;
@@ -11,6 +12,20 @@ import org.apache.ibatis.session.ResultHandler;
  */
 @Mapper
 public interface UnitTaskMapper {
-	 List<UnitTaskVO> selectAllUnitTask(int rowCount);
-	 void streamAllUnitTasks(ResultHandler<UnitTaskVO> handler, @Param("rowCount") int rowCount);
+	 List<UnitTaskVO> selectAllUnitTask(@Param("filter") UnitTaskFilter filter, @Param("rowCount") int rowCount);
+	 void streamAllUnitTasks(ResultHandler<UnitTaskVO> handler, @Param("filter") UnitTaskFilter filter, @Param("rowCount") int rowCount);
+	 UnitTaskIdRange selectIdRange(@Param("filter") UnitTaskFilter filter, @Param("rowCount") int rowCount);
+	 void streamUnitTasksByIdRange(ResultHandler<UnitTaskVO> handler, @Param("filter") UnitTaskFilter filter,
+			 @Param("fromId") long fromId, @Param("toId") long toId);
+	 int countUnitTasks(@Param("filter") UnitTaskFilter filter, @Param("limit") int limit);
+	 UnitTaskDataVersion selectDataVersion();
+	 Long selectIdWatermark(@Param("afterId") Long afterId, @Param("rowCount") int rowCount);
+	 void streamUnitTasksAfterId(ResultHandler<UnitTaskVO> handler, @Param("afterId") Long afterId, @Param("toId") long toId);
+	 LocalDateTime selectCurrentTimestamp();
+	 UnitTaskWatermark selectModifiedWatermark(@Param("modifiedColumn") String modifiedColumn,
+			 @Param("after") UnitTaskWatermark after, @Param("before") LocalDateTime before, @Param("rowCount") int rowCount);
+	 void streamUnitTasksModifiedAfter(ResultHandler<UnitTaskVO> handler, @Param("modifiedColumn") String modifiedColumn,
+			 @Param("after") UnitTaskWatermark after, @Param("until") UnitTaskWatermark until);
+	 void insertUnitTask(@Param("id") long id, @Param("task") UnitTaskVO task);
+	 int deleteAllUnitTasks();
 }
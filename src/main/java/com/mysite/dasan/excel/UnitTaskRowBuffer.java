@@ -0,0 +1,160 @@
+package com.mysite.dasan.excel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 메모리 방식 내보내기용 열 단위(columnar) 행 버퍼
+ * 반복이 많은 계층 라벨(LEVEL_1~6, DEPARTMENT)은 열마다 문자열 사전을 두고 행에는 int 코드만 저장하며,
+ * id 는 별도의 long 배열에 저장합니다. 행마다 UnitTaskVO 나 String[] 을 보관하지 않으므로
+ * 행당 힙 사용량이 객체 헤더와 중복 문자열 없이 수십 바이트 수준으로 줄어듭니다.
+ */
+public class UnitTaskRowBuffer {
+
+	public static final int COLUMN_COUNT = 8;
+	// id 를 제외한 사전 인코딩 열 수
+	private static final int LABEL_COLUMN_COUNT = COLUMN_COUNT - 1;
+	private static final int DEFAULT_CAPACITY = 1024;
+	// 요청 행 수가 실제 데이터보다 훨씬 클 수 있으므로 처음부터 크게 할당하지 않음
+	private static final int MAX_INITIAL_CAPACITY = 64 * 1024;
+	// null 과 빈 문자열은 모두 빈 셀로 기록되므로 같은 코드 사용
+	private static final int EMPTY_CODE = 0;
+
+	private final List<Map<String, Integer>> codesByValue = new ArrayList<>(LABEL_COLUMN_COUNT);
+	private final List<List<String>> dictionaries = new ArrayList<>(LABEL_COLUMN_COUNT);
+	private final int[][] codes = new int[LABEL_COLUMN_COUNT][];
+	private long[] ids;
+	// 숫자가 아닌 id 가 나온 경우에만 생성 (해당 행의 원본 id 보관)
+	private String[] nonNumericIds;
+	private int size;
+
+	public UnitTaskRowBuffer() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * @param expectedRows 예상 행 수 (0 이하이면 기본 크기에서 필요할 때마다 확장)
+	 */
+	public UnitTaskRowBuffer(int expectedRows) {
+		int capacity = expectedRows > 0 ? Math.min(expectedRows, MAX_INITIAL_CAPACITY) : DEFAULT_CAPACITY;
+		ids = new long[capacity];
+		for (int column = 0; column < LABEL_COLUMN_COUNT; column++) {
+			codes[column] = new int[capacity];
+			Map<String, Integer> codeMap = new HashMap<>();
+			List<String> dictionary = new ArrayList<>();
+			codeMap.put("", EMPTY_CODE);
+			dictionary.add("");
+			codesByValue.add(codeMap);
+			dictionaries.add(dictionary);
+		}
+	}
+
+	/**
+	 * 조회 결과 한 건을 버퍼 끝에 추가
+	 */
+	public void add(UnitTaskVO task) {
+		if (size == ids.length) {
+			grow();
+		}
+		setId(size, task.getId());
+		codes[0][size] = encode(0, task.getLevel1());
+		codes[1][size] = encode(1, task.getLevel2());
+		codes[2][size] = encode(2, task.getLevel3());
+		codes[3][size] = encode(3, task.getLevel4());
+		codes[4][size] = encode(4, task.getLevel5());
+		codes[5][size] = encode(5, task.getLevel6());
+		codes[6][size] = encode(6, task.getDepartment());
+		size++;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * 행의 셀 값 (0번 열은 id, 1~7번 열은 LEVEL_1~6, DEPARTMENT) - 값이 없으면 빈 문자열
+	 */
+	public String getValue(int row, int column) {
+		if (column == 0) {
+			return getId(row);
+		}
+		return dictionaries.get(column - 1).get(codes[column - 1][row]);
+	}
+
+	public String getId(int row) {
+		if (nonNumericIds != null && nonNumericIds[row] != null) {
+			return nonNumericIds[row];
+		}
+		return Long.toString(ids[row]);
+	}
+
+	/**
+	 * 열별 서로 다른 값의 수 (빈 값 포함, 1번 열부터)
+	 */
+	public int getDistinctValueCount(int column) {
+		return dictionaries.get(column - 1).size();
+	}
+
+	private void setId(int row, String id) {
+		if (isCanonicalLong(id)) {
+			try {
+				ids[row] = Long.parseLong(id);
+				return;
+			} catch (NumberFormatException e) {
+				// long 범위를 넘는 id 는 원본 문자열로 보관
+			}
+		}
+		if (nonNumericIds == null) {
+			nonNumericIds = new String[ids.length];
+		}
+		nonNumericIds[row] = id != null ? id : "";
+	}
+
+	/**
+	 * long 으로 저장했다가 다시 문자열로 바꿔도 같은 값이 되는지 (부호 '+', 앞자리 0 이 없는 정수)
+	 */
+	private static boolean isCanonicalLong(String id) {
+		if (id == null || id.isEmpty()) {
+			return false;
+		}
+		int start = id.charAt(0) == '-' ? 1 : 0;
+		if (start == id.length() || (id.charAt(start) == '0' && id.length() > 1)) {
+			return false;
+		}
+		for (int i = start; i < id.length(); i++) {
+			char c = id.charAt(i);
+			if (c < '0' || c > '9') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private int encode(int column, String value) {
+		if (value == null || value.isEmpty()) {
+			return EMPTY_CODE;
+		}
+		Integer code = codesByValue.get(column).get(value);
+		if (code == null) {
+			List<String> dictionary = dictionaries.get(column);
+			code = dictionary.size();
+			dictionary.add(value);
+			codesByValue.get(column).put(value, code);
+		}
+		return code;
+	}
+
+	private void grow() {
+		int capacity = ids.length + (ids.length >> 1) + 1;
+		ids = Arrays.copyOf(ids, capacity);
+		for (int column = 0; column < LABEL_COLUMN_COUNT; column++) {
+			codes[column] = Arrays.copyOf(codes[column], capacity);
+		}
+		if (nonNumericIds != null) {
+			nonNumericIds = Arrays.copyOf(nonNumericIds, capacity);
+		}
+	}
+}
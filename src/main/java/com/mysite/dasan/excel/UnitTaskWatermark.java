@@ -0,0 +1,85 @@
+package com.mysite.dasan.excel;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+import lombok.Getter;
+
+/**
+ * 증분 내보내기 기준점 (이 기준점 이후의 행만 내보냄)
+ * id 기준점은 마지막으로 내보낸 id 이고, 수정 시각 기준점은 마지막으로 내보낸 행의 (수정 시각, id) 입니다.
+ * 같은 수정 시각을 가진 행이 여러 건이어도 빠지거나 중복되지 않도록 id 를 함께 비교합니다.
+ * 문자열 형식은 id 기준점이 "123", 수정 시각 기준점이 "2024-01-31T09:30:00.123456~123" 입니다.
+ */
+@Getter
+public class UnitTaskWatermark {
+
+	private static final char SEPARATOR = '~';
+
+	/**
+	 * 기준점 종류
+	 */
+	public enum Type {
+		// 증가하는 id 기준 - 새로 추가된 행만 대상
+		ID,
+		// 수정 시각 컬럼 기준 - 추가 및 수정된 행이 대상
+		MODIFIED;
+
+		/**
+		 * 요청 파라미터 값(id, modified)에 해당하는 종류
+		 * @return 종류 (지원하지 않는 값이면 null)
+		 */
+		public static Type of(String value) {
+			for (Type type : values()) {
+				if (type.name().equalsIgnoreCase(value)) {
+					return type;
+				}
+			}
+			return null;
+		}
+	}
+
+	private final Type type;
+	private final LocalDateTime modifiedAt;
+	private final long id;
+
+	public UnitTaskWatermark(long id) {
+		this.type = Type.ID;
+		this.modifiedAt = null;
+		this.id = id;
+	}
+
+	/**
+	 * 수정 시각 기준점 (MyBatis 결과 매핑에서도 사용)
+	 */
+	public UnitTaskWatermark(LocalDateTime modifiedAt, long id) {
+		this.type = Type.MODIFIED;
+		this.modifiedAt = modifiedAt;
+		this.id = id;
+	}
+
+	/**
+	 * 응답 헤더로 전달받은 기준점 문자열 해석
+	 * @throws IllegalArgumentException 종류에 맞지 않는 형식인 경우
+	 */
+	public static UnitTaskWatermark parse(Type type, String value) {
+		try {
+			if (type == Type.ID) {
+				return new UnitTaskWatermark(Long.parseLong(value.trim()));
+			}
+			int separator = value.lastIndexOf(SEPARATOR);
+			if (separator < 0) {
+				throw new IllegalArgumentException("Modified watermark must be '<timestamp>~<id>': " + value);
+			}
+			return new UnitTaskWatermark(LocalDateTime.parse(value.substring(0, separator).trim()),
+					Long.parseLong(value.substring(separator + 1).trim()));
+		} catch (NumberFormatException | DateTimeParseException e) {
+			throw new IllegalArgumentException("Invalid " + type.name().toLowerCase() + " watermark: " + value, e);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return type == Type.ID ? Long.toString(id) : modifiedAt.toString() + SEPARATOR + id;
+	}
+}
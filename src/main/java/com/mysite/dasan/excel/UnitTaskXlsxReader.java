@@ -0,0 +1,145 @@
+package com.mysite.dasan.excel;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.apache.poi.openxml4j.exceptions.InvalidOperationException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler.SheetContentsHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+/**
+ * 내보내기 형식(EXCEL_HEADERS 열 구성)의 xlsx 를 SAX 이벤트 방식으로 읽는 읽기 도구
+ * XSSFWorkbook 처럼 시트 전체를 메모리에 올리지 않고 행마다 값 배열을 전달하므로, 행 수와 관계없이
+ * 힙 사용량이 공유 문자열 테이블 크기 수준으로 유지됩니다. (내보내기 파일은 대부분 인라인 문자열 사용)
+ * 모든 시트를 순서대로 읽으며, 시트마다 첫 행은 EXCEL_HEADERS 와 같은 머리글이어야 합니다.
+ */
+public class UnitTaskXlsxReader {
+
+	/**
+	 * 데이터 행 처리기
+	 */
+	public interface RowHandler {
+		/**
+		 * @param sheetName 시트 이름
+		 * @param rowNumber 시트의 행 번호 (머리글이 1)
+		 * @param values 열 값 (EXCEL_HEADERS 순서, 빈 셀은 null) - 다음 행에서 재사용하므로 보관하지 말 것
+		 */
+		void handleRow(String sheetName, int rowNumber, String[] values);
+	}
+
+	private UnitTaskXlsxReader() {
+	}
+
+	/**
+	 * 파일의 모든 시트를 읽어 데이터 행마다 handler 호출 (빈 행은 건너뜀)
+	 * @throws IllegalArgumentException xlsx 파일이 아니거나 머리글이 내보내기 형식과 다른 경우
+	 */
+	public static void read(Path file, RowHandler handler) throws IOException {
+		try (OPCPackage pkg = OPCPackage.open(file.toFile(), PackageAccess.READ)) {
+			XSSFReader reader = new XSSFReader(pkg);
+			ReadOnlySharedStringsTable sharedStrings = new ReadOnlySharedStringsTable(pkg, false);
+			XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+			while (sheets.hasNext()) {
+				try (InputStream sheet = sheets.next()) {
+					RowCollector collector = new RowCollector(sheets.getSheetName(), handler);
+					XMLReader parser = XMLHelper.newXMLReader();
+					parser.setContentHandler(new XSSFSheetXMLHandler(reader.getStylesTable(), null, sharedStrings,
+							collector, new PlainNumberFormatter(), false));
+					parser.parse(new InputSource(sheet));
+					if (!collector.headerChecked) {
+						throw new IllegalArgumentException("머리글 행이 없는 시트입니다: " + sheets.getSheetName());
+					}
+				}
+			}
+		} catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+			throw new IllegalArgumentException("xlsx 파일을 읽을 수 없습니다: " + e.getMessage(), e);
+		} catch (InvalidOperationException e) {
+			throw new IllegalArgumentException("xlsx 파일이 아닙니다.", e);
+		}
+	}
+
+	/**
+	 * 한 시트의 셀 이벤트를 행 단위 값 배열로 모으는 처리기
+	 */
+	private static class RowCollector implements SheetContentsHandler {
+
+		private final String sheetName;
+		private final RowHandler handler;
+		private final String[] values = new String[ExcelService.EXCEL_HEADERS.length];
+		private boolean headerChecked;
+		private boolean rowHasValue;
+		private int nextColumn;
+
+		RowCollector(String sheetName, RowHandler handler) {
+			this.sheetName = sheetName;
+			this.handler = handler;
+		}
+
+		@Override
+		public void startRow(int rowNum) {
+			Arrays.fill(values, null);
+			rowHasValue = false;
+			nextColumn = 0;
+		}
+
+		@Override
+		public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+			// r 속성이 없는 셀(직접 스트리밍 방식 내보내기)은 이전 셀 다음 열
+			int column = cellReference != null ? new CellReference(cellReference).getCol() : nextColumn;
+			nextColumn = column + 1;
+			if (column < values.length && formattedValue != null && !formattedValue.isEmpty()) {
+				values[column] = formattedValue;
+				rowHasValue = true;
+			}
+		}
+
+		@Override
+		public void endRow(int rowNum) {
+			if (!headerChecked) {
+				for (int i = 0; i < values.length; i++) {
+					if (!ExcelService.EXCEL_HEADERS[i].equalsIgnoreCase(values[i] != null ? values[i].trim() : "")) {
+						throw new IllegalArgumentException("머리글이 내보내기 형식과 다릅니다 (" + sheetName + " 시트 "
+								+ (i + 1) + "번째 열: " + values[i] + ", 필요: " + ExcelService.EXCEL_HEADERS[i] + ")");
+					}
+				}
+				headerChecked = true;
+				return;
+			}
+			if (rowHasValue) {
+				handler.handleRow(sheetName, rowNum + 1, values);
+			}
+		}
+
+		@Override
+		public void headerFooter(String text, boolean isHeader, String tagName) {
+		}
+	}
+
+	/**
+	 * 숫자 셀을 표시 형식 대신 원래 값으로 변환 (일반 형식의 큰 id 가 1.23457E+12 처럼 바뀌지 않도록)
+	 */
+	private static class PlainNumberFormatter extends DataFormatter {
+
+		@Override
+		public String formatRawCellContents(double value, int formatIndex, String formatString) {
+			return BigDecimal.valueOf(value).stripTrailingZeros().toPlainString();
+		}
+	}
+}
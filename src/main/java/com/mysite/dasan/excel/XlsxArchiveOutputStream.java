@@ -0,0 +1,110 @@
+package com.mysite.dasan.excel;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+
+import org.apache.commons.compress.archivers.ArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+
+/**
+ * POI 통합 문서(XSSF, SXSSF) 저장에 압축 정책을 적용하는 zip 출력 스트림
+ * 모든 파트에 압축 수준을 적용하고, 병렬 압축을 사용하면 시트 XML 파트를 블록 병렬로 압축해 임시 파일에 모은 뒤
+ * 압축된 그대로(raw) 엔트리로 기록합니다. (POI 는 파트를 putArchiveEntry / write / closeArchiveEntry 순서로 기록)
+ */
+class XlsxArchiveOutputStream extends ZipArchiveOutputStream {
+
+	private final XlsxCompression compression;
+	private final CRC32 crc = new CRC32();
+
+	// 병렬 압축 중인 시트 파트 (없으면 일반 엔트리)
+	private ZipArchiveEntry parallelEntry;
+	private Path parallelFile;
+	private OutputStream parallelFileOut;
+	private ParallelDeflaterOutputStream parallelOut;
+	private long size;
+
+	XlsxArchiveOutputStream(OutputStream out, XlsxCompression compression) {
+		super(out);
+		this.compression = compression;
+		setLevel(compression.getLevel());
+	}
+
+	@Override
+	public void putArchiveEntry(ArchiveEntry archiveEntry) throws IOException {
+		if (!compression.isParallelPart(archiveEntry.getName())) {
+			super.putArchiveEntry(archiveEntry);
+			return;
+		}
+		parallelEntry = new ZipArchiveEntry(archiveEntry.getName());
+		parallelFile = Files.createTempFile("xlsx-part", ".deflate");
+		parallelFileOut = new BufferedOutputStream(Files.newOutputStream(parallelFile));
+		parallelOut = compression.newParallelDeflater(parallelFileOut);
+		crc.reset();
+		size = 0;
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		if (parallelOut == null) {
+			super.write(b, off, len);
+			return;
+		}
+		parallelOut.write(b, off, len);
+		crc.update(b, off, len);
+		size += len;
+	}
+
+	@Override
+	public void closeArchiveEntry() throws IOException {
+		if (parallelOut == null) {
+			super.closeArchiveEntry();
+			return;
+		}
+		try {
+			try {
+				parallelOut.finish();
+			} finally {
+				parallelFileOut.close();
+			}
+			parallelEntry.setMethod(ZipEntry.DEFLATED);
+			parallelEntry.setCrc(crc.getValue());
+			parallelEntry.setSize(size);
+			parallelEntry.setCompressedSize(Files.size(parallelFile));
+			try (InputStream in = Files.newInputStream(parallelFile)) {
+				addRawArchiveEntry(parallelEntry, in);
+			}
+		} finally {
+			discardParallelEntry();
+		}
+	}
+
+	/**
+	 * 저장 중 오류로 닫히지 않은 시트 파트의 임시 파일도 삭제
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			super.close();
+		} finally {
+			if (parallelOut != null) {
+				parallelFileOut.close();
+				discardParallelEntry();
+			}
+		}
+	}
+
+	private void discardParallelEntry() throws IOException {
+		Files.deleteIfExists(parallelFile);
+		parallelEntry = null;
+		parallelFile = null;
+		parallelFileOut = null;
+		parallelOut = null;
+	}
+}
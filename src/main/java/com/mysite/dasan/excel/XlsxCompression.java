@@ -0,0 +1,104 @@
+package com.mysite.dasan.excel;
+
+import java.io.OutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+
+/**
+ * xlsx(zip) 출력 압축 정책
+ * 압축 수준(0 이면 압축하지 않고 저장만, 1 이 가장 빠름, -1 은 기본 수준 6)과 시트 XML 파트의 블록 병렬 압축 여부를 정합니다.
+ * 병렬 압축은 시트 XML 을 blockSize 단위로 나누어 앞 블록의 마지막 32KB 를 사전으로 주고 여러 스레드에서 압축한 뒤
+ * 순서대로 이어 붙이므로(pigz 방식) 결과는 하나의 일반 deflate 스트림이며 압축률은 순차 압축과 거의 같습니다.
+ * 압축 스레드 풀은 모든 내보내기가 공유하며, 풀이 가득 차면 요청한 스레드에서 직접 압축합니다.
+ */
+public class XlsxCompression implements AutoCloseable {
+
+	/**
+	 * 기본 수준 순차 압축 (기존 ZipOutputStream 과 같은 동작)
+	 */
+	public static final XlsxCompression DEFAULT = new XlsxCompression(Deflater.DEFAULT_COMPRESSION, 1, 512 * 1024);
+
+	private static final String WORKSHEET_PREFIX = "xl/worksheets/";
+
+	private final int level;
+	private final int threads;
+	private final int blockSize;
+	private final ThreadPoolExecutor executor;
+
+	/**
+	 * @param level deflate 압축 수준 (-1 ~ 9)
+	 * @param threads 시트 파트 병렬 압축 스레드 수 (1 이하이면 순차 압축)
+	 * @param blockSize 병렬 압축 블록 크기 (바이트)
+	 */
+	public XlsxCompression(int level, int threads, int blockSize) {
+		if (level < Deflater.DEFAULT_COMPRESSION || level > Deflater.BEST_COMPRESSION) {
+			throw new IllegalArgumentException("압축 수준은 -1 ~ 9 사이여야 합니다: " + level);
+		}
+		this.level = level;
+		this.threads = Math.max(1, threads);
+		// 사전(32KB)보다 작은 블록은 압축률만 떨어뜨림
+		this.blockSize = Math.max(64 * 1024, blockSize);
+		this.executor = isParallelLevel(level) && this.threads > 1 ? createExecutor(this.threads) : null;
+	}
+
+	public int getLevel() {
+		return level;
+	}
+
+	public int getThreads() {
+		return threads;
+	}
+
+	/**
+	 * 병렬 압축을 사용하는지 (저장만 하는 수준 0 은 압축 비용이 없으므로 순차 처리)
+	 */
+	public boolean isParallel() {
+		return executor != null;
+	}
+
+	/**
+	 * 병렬 압축 대상 파트인지 (행 데이터가 들어 있는 시트 XML)
+	 */
+	public boolean isParallelPart(String entryName) {
+		return isParallel() && entryName.startsWith(WORKSHEET_PREFIX);
+	}
+
+	/**
+	 * 파트 1개를 병렬로 압축하여 out 에 raw deflate 데이터로 기록하는 스트림
+	 * (블록 버퍼는 스레드 수 + 1 개까지만 동시에 유지)
+	 */
+	ParallelDeflaterOutputStream newParallelDeflater(OutputStream out) {
+		return new ParallelDeflaterOutputStream(out, level, blockSize, threads + 1, executor);
+	}
+
+	@Override
+	public void close() {
+		if (executor != null) {
+			executor.shutdownNow();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "level=" + level + ", threads=" + threads + ", blockSize=" + blockSize;
+	}
+
+	private static boolean isParallelLevel(int level) {
+		return level != Deflater.NO_COMPRESSION;
+	}
+
+	private static ThreadPoolExecutor createExecutor(int threads) {
+		AtomicInteger threadNumber = new AtomicInteger();
+		return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(threads * 4),
+				runnable -> {
+					Thread thread = new Thread(runnable, "xlsx-deflate-" + threadNumber.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				},
+				// 대기열이 가득 차거나 종료 중이면 기록 중인 스레드가 직접 압축 (자연스러운 역압, 블록 유실 없음)
+				(runnable, pool) -> runnable.run());
+	}
+}
@@ -0,0 +1,31 @@
+package com.mysite.dasan.excel;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * xlsx 출력 압축 정책 설정
+ */
+@Configuration
+public class XlsxCompressionConfig {
+
+	private static final Logger logger = LoggerFactory.getLogger(XlsxCompressionConfig.class);
+
+	/**
+	 * 모든 xlsx 내보내기(메모리, 디스크, 직접 스트리밍)가 공유하는 압축 정책 빈 (종료 시 압축 스레드 풀 정리)
+	 * 스레드 수 기본값은 1 (병렬 압축 사용 안 함)이며, 0 이하이면 가용 코어의 절반을 사용합니다.
+	 */
+	@Bean
+	public XlsxCompression xlsxCompression(
+			@Value("${excel.export.compression.level:-1}") int level,
+			@Value("${excel.export.compression.threads:1}") int threads,
+			@Value("${excel.export.compression.block-size:524288}") int blockSize) {
+		int compressionThreads = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+		XlsxCompression compression = new XlsxCompression(level, compressionThreads, blockSize);
+		logger.info("Xlsx compression: {} (parallel: {})", compression, compression.isParallel());
+		return compression;
+	}
+}
@@ -0,0 +1,269 @@
+package com.mysite.dasan.excel;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 임시 파일 없이 xlsx(OOXML) 패키지를 출력 스트림에 직접 기록하는 작성기
+ * 시트 XML을 행 단위로 zip 엔트리에 바로 내보내고, 워크북 메타 파트는 close 시점에 기록합니다.
+ * 전달받은 출력 스트림은 닫지 않습니다.
+ */
+public class XlsxStreamWriter implements Closeable {
+
+	private static final String XML_DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n";
+	private static final String NS_MAIN = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+	private static final String NS_REL = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+	private static final String NS_PKG_REL = "http://schemas.openxmlformats.org/package/2006/relationships";
+	private static final int WRITER_BUFFER_SIZE = 64 * 1024;
+	private static final int FLUSH_INTERVAL_ROWS = 5000;
+
+	private final XlsxZipOutputStream zip;
+	private final Writer writer;
+	private final List<String> sheetNames = new ArrayList<>();
+
+	private boolean sheetOpen;
+	private boolean rowOpen;
+	private int rowNum;
+	private boolean finished;
+
+	/**
+	 * XlsxStreamWriter 생성자 (기본 수준 순차 압축)
+	 * @param out xlsx 바이트를 기록할 출력 스트림 (예: HttpServletResponse 출력 스트림)
+	 */
+	public XlsxStreamWriter(OutputStream out) {
+		this(out, XlsxCompression.DEFAULT);
+	}
+
+	/**
+	 * XlsxStreamWriter 생성자
+	 * @param out xlsx 바이트를 기록할 출력 스트림 (예: HttpServletResponse 출력 스트림)
+	 * @param compression 압축 수준과 시트 병렬 압축 정책
+	 */
+	public XlsxStreamWriter(OutputStream out, XlsxCompression compression) {
+		this.zip = new XlsxZipOutputStream(out, compression);
+		this.writer = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8), WRITER_BUFFER_SIZE);
+	}
+
+	/**
+	 * 새 시트 엔트리를 시작하고 열 너비를 지정합니다.
+	 * @param sheetName 시트 이름
+	 * @param columnCount 열 개수
+	 * @param columnWidth 열 너비 (POI setColumnWidth 와 동일한 1/256 문자 단위)
+	 */
+	public void startSheet(String sheetName, int columnCount, int columnWidth) throws IOException {
+		if (sheetOpen) {
+			endSheet();
+		}
+		sheetNames.add(sheetName);
+		zip.putNextEntry("xl/worksheets/sheet" + sheetNames.size() + ".xml");
+		writer.write(XML_DECLARATION);
+		writer.write("<worksheet xmlns=\"" + NS_MAIN + "\" xmlns:r=\"" + NS_REL + "\">");
+		if (columnCount > 0) {
+			writer.write("<cols><col min=\"1\" max=\"" + columnCount + "\" width=\"" + (columnWidth / 256.0)
+					+ "\" customWidth=\"1\"/></cols>");
+		}
+		writer.write("<sheetData>");
+		sheetOpen = true;
+		rowNum = 0;
+		flush();
+	}
+
+	/**
+	 * 현재 시트에 새 행을 시작합니다.
+	 */
+	public void startRow() throws IOException {
+		if (rowOpen) {
+			endRow();
+		}
+		rowNum++;
+		writer.write("<row r=\"");
+		writer.write(Integer.toString(rowNum));
+		writer.write("\">");
+		rowOpen = true;
+	}
+
+	/**
+	 * 현재 행에 문자열 셀을 추가합니다. null 은 빈 문자열로 기록합니다.
+	 */
+	public void writeCell(String value) throws IOException {
+		if (value == null || value.isEmpty()) {
+			writer.write("<c t=\"inlineStr\"><is><t></t></is></c>");
+			return;
+		}
+		// 앞뒤 공백이 있는 경우 Excel 이 공백을 제거하지 않도록 preserve 지정
+		if (Character.isWhitespace(value.charAt(0)) || Character.isWhitespace(value.charAt(value.length() - 1))) {
+			writer.write("<c t=\"inlineStr\"><is><t xml:space=\"preserve\">");
+		} else {
+			writer.write("<c t=\"inlineStr\"><is><t>");
+		}
+		writeEscaped(value);
+		writer.write("</t></is></c>");
+	}
+
+	/**
+	 * 현재 행을 종료합니다.
+	 */
+	public void endRow() throws IOException {
+		writer.write("</row>");
+		rowOpen = false;
+		if (rowNum % FLUSH_INTERVAL_ROWS == 0) {
+			flush();
+		}
+	}
+
+	/**
+	 * 문자열 배열을 한 행으로 기록합니다.
+	 */
+	public void writeRow(String[] values) throws IOException {
+		startRow();
+		for (String value : values) {
+			writeCell(value);
+		}
+		endRow();
+	}
+
+	/**
+	 * 현재 시트에 기록된 행 수 (헤더 포함)
+	 */
+	public int getRowNum() {
+		return rowNum;
+	}
+
+	/**
+	 * 현재 시트 엔트리를 닫습니다.
+	 */
+	public void endSheet() throws IOException {
+		if (!sheetOpen) {
+			return;
+		}
+		if (rowOpen) {
+			endRow();
+		}
+		writer.write("</sheetData></worksheet>");
+		writer.flush();
+		zip.closeEntry();
+		sheetOpen = false;
+	}
+
+	/**
+	 * 지금까지 압축된 바이트를 하위 스트림으로 내보냅니다.
+	 */
+	public void flush() throws IOException {
+		writer.flush();
+		zip.flush();
+	}
+
+	/**
+	 * 워크북 메타 파트(워크북, 관계, 스타일, 콘텐츠 타입)를 기록하고 zip 을 마무리합니다.
+	 * 마무리까지 걸린 시간과 바이트를 집계할 수 있도록 close 전에 직접 호출할 수 있으며, 두 번 호출해도 한 번만 기록합니다.
+	 */
+	public void finish() throws IOException {
+		if (finished) {
+			return;
+		}
+		finished = true;
+		endSheet();
+		if (sheetNames.isEmpty()) {
+			startSheet("Sheet1", 0, 0);
+			endSheet();
+		}
+		writeWorkbookParts();
+		writer.flush();
+		zip.finish();
+		zip.flush();
+	}
+
+	/**
+	 * finish 와 같음 (하위 스트림은 닫지 않음)
+	 */
+	@Override
+	public void close() throws IOException {
+		finish();
+	}
+
+	private void writeWorkbookParts() throws IOException {
+		StringBuilder workbook = new StringBuilder(XML_DECLARATION)
+				.append("<workbook xmlns=\"").append(NS_MAIN).append("\" xmlns:r=\"").append(NS_REL).append("\"><sheets>");
+		StringBuilder workbookRels = new StringBuilder(XML_DECLARATION)
+				.append("<Relationships xmlns=\"").append(NS_PKG_REL).append("\">");
+		StringBuilder contentTypes = new StringBuilder(XML_DECLARATION)
+				.append("<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">")
+				.append("<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>")
+				.append("<Default Extension=\"xml\" ContentType=\"application/xml\"/>")
+				.append("<Override PartName=\"/xl/workbook.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>")
+				.append("<Override PartName=\"/xl/styles.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml\"/>");
+
+		for (int i = 1; i <= sheetNames.size(); i++) {
+			workbook.append("<sheet name=\"").append(escape(sheetNames.get(i - 1)))
+					.append("\" sheetId=\"").append(i).append("\" r:id=\"rId").append(i).append("\"/>");
+			workbookRels.append("<Relationship Id=\"rId").append(i)
+					.append("\" Type=\"").append(NS_REL).append("/worksheet\" Target=\"worksheets/sheet").append(i).append(".xml\"/>");
+			contentTypes.append("<Override PartName=\"/xl/worksheets/sheet").append(i)
+					.append(".xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>");
+		}
+		workbook.append("</sheets></workbook>");
+		workbookRels.append("<Relationship Id=\"rId").append(sheetNames.size() + 1)
+				.append("\" Type=\"").append(NS_REL).append("/styles\" Target=\"styles.xml\"/>")
+				.append("</Relationships>");
+		contentTypes.append("</Types>");
+
+		writeEntry("xl/workbook.xml", workbook.toString());
+		writeEntry("xl/_rels/workbook.xml.rels", workbookRels.toString());
+		writeEntry("xl/styles.xml", XML_DECLARATION
+				+ "<styleSheet xmlns=\"" + NS_MAIN + "\">"
+				+ "<fonts count=\"1\"><font><sz val=\"11\"/><name val=\"Calibri\"/></font></fonts>"
+				+ "<fills count=\"2\"><fill><patternFill patternType=\"none\"/></fill><fill><patternFill patternType=\"gray125\"/></fill></fills>"
+				+ "<borders count=\"1\"><border><left/><right/><top/><bottom/><diagonal/></border></borders>"
+				+ "<cellStyleXfs count=\"1\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\"/></cellStyleXfs>"
+				+ "<cellXfs count=\"1\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\"/></cellXfs>"
+				+ "</styleSheet>");
+		writeEntry("_rels/.rels", XML_DECLARATION
+				+ "<Relationships xmlns=\"" + NS_PKG_REL + "\">"
+				+ "<Relationship Id=\"rId1\" Type=\"" + NS_REL + "/officeDocument\" Target=\"xl/workbook.xml\"/>"
+				+ "</Relationships>");
+		writeEntry("[Content_Types].xml", contentTypes.toString());
+	}
+
+	private void writeEntry(String name, String content) throws IOException {
+		zip.putNextEntry(name);
+		writer.write(content);
+		writer.flush();
+		zip.closeEntry();
+	}
+
+	/**
+	 * XML 특수문자를 이스케이프하고 XML 1.0 에서 허용되지 않는 제어 문자는 제거하여 기록합니다.
+	 */
+	private void writeEscaped(String value) throws IOException {
+		int start = 0;
+		int length = value.length();
+		for (int i = 0; i < length; i++) {
+			char c = value.charAt(i);
+			String replacement;
+			switch (c) {
+				case '&' -> replacement = "&amp;";
+				case '<' -> replacement = "&lt;";
+				case '>' -> replacement = "&gt;";
+				case '"' -> replacement = "&quot;";
+				default -> replacement = (c < 0x20 && c != '\t' && c != '\n' && c != '\r') ? "" : null;
+			}
+			if (replacement != null) {
+				writer.write(value, start, i - start);
+				writer.write(replacement);
+				start = i + 1;
+			}
+		}
+		writer.write(value, start, length - start);
+	}
+
+	private static String escape(String value) {
+		return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+	}
+}
@@ -0,0 +1,325 @@
+package com.mysite.dasan.excel;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * 직접 스트리밍 xlsx 용 zip 작성기 (압축 정책 적용)
+ * 모든 엔트리를 DEFLATED 와 데이터 디스크립터로 기록하므로 크기를 미리 알 필요 없이 순서대로 스트리밍하며,
+ * 정책에 따라 시트 XML 은 블록 병렬 압축을 사용합니다. 4GB 를 넘는 엔트리, 오프셋은 java.util.zip.ZipOutputStream 과
+ * 같은 방식으로 ZIP64 레코드를 기록합니다. 전달받은 출력 스트림은 닫지 않습니다.
+ */
+class XlsxZipOutputStream extends OutputStream {
+
+	private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+	private static final int DATA_DESCRIPTOR_SIGNATURE = 0x08074b50;
+	private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+	private static final int ZIP64_END_SIGNATURE = 0x06064b50;
+	private static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+	private static final int END_SIGNATURE = 0x06054b50;
+	private static final int ZIP64_EXTRA_ID = 0x0001;
+	private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+	private static final int ZIP64_MAGIC_COUNT = 0xFFFF;
+	private static final int VERSION_DEFLATE = 20;
+	private static final int VERSION_ZIP64 = 45;
+	// 데이터 디스크립터 사용 + 파일명 UTF-8
+	private static final int FLAGS = 0x0008 | 0x0800;
+	private static final int METHOD_DEFLATED = 8;
+	private static final int DEFLATE_BUFFER_SIZE = 64 * 1024;
+
+	/**
+	 * 중앙 디렉터리에 기록할 엔트리 정보
+	 */
+	private static class Entry {
+		private final byte[] name;
+		private final long offset;
+		private long crc;
+		private long size;
+		private long compressedSize;
+
+		Entry(byte[] name, long offset) {
+			this.name = name;
+			this.offset = offset;
+		}
+	}
+
+	private final CountingOutputStream out;
+	private final XlsxCompression compression;
+	private final Deflater deflater;
+	private final CRC32 crc = new CRC32();
+	private final List<Entry> entries = new ArrayList<>();
+	private final int dosTime;
+	private final byte[] header = new byte[64];
+
+	private Entry current;
+	private OutputStream entryOut;
+	private long entrySize;
+	private long entryStart;
+	private boolean finished;
+
+	XlsxZipOutputStream(OutputStream out, XlsxCompression compression) {
+		this.out = new CountingOutputStream(out);
+		this.compression = compression;
+		this.deflater = new Deflater(compression.getLevel(), true);
+		this.dosTime = toDosTime(LocalDateTime.now());
+	}
+
+	/**
+	 * 새 엔트리 시작 (열려 있는 엔트리는 닫음)
+	 */
+	public void putNextEntry(String name) throws IOException {
+		if (current != null) {
+			closeEntry();
+		}
+		byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+		current = new Entry(nameBytes, out.count);
+		int position = 0;
+		position = putInt(position, LOCAL_HEADER_SIGNATURE);
+		position = putShort(position, VERSION_DEFLATE);
+		position = putShort(position, FLAGS);
+		position = putShort(position, METHOD_DEFLATED);
+		position = putInt(position, dosTime);
+		// crc, 압축 크기, 원본 크기는 데이터 디스크립터에 기록
+		position = putInt(position, 0);
+		position = putInt(position, 0);
+		position = putInt(position, 0);
+		position = putShort(position, nameBytes.length);
+		position = putShort(position, 0);
+		out.write(header, 0, position);
+		out.write(nameBytes);
+
+		crc.reset();
+		entrySize = 0;
+		entryStart = out.count;
+		if (compression.isParallelPart(name)) {
+			entryOut = compression.newParallelDeflater(out);
+		} else {
+			deflater.reset();
+			entryOut = new DeflaterOutputStream(out, deflater, DEFLATE_BUFFER_SIZE);
+		}
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		write(new byte[] { (byte) b }, 0, 1);
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		if (current == null) {
+			throw new IOException("No current zip entry");
+		}
+		entryOut.write(b, off, len);
+		crc.update(b, off, len);
+		entrySize += len;
+	}
+
+	/**
+	 * 압축이 끝난 바이트를 하위 스트림으로 전송 (압축기 내부에 남은 입력은 엔트리를 닫을 때 기록)
+	 */
+	@Override
+	public void flush() throws IOException {
+		if (entryOut instanceof ParallelDeflaterOutputStream parallel) {
+			parallel.flush();
+		}
+		out.flush();
+	}
+
+	/**
+	 * 현재 엔트리를 마무리하고 데이터 디스크립터 기록
+	 */
+	public void closeEntry() throws IOException {
+		if (current == null) {
+			return;
+		}
+		if (entryOut instanceof ParallelDeflaterOutputStream parallel) {
+			parallel.finish();
+		} else {
+			((DeflaterOutputStream) entryOut).finish();
+		}
+		current.crc = crc.getValue();
+		current.size = entrySize;
+		current.compressedSize = out.count - entryStart;
+
+		int position = 0;
+		position = putInt(position, DATA_DESCRIPTOR_SIGNATURE);
+		position = putInt(position, (int) current.crc);
+		if (current.size >= ZIP64_MAGIC || current.compressedSize >= ZIP64_MAGIC) {
+			position = putLong(position, current.compressedSize);
+			position = putLong(position, current.size);
+		} else {
+			position = putInt(position, (int) current.compressedSize);
+			position = putInt(position, (int) current.size);
+		}
+		out.write(header, 0, position);
+
+		entries.add(current);
+		current = null;
+		entryOut = null;
+	}
+
+	/**
+	 * 중앙 디렉터리를 기록하여 zip 을 마무리 (하위 스트림은 닫지 않음)
+	 */
+	public void finish() throws IOException {
+		if (finished) {
+			return;
+		}
+		closeEntry();
+		finished = true;
+		deflater.end();
+
+		long centralStart = out.count;
+		for (Entry entry : entries) {
+			writeCentralHeader(entry);
+		}
+		long centralSize = out.count - centralStart;
+		long centralEnd = out.count;
+
+		boolean zip64 = entries.size() >= ZIP64_MAGIC_COUNT || centralStart >= ZIP64_MAGIC || centralSize >= ZIP64_MAGIC;
+		int position = 0;
+		if (zip64) {
+			position = putInt(position, ZIP64_END_SIGNATURE);
+			position = putLong(position, 44);
+			position = putShort(position, VERSION_ZIP64);
+			position = putShort(position, VERSION_ZIP64);
+			position = putInt(position, 0);
+			position = putInt(position, 0);
+			position = putLong(position, entries.size());
+			position = putLong(position, entries.size());
+			position = putLong(position, centralSize);
+			position = putLong(position, centralStart);
+			out.write(header, 0, position);
+
+			position = 0;
+			position = putInt(position, ZIP64_LOCATOR_SIGNATURE);
+			position = putInt(position, 0);
+			position = putLong(position, centralEnd);
+			position = putInt(position, 1);
+			out.write(header, 0, position);
+		}
+
+		position = 0;
+		position = putInt(position, END_SIGNATURE);
+		position = putShort(position, 0);
+		position = putShort(position, 0);
+		position = putShort(position, Math.min(entries.size(), ZIP64_MAGIC_COUNT));
+		position = putShort(position, Math.min(entries.size(), ZIP64_MAGIC_COUNT));
+		position = putInt(position, (int) Math.min(centralSize, ZIP64_MAGIC));
+		position = putInt(position, (int) Math.min(centralStart, ZIP64_MAGIC));
+		position = putShort(position, 0);
+		out.write(header, 0, position);
+		out.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		finish();
+	}
+
+	private void writeCentralHeader(Entry entry) throws IOException {
+		boolean sizeOverflow = entry.size >= ZIP64_MAGIC;
+		boolean compressedOverflow = entry.compressedSize >= ZIP64_MAGIC;
+		boolean offsetOverflow = entry.offset >= ZIP64_MAGIC;
+		int extraLength = (sizeOverflow ? 8 : 0) + (compressedOverflow ? 8 : 0) + (offsetOverflow ? 8 : 0);
+		boolean zip64 = extraLength > 0;
+
+		int position = 0;
+		position = putInt(position, CENTRAL_HEADER_SIGNATURE);
+		position = putShort(position, zip64 ? VERSION_ZIP64 : VERSION_DEFLATE);
+		position = putShort(position, zip64 ? VERSION_ZIP64 : VERSION_DEFLATE);
+		position = putShort(position, FLAGS);
+		position = putShort(position, METHOD_DEFLATED);
+		position = putInt(position, dosTime);
+		position = putInt(position, (int) entry.crc);
+		position = putInt(position, (int) (compressedOverflow ? ZIP64_MAGIC : entry.compressedSize));
+		position = putInt(position, (int) (sizeOverflow ? ZIP64_MAGIC : entry.size));
+		position = putShort(position, entry.name.length);
+		position = putShort(position, zip64 ? extraLength + 4 : 0);
+		// 주석 길이, 디스크 번호, 내부 속성, 외부 속성
+		position = putShort(position, 0);
+		position = putShort(position, 0);
+		position = putShort(position, 0);
+		position = putInt(position, 0);
+		position = putInt(position, (int) (offsetOverflow ? ZIP64_MAGIC : entry.offset));
+		out.write(header, 0, position);
+		out.write(entry.name);
+
+		if (zip64) {
+			position = 0;
+			position = putShort(position, ZIP64_EXTRA_ID);
+			position = putShort(position, extraLength);
+			if (sizeOverflow) {
+				position = putLong(position, entry.size);
+			}
+			if (compressedOverflow) {
+				position = putLong(position, entry.compressedSize);
+			}
+			if (offsetOverflow) {
+				position = putLong(position, entry.offset);
+			}
+			out.write(header, 0, position);
+		}
+	}
+
+	private int putShort(int position, int value) {
+		header[position] = (byte) value;
+		header[position + 1] = (byte) (value >>> 8);
+		return position + 2;
+	}
+
+	private int putInt(int position, int value) {
+		putShort(position, value);
+		putShort(position + 2, value >>> 16);
+		return position + 4;
+	}
+
+	private int putLong(int position, long value) {
+		putInt(position, (int) value);
+		putInt(position + 4, (int) (value >>> 32));
+		return position + 8;
+	}
+
+	private static int toDosTime(LocalDateTime time) {
+		int year = Math.max(time.getYear(), 1980);
+		return (year - 1980) << 25 | time.getMonthValue() << 21 | time.getDayOfMonth() << 16
+				| time.getHour() << 11 | time.getMinute() << 5 | time.getSecond() >> 1;
+	}
+
+	/**
+	 * 기록된 바이트 수로 엔트리 오프셋과 압축 크기를 계산하기 위한 출력 스트림 (하위 스트림은 닫지 않음)
+	 */
+	private static class CountingOutputStream extends FilterOutputStream {
+
+		private long count;
+
+		CountingOutputStream(OutputStream out) {
+			super(out);
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			out.write(b);
+			count++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			out.write(b, off, len);
+			count += len;
+		}
+
+		@Override
+		public void close() throws IOException {
+			out.flush();
+		}
+	}
+}
@@ -0,0 +1,36 @@
+package com.mysite.dasan.hierarchy;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+/**
+ * 업무 계층(LEVEL_1~6) 탐색 API를 처리하는 컨트롤러
+ */
+@Controller
+@RequestMapping("/api/hierarchy")
+public class TaskTreeController {
+
+	@Autowired
+	private TaskTreeIndex taskTreeIndex;
+
+	/**
+	 * 노드 한 단계 조회 - path 파라미터를 LEVEL_1 부터 순서대로 반복 지정 (없으면 최상위)
+	 * 예: /api/hierarchy/children?path=경영지원&path=인사
+	 */
+	@GetMapping("/children")
+	@ResponseBody
+	public ResponseEntity<TaskTreeLevel> getChildren(@RequestParam(required = false) List<String> path) {
+		TaskTreeLevel level = taskTreeIndex.getLevel(path != null ? path : List.of());
+		if (level == null) {
+			return ResponseEntity.notFound().build();
+		}
+		return ResponseEntity.ok(level);
+	}
+}
@@ -0,0 +1,234 @@
+package com.mysite.dasan.hierarchy;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.mysite.dasan.excel.UnitTaskDataVersion;
+import com.mysite.dasan.excel.UnitTaskFetcher;
+import com.mysite.dasan.excel.UnitTaskVO;
+import com.mysite.dasan.excel.UnitTaskWatermark;
+
+/**
+ * UNIT_TASK 의 LEVEL_1~6 계층을 메모리에 올린 접두사 트리 색인
+ * 기동이 끝나면 테이블을 한 번 스트리밍하여 미리 만들고(실패하면 처음 조회할 때), 이후에는 주기마다 마지막 id 이후에 추가된 행만 반영합니다.
+ * 행이 삭제되었거나 id 순서와 다르게 추가된 경우(건수 불일치)와 일정 주기마다는 전체를 다시 만들어
+ * 계층 컬럼의 수정도 반영합니다. 조회는 노드 한 단계씩 이루어지므로 행 수와 무관하게 빠릅니다.
+ */
+@Service
+public class TaskTreeIndex {
+
+	private static final Logger logger = LoggerFactory.getLogger(TaskTreeIndex.class);
+
+	private final UnitTaskFetcher unitTaskFetcher;
+	private final long fullRebuildIntervalMillis;
+
+	// 색인 생성과 갱신은 한 번에 하나만 실행
+	private final ReentrantLock refreshLock = new ReentrantLock();
+	// 조회와 증분 반영 사이의 트리 접근 제어
+	private final ReentrantReadWriteLock treeLock = new ReentrantReadWriteLock();
+
+	private volatile TaskTreeNode root;
+	// 같은 라벨 문자열을 한 인스턴스로 공유 (부서명은 모든 상위 노드의 키로 반복됨)
+	private Map<String, String> labels = new HashMap<>();
+	private UnitTaskWatermark watermark;
+	private long indexedRows;
+	private long lastFullBuildMillis;
+	private volatile LocalDateTime refreshedAt;
+
+	public TaskTreeIndex(UnitTaskFetcher unitTaskFetcher,
+			@Value("${hierarchy.full-rebuild-interval-ms:3600000}") long fullRebuildIntervalMillis) {
+		this.unitTaskFetcher = unitTaskFetcher;
+		this.fullRebuildIntervalMillis = fullRebuildIntervalMillis;
+	}
+
+	/**
+	 * 기동 완료 후 색인 생성 - 첫 대시보드 조회가 전체 테이블 생성을 기다리지 않도록 미리 만듦
+	 * 실패하면(테이블이 아직 없는 경우 등) 처음 조회할 때 다시 생성
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void warmUp() {
+		try {
+			ensureBuilt();
+		} catch (RuntimeException e) {
+			logger.warn("Failed to build task tree index at startup, building on first request: {}", e.getMessage());
+		}
+	}
+
+	/**
+	 * 경로에 해당하는 노드와 바로 아래 자식 노드 조회 (색인이 없으면 먼저 생성)
+	 * @param path LEVEL_1 부터의 라벨 경로 (비어 있으면 최상위)
+	 * @return 노드 정보 (경로에 해당하는 노드가 없으면 null)
+	 */
+	public TaskTreeLevel getLevel(List<String> path) {
+		ensureBuilt();
+		treeLock.readLock().lock();
+		try {
+			TaskTreeNode node = root;
+			for (String name : path) {
+				node = node.getChild(name);
+				if (node == null) {
+					return null;
+				}
+			}
+			List<TaskTreeNodeView> children = new ArrayList<>(node.getChildCount());
+			node.getChildren().stream()
+					.sorted(Comparator.comparing(TaskTreeNode::getName))
+					.forEach(child -> children.add(toView(child)));
+			return new TaskTreeLevel(path, toView(node), children, indexedRows, refreshedAt);
+		} finally {
+			treeLock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * 주기적 갱신 - 추가된 행만 반영하고, 건수가 맞지 않거나 전체 재생성 주기가 지났으면 다시 생성
+	 * 아직 한 번도 조회되지 않아 색인이 없으면 아무것도 하지 않음
+	 */
+	@Scheduled(fixedDelayString = "${hierarchy.refresh-interval-ms:60000}",
+			initialDelayString = "${hierarchy.refresh-interval-ms:60000}")
+	public void refresh() {
+		if (root == null) {
+			return;
+		}
+		refreshLock.lock();
+		try {
+			if (System.currentTimeMillis() - lastFullBuildMillis >= fullRebuildIntervalMillis) {
+				rebuild();
+			} else {
+				applyAddedRows();
+			}
+		} catch (RuntimeException e) {
+			logger.warn("Failed to refresh task tree index", e);
+		} finally {
+			refreshLock.unlock();
+		}
+	}
+
+	private void ensureBuilt() {
+		if (root != null) {
+			return;
+		}
+		refreshLock.lock();
+		try {
+			if (root == null) {
+				rebuild();
+			}
+		} finally {
+			refreshLock.unlock();
+		}
+	}
+
+	/**
+	 * 테이블 전체를 스트리밍하여 새 트리를 만든 뒤 교체 (생성 중에도 기존 트리로 조회 가능)
+	 */
+	private void rebuild() {
+		long start = System.nanoTime();
+		TaskTreeNode newRoot = new TaskTreeNode("");
+		Map<String, String> newLabels = new HashMap<>();
+		long[] rowCount = new long[1];
+		long[] maxId = { Long.MIN_VALUE };
+		unitTaskFetcher.fetch(context -> {
+			UnitTaskVO task = context.getResultObject();
+			addRow(newRoot, newLabels, task);
+			rowCount[0]++;
+			maxId[0] = Math.max(maxId[0], Long.parseLong(task.getId()));
+		}, 0);
+
+		treeLock.writeLock().lock();
+		try {
+			root = newRoot;
+			labels = newLabels;
+			watermark = rowCount[0] > 0 ? new UnitTaskWatermark(maxId[0]) : null;
+			indexedRows = rowCount[0];
+			lastFullBuildMillis = System.currentTimeMillis();
+			refreshedAt = LocalDateTime.now();
+		} finally {
+			treeLock.writeLock().unlock();
+		}
+		logger.info("Task tree index built: {} rows, {} distinct labels in {} ms",
+				rowCount[0], newLabels.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+	}
+
+	/**
+	 * 마지막 id 이후에 추가된 행만 조회하여 반영 (변경 건수에 비례하는 비용)
+	 */
+	private void applyAddedRows() {
+		UnitTaskWatermark until = unitTaskFetcher.findWatermark(UnitTaskWatermark.Type.ID, watermark, 0);
+		if (until != null) {
+			// 조회 중에는 트리를 잠그지 않도록 먼저 모은 뒤 한 번에 반영
+			List<UnitTaskVO> added = new ArrayList<>();
+			unitTaskFetcher.fetchSince(context -> added.add(context.getResultObject()), watermark, until);
+			treeLock.writeLock().lock();
+			try {
+				for (UnitTaskVO task : added) {
+					addRow(root, labels, task);
+				}
+				watermark = until;
+				indexedRows += added.size();
+			} finally {
+				treeLock.writeLock().unlock();
+			}
+			logger.debug("Task tree index: {} rows added up to id {}", added.size(), until);
+		}
+
+		// 마지막 id 까지 반영했는데 건수가 다르면 삭제 또는 중간 id 추가가 있었으므로 다시 생성
+		// (마지막 id 가 더 크면 그 사이 추가된 행이므로 다음 주기에 반영)
+		UnitTaskDataVersion version = unitTaskFetcher.dataVersion();
+		boolean noNewerRows = version.getMaxId() == null
+				|| (watermark != null && version.getMaxId() <= watermark.getId());
+		if (version.getRowCount() != indexedRows && noNewerRows) {
+			logger.info("Task tree index out of sync ({} indexed, {} in table), rebuilding", indexedRows, version.getRowCount());
+			rebuild();
+			return;
+		}
+		refreshedAt = LocalDateTime.now();
+	}
+
+	/**
+	 * 행 한 건을 LEVEL_1 부터 비어 있는 단계 전까지의 경로에 반영
+	 */
+	private static void addRow(TaskTreeNode root, Map<String, String> labels, UnitTaskVO task) {
+		String department = canonical(labels, task.getDepartment());
+		TaskTreeNode node = root;
+		node.addRow(department);
+		for (String level : new String[] { task.getLevel1(), task.getLevel2(), task.getLevel3(),
+				task.getLevel4(), task.getLevel5(), task.getLevel6() }) {
+			if (level == null || level.isEmpty()) {
+				break;
+			}
+			node = node.getOrCreateChild(canonical(labels, level));
+			node.addRow(department);
+		}
+	}
+
+	private static String canonical(Map<String, String> labels, String value) {
+		if (value == null || value.isEmpty()) {
+			return null;
+		}
+		return labels.computeIfAbsent(value, key -> key);
+	}
+
+	/**
+	 * 응답용 복사본 (잠금 해제 후 직렬화되므로 부서별 행 수는 복사)
+	 */
+	private static TaskTreeNodeView toView(TaskTreeNode node) {
+		return new TaskTreeNodeView(node.getName(), node.getCount(), node.getChildCount(),
+				new TreeMap<>(node.getDepartmentCounts()));
+	}
+}
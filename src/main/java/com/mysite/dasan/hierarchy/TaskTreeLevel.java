@@ -0,0 +1,21 @@
+package com.mysite.dasan.hierarchy;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 업무 계층 한 단계 조회 응답 - 요청한 노드와 바로 아래 자식 노드 목록 (이름순)
+ */
+@Getter
+@AllArgsConstructor
+public class TaskTreeLevel {
+	private final List<String> path;
+	private final TaskTreeNodeView node;
+	private final List<TaskTreeNodeView> children;
+	// 색인에 반영된 행 수와 마지막 갱신 시각
+	private final long indexedRows;
+	private final LocalDateTime refreshedAt;
+}
@@ -0,0 +1,64 @@
+package com.mysite.dasan.hierarchy;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 업무 계층 트리의 한 노드 (LEVEL_1~6 경로의 한 단계)
+ * 이 노드를 지나는(하위 노드 포함) 행 수와 부서별 행 수를 누적합니다.
+ * 잎 노드가 대부분이므로 자식 맵은 처음 자식이 생길 때 만듭니다.
+ */
+class TaskTreeNode {
+
+	private final String name;
+	private final Map<String, Integer> departmentCounts = new HashMap<>();
+	private Map<String, TaskTreeNode> children;
+	private int count;
+
+	TaskTreeNode(String name) {
+		this.name = name;
+	}
+
+	String getName() {
+		return name;
+	}
+
+	int getCount() {
+		return count;
+	}
+
+	Map<String, Integer> getDepartmentCounts() {
+		return Collections.unmodifiableMap(departmentCounts);
+	}
+
+	Collection<TaskTreeNode> getChildren() {
+		return children != null ? children.values() : Collections.emptyList();
+	}
+
+	int getChildCount() {
+		return children != null ? children.size() : 0;
+	}
+
+	TaskTreeNode getChild(String childName) {
+		return children != null ? children.get(childName) : null;
+	}
+
+	TaskTreeNode getOrCreateChild(String childName) {
+		if (children == null) {
+			children = new HashMap<>();
+		}
+		return children.computeIfAbsent(childName, TaskTreeNode::new);
+	}
+
+	/**
+	 * 이 노드를 지나는 행 한 건 반영 (부서가 없으면 전체 수에만 반영)
+	 */
+	void addRow(String department) {
+		count++;
+		if (department != null) {
+			departmentCounts.merge(department, 1, Integer::sum);
+		}
+	}
+}
@@ -0,0 +1,18 @@
+package com.mysite.dasan.hierarchy;
+
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 업무 계층 노드 응답 (이름, 하위 포함 행 수, 자식 수, 부서별 행 수)
+ */
+@Getter
+@AllArgsConstructor
+public class TaskTreeNodeView {
+	private final String name;
+	private final int count;
+	private final int childCount;
+	private final Map<String, Integer> departments;
+}
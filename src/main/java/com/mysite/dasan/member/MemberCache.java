@@ -0,0 +1,137 @@
+package com.mysite.dasan.member;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 로그인과 사용자 전환 시 회원 조회 결과 캐시 (MemberMapper.selectMemberById 앞단)
+ * 항목마다 유효 시간이 있고, 최대 개수를 넘으면 가장 오래 사용하지 않은 항목부터 제거합니다. (LRU)
+ * 없는 아이디는 짧은 시간 동안 별도의 부정 캐시에 보관하여, 존재하지 않는 아이디로 반복되는 로그인 시도
+ * (credential stuffing)가 DB 조회로 이어지지 않도록 합니다. 부정 캐시는 정상 회원 항목을 밀어내지 않도록 따로 제한합니다.
+ * UserDetails 는 인증 후 비밀번호가 지워지므로 캐시하지 않고, 조회한 MemberVO 를 보관합니다.
+ * 조회 중에 항목이 제거(evict)되었으면 그 조회 결과는 이미 오래된 것일 수 있으므로 보관하지 않습니다.
+ */
+@Component
+public final class MemberCache {
+
+	private static final Logger logger = LoggerFactory.getLogger(MemberCache.class);
+
+	/**
+	 * 캐시 항목 (member 가 null 이면 없는 아이디)
+	 */
+	private record Entry(MemberVO member, long expiresAt) {
+	}
+
+	private final MemberMapper memberMapper;
+	private final long ttlMillis;
+	private final long negativeTtlMillis;
+
+	// 접근 순서 LinkedHashMap: 가장 앞이 가장 오래 사용하지 않은 항목
+	private final LinkedHashMap<String, Entry> members;
+	private final LinkedHashMap<String, Entry> unknownIds;
+
+	private final Counter hits;
+	private final Counter negativeHits;
+	private final Counter misses;
+
+	// evict, evictAll 마다 증가 - DB 조회를 시작한 뒤 값이 바뀌었으면 조회 결과를 보관하지 않음
+	private long generation;
+
+	public MemberCache(MemberMapper memberMapper, MeterRegistry meterRegistry,
+			@Value("${member.cache.max-entries:10000}") int maxEntries,
+			@Value("${member.cache.ttl-seconds:300}") long ttlSeconds,
+			@Value("${member.cache.negative-max-entries:10000}") int negativeMaxEntries,
+			@Value("${member.cache.negative-ttl-seconds:60}") long negativeTtlSeconds) {
+		this.memberMapper = memberMapper;
+		this.ttlMillis = ttlSeconds * 1000;
+		this.negativeTtlMillis = negativeTtlSeconds * 1000;
+		this.members = boundedMap(maxEntries);
+		this.unknownIds = boundedMap(negativeMaxEntries);
+
+		this.hits = Counter.builder("member.cache.requests").tag("result", "hit").register(meterRegistry);
+		this.negativeHits = Counter.builder("member.cache.requests").tag("result", "negative-hit").register(meterRegistry);
+		this.misses = Counter.builder("member.cache.requests").tag("result", "miss").register(meterRegistry);
+		Gauge.builder("member.cache.entries", this, cache -> cache.getEntryCount(false)).register(meterRegistry);
+		Gauge.builder("member.cache.negative.entries", this, cache -> cache.getEntryCount(true)).register(meterRegistry);
+	}
+
+	/**
+	 * 아이디로 회원 조회 (캐시에 없거나 만료되었으면 DB 조회 후 보관)
+	 * @return 회원 정보 (없는 아이디이면 null)
+	 */
+	public MemberVO findById(String id) {
+		long now = System.currentTimeMillis();
+		long startGeneration;
+		synchronized (this) {
+			startGeneration = generation;
+			Entry entry = members.get(id);
+			if (entry == null) {
+				entry = unknownIds.get(id);
+			}
+			if (entry != null && entry.expiresAt() > now) {
+				(entry.member() != null ? hits : negativeHits).increment();
+				return entry.member();
+			}
+		}
+
+		// DB 조회 중에는 잠그지 않음 (같은 아이디의 동시 조회는 중복될 수 있으나 결과는 같음)
+		misses.increment();
+		MemberVO member = memberMapper.selectMemberById(id);
+		synchronized (this) {
+			// 조회 중에 커밋된 등록, 변경의 evict 가 먼저 실행되었으면 이 결과(예: 없는 아이디)를 보관하지 않음
+			if (generation != startGeneration) {
+				return member;
+			}
+			if (member != null) {
+				unknownIds.remove(id);
+				members.put(id, new Entry(member, now + ttlMillis));
+			} else {
+				members.remove(id);
+				unknownIds.put(id, new Entry(null, now + negativeTtlMillis));
+			}
+		}
+		return member;
+	}
+
+	/**
+	 * 회원 등록, 권한 변경 등으로 회원 정보가 바뀐 경우 해당 아이디의 캐시 항목 제거 (부정 캐시 포함)
+	 */
+	public synchronized void evict(String id) {
+		generation++;
+		members.remove(id);
+		unknownIds.remove(id);
+		logger.debug("Member cache entry evicted: {}", id);
+	}
+
+	/**
+	 * 여러 회원의 정보가 한 번에 바뀐 경우 전체 캐시 비우기
+	 */
+	public synchronized void evictAll() {
+		generation++;
+		members.clear();
+		unknownIds.clear();
+		logger.info("Member cache cleared");
+	}
+
+	private synchronized int getEntryCount(boolean negative) {
+		return negative ? unknownIds.size() : members.size();
+	}
+
+	private static LinkedHashMap<String, Entry> boundedMap(int maxEntries) {
+		return new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+				return size() > maxEntries;
+			}
+		};
+	}
+}
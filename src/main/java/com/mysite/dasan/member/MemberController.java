@@ -1,10 +1,20 @@
 package com.mysite.dasan.member;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -14,8 +24,14 @@ import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.multipart.MultipartFile;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
 /**
@@ -35,6 +51,18 @@ public class MemberController {
 
 	@Autowired
 	private MemberMapper memberMapper;
+
+	@Autowired
+	private MemberImportService memberImportService;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Value("${member.import.max-rows:10000}")
+	private int importMaxRows;
+
+	@Value("${member.org.max-page-size:1000}")
+	private int orgMaxPageSize;
 	
 	/**
 	 * 로그인 화면 표시
@@ -91,12 +119,83 @@ public class MemberController {
 	}
 
 	/**
-	 * 역할별 회원 조회 (API)
+	 * 역할별 회원 조회 (API) - ORG 권한 회원 아이디를 키셋 페이지 단위로 스트리밍
+	 * 응답: {"members":[{"id":...}, ...], "nextCursor": 다음 페이지의 after 값 (마지막 페이지이면 null)}
+	 * @param after 이전 페이지의 nextCursor (없으면 첫 페이지)
+	 * @param size 페이지 크기 (최대 member.org.max-page-size)
 	 */
 	@GetMapping("/api/members/org")
+	public void getOrgMembers(HttpServletResponse response, @RequestParam(required = false) String after,
+			@RequestParam(defaultValue = "100") int size) throws IOException {
+		int pageSize = Math.max(1, Math.min(size, orgMaxPageSize));
+		logger.info("Fetching ORG role members after: {} (size: {})", after, pageSize);
+
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+		try (JsonGenerator json = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+			// 조회 중 오류가 나면 열린 배열과 객체를 닫지 않아, 클라이언트가 잘린 응답을 마지막 페이지로 오인하지 않고 파싱 오류로 알게 함
+			json.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+			json.writeStartObject();
+			json.writeArrayFieldStart("members");
+			// 다음 페이지가 있는지 알기 위해 한 건 더 조회
+			OrgMemberPageWriter pageWriter = new OrgMemberPageWriter(json, pageSize);
+			try {
+				memberService.streamOrgMemberIds(after, pageSize + 1, pageWriter);
+			} catch (UncheckedIOException e) {
+				throw e.getCause();
+			}
+			json.writeEndArray();
+			json.writeStringField("nextCursor", pageWriter.hasMore ? pageWriter.lastId : null);
+			json.writeEndObject();
+		}
+	}
+
+	/**
+	 * 회원 대량 등록 (API) - CSV 또는 XLSX 파일 (머리글: id, password, email, role)
+	 */
+	@PostMapping("/api/members/import")
 	@ResponseBody
-	public List<MemberVO> getOrgMembers() {
-		logger.info("Fetching ORG role members");
-		return memberMapper.selectMembersByRoleOrg();
+	public ResponseEntity<?> importMembers(@RequestParam("file") MultipartFile file) throws IOException {
+		logger.info("Member import requested: {} ({} bytes)", file.getOriginalFilename(), file.getSize());
+		List<MemberImportReader.ImportRow> rows;
+		try (InputStream in = file.getInputStream()) {
+			rows = MemberImportReader.read(file.getOriginalFilename(), in, importMaxRows);
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+		}
+		return ResponseEntity.ok(memberImportService.importMembers(rows));
+	}
+
+	/**
+	 * 조회된 아이디를 JSON 배열 항목으로 바로 기록하는 결과 처리기 (pageSize 건을 넘는 행이 오면 다음 페이지가 있음)
+	 */
+	private static class OrgMemberPageWriter implements ResultHandler<String> {
+
+		private final JsonGenerator json;
+		private final int pageSize;
+		private String lastId;
+		private boolean hasMore;
+
+		OrgMemberPageWriter(JsonGenerator json, int pageSize) {
+			this.json = json;
+			this.pageSize = pageSize;
+		}
+
+		@Override
+		public void handleResult(ResultContext<? extends String> context) {
+			if (context.getResultCount() > pageSize) {
+				hasMore = true;
+				context.stop();
+				return;
+			}
+			try {
+				json.writeStartObject();
+				json.writeStringField("id", context.getResultObject());
+				json.writeEndObject();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			lastId = context.getResultObject();
+		}
 	}
 }
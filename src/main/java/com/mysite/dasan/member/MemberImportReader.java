@@ -0,0 +1,193 @@
+package com.mysite.dasan.member;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+/**
+ * 회원 대량 등록 파일(CSV, XLSX) 읽기
+ * 첫 행은 머리글이며 id, password, email, role 열을 이름으로 찾습니다. (대소문자 무시, role 은 생략 가능)
+ * 빈 행은 건너뛰고, 각 행의 파일상 행 번호를 함께 반환합니다.
+ */
+public class MemberImportReader {
+
+	private static final String[] COLUMNS = { "id", "password", "email", "role" };
+	private static final int REQUIRED_COLUMNS = 3;
+
+	/**
+	 * 파일의 한 행 (rowNumber 는 머리글을 1번으로 한 행 번호)
+	 */
+	public record ImportRow(int rowNumber, MemberVO member) {
+	}
+
+	private MemberImportReader() {
+	}
+
+	/**
+	 * 파일 이름의 확장자로 형식을 판단하여 읽기
+	 * @throws IllegalArgumentException 지원하지 않는 형식이거나 필수 열이 없는 경우, 행 수가 maxRows 를 넘는 경우
+	 */
+	public static List<ImportRow> read(String fileName, InputStream in, int maxRows) throws IOException {
+		String name = fileName != null ? fileName.toLowerCase(Locale.ROOT) : "";
+		if (name.endsWith(".xlsx")) {
+			return readXlsx(in, maxRows);
+		}
+		if (name.endsWith(".csv")) {
+			return readCsv(in, maxRows);
+		}
+		throw new IllegalArgumentException("CSV 또는 XLSX 파일만 등록할 수 있습니다: " + fileName);
+	}
+
+	private static List<ImportRow> readXlsx(InputStream in, int maxRows) throws IOException {
+		List<ImportRow> rows = new ArrayList<>();
+		DataFormatter formatter = new DataFormatter();
+		try (Workbook workbook = new XSSFWorkbook(in)) {
+			Sheet sheet = workbook.getSheetAt(0);
+			int[] columnIndexes = null;
+			for (Row row : sheet) {
+				List<String> values = new ArrayList<>();
+				for (int i = 0; i < row.getLastCellNum(); i++) {
+					values.add(row.getCell(i) != null ? formatter.formatCellValue(row.getCell(i)) : "");
+				}
+				if (columnIndexes == null) {
+					columnIndexes = resolveColumns(values);
+				} else {
+					addRow(rows, row.getRowNum() + 1, values, columnIndexes, maxRows);
+				}
+			}
+			if (columnIndexes == null) {
+				throw new IllegalArgumentException("머리글 행이 없습니다.");
+			}
+		}
+		return rows;
+	}
+
+	private static List<ImportRow> readCsv(InputStream in, int maxRows) throws IOException {
+		List<ImportRow> rows = new ArrayList<>();
+		BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+		int[] columnIndexes = null;
+		int rowNumber = 0;
+		List<String> values;
+		while ((values = readCsvRecord(reader)) != null) {
+			rowNumber++;
+			if (columnIndexes == null) {
+				// UTF-8 BOM 제거 (Excel 에서 저장한 CSV)
+				if (!values.isEmpty() && values.get(0).startsWith("\uFEFF")) {
+					values.set(0, values.get(0).substring(1));
+				}
+				columnIndexes = resolveColumns(values);
+			} else {
+				addRow(rows, rowNumber, values, columnIndexes, maxRows);
+			}
+		}
+		if (columnIndexes == null) {
+			throw new IllegalArgumentException("머리글 행이 없습니다.");
+		}
+		return rows;
+	}
+
+	/**
+	 * CSV(RFC 4180) 레코드 하나 읽기 - 큰따옴표로 감싼 값 안의 쉼표, 줄바꿈, 두 번 쓴 큰따옴표 처리
+	 * @return 값 목록 (파일 끝이면 null)
+	 */
+	private static List<String> readCsvRecord(BufferedReader reader) throws IOException {
+		int c = reader.read();
+		if (c == -1) {
+			return null;
+		}
+		List<String> values = new ArrayList<>();
+		StringBuilder value = new StringBuilder();
+		boolean quoted = false;
+		while (c != -1) {
+			if (quoted) {
+				if (c == '"') {
+					reader.mark(1);
+					int next = reader.read();
+					if (next == '"') {
+						value.append('"');
+					} else {
+						quoted = false;
+						reader.reset();
+					}
+				} else {
+					value.append((char) c);
+				}
+			} else if (c == '"') {
+				quoted = true;
+			} else if (c == ',') {
+				values.add(value.toString());
+				value.setLength(0);
+			} else if (c == '\r' || c == '\n') {
+				if (c == '\r') {
+					reader.mark(1);
+					if (reader.read() != '\n') {
+						reader.reset();
+					}
+				}
+				break;
+			} else {
+				value.append((char) c);
+			}
+			c = reader.read();
+		}
+		values.add(value.toString());
+		return values;
+	}
+
+	private static int[] resolveColumns(List<String> header) {
+		Map<String, Integer> indexByName = new HashMap<>();
+		for (int i = 0; i < header.size(); i++) {
+			indexByName.putIfAbsent(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+		}
+		int[] columnIndexes = new int[COLUMNS.length];
+		for (int i = 0; i < COLUMNS.length; i++) {
+			Integer index = indexByName.get(COLUMNS[i]);
+			if (index == null && i < REQUIRED_COLUMNS) {
+				throw new IllegalArgumentException("필수 열이 없습니다: " + COLUMNS[i]);
+			}
+			columnIndexes[i] = index != null ? index : -1;
+		}
+		return columnIndexes;
+	}
+
+	private static void addRow(List<ImportRow> rows, int rowNumber, List<String> values, int[] columnIndexes, int maxRows) {
+		if (values.stream().allMatch(String::isBlank)) {
+			return;
+		}
+		if (rows.size() >= maxRows) {
+			throw new IllegalArgumentException("한 번에 등록할 수 있는 회원 수(" + maxRows + ")를 넘었습니다.");
+		}
+		MemberVO member = new MemberVO();
+		member.setId(value(values, columnIndexes[0]));
+		// 비밀번호는 앞뒤 공백도 값으로 취급
+		member.setPassword(value(values, columnIndexes[1], false));
+		member.setEmail(value(values, columnIndexes[2]));
+		member.setRole(value(values, columnIndexes[3]));
+		rows.add(new ImportRow(rowNumber, member));
+	}
+
+	private static String value(List<String> values, int index) {
+		return value(values, index, true);
+	}
+
+	private static String value(List<String> values, int index, boolean trim) {
+		if (index < 0 || index >= values.size()) {
+			return null;
+		}
+		String value = trim ? values.get(index).trim() : values.get(index);
+		return value.isEmpty() ? null : value;
+	}
+}
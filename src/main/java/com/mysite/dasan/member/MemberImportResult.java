@@ -0,0 +1,40 @@
+package com.mysite.dasan.member;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Getter;
+
+/**
+ * 회원 대량 등록 결과
+ */
+@Getter
+public class MemberImportResult {
+
+	/**
+	 * 등록하지 않은 행과 사유
+	 */
+	public record SkippedRow(int rowNumber, String id, String reason) {
+	}
+
+	private int totalRows;
+	private int importedCount;
+	private long elapsedMillis;
+	private final List<SkippedRow> skippedRows = new ArrayList<>();
+
+	void setTotalRows(int totalRows) {
+		this.totalRows = totalRows;
+	}
+
+	void setImportedCount(int importedCount) {
+		this.importedCount = importedCount;
+	}
+
+	void setElapsedMillis(long elapsedMillis) {
+		this.elapsedMillis = elapsedMillis;
+	}
+
+	void skip(int rowNumber, String id, String reason) {
+		skippedRows.add(new SkippedRow(rowNumber, id, reason));
+	}
+}
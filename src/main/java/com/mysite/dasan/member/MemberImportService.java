@@ -0,0 +1,174 @@
+package com.mysite.dasan.member;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.mysite.dasan.common.BoundedPasswordEncoder;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * 회원 대량 등록 서비스
+ * 행 검증과 중복 확인(파일 내 중복, 한 번의 집합 조회로 기존 회원 확인)을 먼저 하여 등록할 행만 비밀번호를 해시하고,
+ * 해시는 비밀번호 해시 스레드 풀에서 병렬로, 등록은 MyBatis 배치 실행기로 batchSize 행마다 한 번에 전송합니다.
+ * 해시는 트랜잭션 밖에서 하므로 해시 중에는 DB 커넥션을 점유하지 않습니다.
+ * 확인 이후 다른 요청이 같은 아이디를 먼저 등록하여 등록이 중복 키로 실패하면, 그 행만 건너뛰고 나머지를 다시 등록합니다.
+ */
+@Service
+public class MemberImportService {
+
+	private static final Logger logger = LoggerFactory.getLogger(MemberImportService.class);
+
+	private static final Set<String> ROLES = Set.of("USER", "DEP", "ORG", "ADMIN");
+	private static final String DEFAULT_ROLE = "USER";
+	// IN 목록 최대 크기 (Oracle 제한 1000)
+	private static final int ID_QUERY_CHUNK_SIZE = 1000;
+	// 등록 중 중복 키로 실패했을 때 먼저 등록된 행을 제외하고 다시 시도하는 최대 횟수
+	private static final int MAX_INSERT_ATTEMPTS = 3;
+
+	private final MemberMapper memberMapper;
+	private final MemberCache memberCache;
+	private final PasswordEncoder passwordEncoder;
+	private final Validator validator;
+	private final SqlSessionTemplate batchSqlSession;
+	private final TransactionTemplate transaction;
+	private final int batchSize;
+
+	public MemberImportService(MemberMapper memberMapper, MemberCache memberCache, PasswordEncoder passwordEncoder,
+			Validator validator, SqlSessionFactory sqlSessionFactory, PlatformTransactionManager transactionManager,
+			@Value("${member.import.batch-size:500}") int batchSize) {
+		this.memberMapper = memberMapper;
+		this.memberCache = memberCache;
+		this.passwordEncoder = passwordEncoder;
+		this.validator = validator;
+		this.batchSqlSession = new SqlSessionTemplate(sqlSessionFactory, ExecutorType.BATCH);
+		this.transaction = new TransactionTemplate(transactionManager);
+		this.batchSize = Math.max(1, batchSize);
+	}
+
+	/**
+	 * 파일에서 읽은 회원 목록 등록 (검증 실패, 중복 행은 건너뛰고 결과에 사유 기록)
+	 */
+	public MemberImportResult importMembers(List<MemberImportReader.ImportRow> rows) {
+		long startedAt = System.currentTimeMillis();
+		MemberImportResult result = new MemberImportResult();
+		result.setTotalRows(rows.size());
+
+		// 1. 행 검증과 파일 내 중복 제거
+		List<MemberImportReader.ImportRow> candidates = new ArrayList<>(rows.size());
+		Set<String> seenIds = new HashSet<>();
+		for (MemberImportReader.ImportRow row : rows) {
+			MemberVO member = row.member();
+			if (member.getRole() == null) {
+				member.setRole(DEFAULT_ROLE);
+			}
+			String error = validate(member);
+			if (error != null) {
+				result.skip(row.rowNumber(), member.getId(), error);
+			} else if (!seenIds.add(member.getId())) {
+				result.skip(row.rowNumber(), member.getId(), "파일 안에서 중복된 아이디입니다.");
+			} else {
+				candidates.add(row);
+			}
+		}
+
+		// 2. 이미 등록된 아이디 확인
+		Set<String> existingIds = findExistingIds(new ArrayList<>(seenIds));
+		List<MemberImportReader.ImportRow> insertRows = new ArrayList<>(candidates.size());
+		for (MemberImportReader.ImportRow row : candidates) {
+			if (existingIds.contains(row.member().getId())) {
+				result.skip(row.rowNumber(), row.member().getId(), "이미 존재하는 아이디입니다.");
+			} else {
+				insertRows.add(row);
+			}
+		}
+		List<MemberVO> members = insertRows.stream().map(MemberImportReader.ImportRow::member).collect(Collectors.toList());
+
+		// 3. 비밀번호 병렬 해시
+		List<String> rawPasswords = members.stream().map(MemberVO::getPassword).collect(Collectors.toList());
+		List<String> encoded = passwordEncoder instanceof BoundedPasswordEncoder bounded
+				? bounded.encodeAll(rawPasswords)
+				: rawPasswords.stream().map(passwordEncoder::encode).collect(Collectors.toList());
+		for (int i = 0; i < members.size(); i++) {
+			members.get(i).setPassword(encoded.get(i));
+		}
+
+		// 4. 배치 등록 (한 트랜잭션) - 해시가 끝난 뒤 중복 키로 실패하면 먼저 등록된 행만 건너뛰고 다시 등록
+		for (int attempt = 1; ; attempt++) {
+			try {
+				insertAll(insertRows);
+				break;
+			} catch (DuplicateKeyException e) {
+				Set<String> registeredIds = findExistingIds(insertRows.stream().map(row -> row.member().getId()).toList());
+				if (registeredIds.isEmpty() || attempt >= MAX_INSERT_ATTEMPTS) {
+					throw e;
+				}
+				logger.info("Member import: {} ids were registered by another request during import, retrying without them",
+						registeredIds.size());
+				insertRows.removeIf(row -> {
+					if (!registeredIds.contains(row.member().getId())) {
+						return false;
+					}
+					result.skip(row.rowNumber(), row.member().getId(), "이미 존재하는 아이디입니다.");
+					return true;
+				});
+			}
+		}
+		// 없는 아이디로 캐시된 항목이 새 회원의 로그인을 막지 않도록 제거
+		insertRows.forEach(row -> memberCache.evict(row.member().getId()));
+
+		result.setImportedCount(insertRows.size());
+		result.setElapsedMillis(System.currentTimeMillis() - startedAt);
+		logger.info("Member import: {} rows, {} imported, {} skipped in {} ms",
+				rows.size(), insertRows.size(), result.getSkippedRows().size(), result.getElapsedMillis());
+		return result;
+	}
+
+	private void insertAll(List<MemberImportReader.ImportRow> insertRows) {
+		transaction.executeWithoutResult(status -> {
+			MemberMapper batchMapper = batchSqlSession.getMapper(MemberMapper.class);
+			for (int i = 0; i < insertRows.size(); i++) {
+				batchMapper.insertMember(insertRows.get(i).member());
+				if ((i + 1) % batchSize == 0) {
+					batchSqlSession.flushStatements();
+				}
+			}
+			batchSqlSession.flushStatements();
+		});
+	}
+
+	private String validate(MemberVO member) {
+		Set<ConstraintViolation<MemberVO>> violations = validator.validate(member);
+		if (!violations.isEmpty()) {
+			return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining(", "));
+		}
+		if (!ROLES.contains(member.getRole())) {
+			return "지원하지 않는 권한입니다: " + member.getRole();
+		}
+		return null;
+	}
+
+	private Set<String> findExistingIds(List<String> ids) {
+		Set<String> existingIds = new HashSet<>();
+		for (int start = 0; start < ids.size(); start += ID_QUERY_CHUNK_SIZE) {
+			existingIds.addAll(memberMapper.selectExistingIds(ids.subList(start, Math.min(start + ID_QUERY_CHUNK_SIZE, ids.size()))));
+		}
+		return existingIds;
+	}
+}
@@ -3,6 +3,8 @@ package com.mysite.dasan.member;
 import java.util.List;
 
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 
 /**
  * MEMBER 테이블 관련 데이터 접근 객체
@@ -11,5 +13,7 @@ import org.apache.ibatis.annotations.Mapper;
 public interface MemberMapper {
 	 void insertMember(MemberVO member);
 	 MemberVO selectMemberById(String id);
-	 List<MemberVO> selectMembersByRoleOrg();
+	 void streamOrgMemberIds(ResultHandler<String> handler, @Param("afterId") String afterId, @Param("limit") int limit);
+	 List<String> selectExistingIds(@Param("ids") List<String> ids);
+	 int updatePassword(@Param("id") String id, @Param("password") String password);
 }
@@ -3,14 +3,18 @@ package com.mysite.dasan.member;
 import java.util.Arrays;
 import java.util.List;
 
+import org.apache.ibatis.session.ResultHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import lombok.AllArgsConstructor;
 
@@ -19,20 +23,22 @@ import lombok.AllArgsConstructor;
  */
 @Service
 @AllArgsConstructor
-public class MemberService implements UserDetailsService {
+public class MemberService implements UserDetailsService, UserDetailsPasswordService {
 
 	private static final Logger logger = LoggerFactory.getLogger(MemberService.class);
 
 	private final MemberMapper memberMapper;
+	private final MemberCache memberCache;
 
 	/**
 	 * UserDetailsService 구현: 로그인 처리
+	 * 회원 조회는 MemberCache 를 거치며, 인증 후 비밀번호가 지워지므로 UserDetails 는 매번 새로 생성합니다.
 	 */
 	@Override
 	public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
 		logger.info("Loading user: {}", username);
 		try {
-			MemberVO member = memberMapper.selectMemberById(username);
+			MemberVO member = memberCache.findById(username);
 			if (member == null) {
 				logger.warn("User not found: {}", username);
 				throw new UsernameNotFoundException("User not found with ID: " + username);
@@ -50,6 +56,31 @@ public class MemberService implements UserDetailsService {
 		}
 	}
 
+	/**
+	 * UserDetailsPasswordService 구현: 로그인 성공 후 저장된 해시의 BCrypt cost 가 설정값과 다르면
+	 * DaoAuthenticationProvider 가 새로 해시한 비밀번호로 호출
+	 */
+	@Override
+	public UserDetails updatePassword(UserDetails user, String newPassword) {
+		String id = user.getUsername();
+		if (memberMapper.updatePassword(id, newPassword) == 0) {
+			logger.warn("Password rehash skipped, member not found: {}", id);
+		} else {
+			logger.info("Password rehashed for member: {}", id);
+		}
+		memberCache.evict(id);
+		return User.withUserDetails(user).password(newPassword).build();
+	}
+
+	/**
+	 * ORG 권한 회원 아이디를 아이디 순으로 afterId 다음부터 limit 건 조회하여 한 건씩 handler 로 전달
+	 * (목록을 메모리에 모으지 않고, 커서 조회가 가능하도록 읽기 전용 트랜잭션에서 실행)
+	 */
+	@Transactional(readOnly = true)
+	public void streamOrgMemberIds(String afterId, int limit, ResultHandler<String> handler) {
+		memberMapper.streamOrgMemberIds(handler, afterId, limit);
+	}
+
 	/**
 	 * 새로운 회원 등록
 	 */
@@ -57,11 +88,24 @@ public class MemberService implements UserDetailsService {
 	public void registerNewMember(MemberVO memberVO) {
 		logger.info("Registering new member: {}", memberVO.getId());
 		try {
+			// 중복 확인은 캐시를 거치지 않고 DB 에서 직접 조회
 			if (memberMapper.selectMemberById(memberVO.getId()) != null) {
 				logger.warn("Duplicate ID: {}", memberVO.getId());
 				throw new IllegalStateException("이미 존재하는 아이디입니다: " + memberVO.getId());
 			}
 			memberMapper.insertMember(memberVO);
+			// 없는 아이디로 캐시된 항목이 새 회원의 로그인을 막지 않도록 제거
+			// (커밋 전에 다른 요청이 다시 캐시할 수 있으므로 커밋 후에도 한 번 더 제거)
+			String id = memberVO.getId();
+			memberCache.evict(id);
+			if (TransactionSynchronizationManager.isSynchronizationActive()) {
+				TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+					@Override
+					public void afterCommit() {
+						memberCache.evict(id);
+					}
+				});
+			}
 			logger.info("Member registered: {}", memberVO.getId());
 		} catch (Exception e) {
 			logger.error("Registration failed: {}", memberVO.getId(), e);
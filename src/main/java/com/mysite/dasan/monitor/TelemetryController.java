@@ -0,0 +1,29 @@
+package com.mysite.dasan.monitor;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * 대시보드 JVM 상태 실시간 전송(SSE) API를 처리하는 컨트롤러
+ */
+@Controller
+@RequestMapping("/api/telemetry")
+public class TelemetryController {
+
+	@Autowired
+	private TelemetryService telemetryService;
+
+	/**
+	 * JVM 상태 스냅샷 구독 (text/event-stream)
+	 */
+	@GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	@ResponseBody
+	public SseEmitter stream() {
+		return telemetryService.subscribe();
+	}
+}
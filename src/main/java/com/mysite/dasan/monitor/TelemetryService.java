@@ -0,0 +1,197 @@
+package com.mysite.dasan.monitor;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * JVM 메모리, GC, 스레드 상태를 서버에서 주기마다 한 번만 수집하여 모든 구독자에게 SSE 로 전송하는 서비스
+ * 대시보드를 연 사용자 수와 관계없이 수집 비용이 일정하며, 구독자가 없으면 수집하지 않습니다.
+ * 전송은 별도 스레드 풀에서 하므로 느린 구독자가 스케줄러 스레드(작업 정리 등 다른 주기 작업과 공유)를 막지 않으며,
+ * 이전 전송이 끝나지 않은 구독자는 그 주기를 건너뛰고 send-timeout-ms 를 넘기면 구독을 해제합니다.
+ */
+@Service
+public class TelemetryService {
+
+	private static final Logger logger = LoggerFactory.getLogger(TelemetryService.class);
+
+	private static final String EVENT_NAME = "telemetry";
+
+	private final long emitterTimeoutMillis;
+	private final long sendTimeoutMillis;
+	private final ThreadPoolExecutor sender;
+	private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+	private final MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
+	private final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+	private final List<GarbageCollectorMXBean> gcBeans = ManagementFactory.getGarbageCollectorMXBeans();
+
+	private long lastGcCount;
+	private long lastGcTimeMillis;
+	private volatile TelemetrySnapshot latest;
+
+	/**
+	 * 구독자 1명 - 진행 중인 전송이 있으면 시작 시각을 기록 (0 이면 전송 중이 아님)
+	 */
+	private static class Subscriber {
+
+		private final SseEmitter emitter;
+		private final AtomicLong sendingSince = new AtomicLong();
+		private volatile boolean dropped;
+
+		Subscriber(SseEmitter emitter) {
+			this.emitter = emitter;
+		}
+	}
+
+	public TelemetryService(@Value("${telemetry.emitter-timeout-ms:1800000}") long emitterTimeoutMillis,
+			@Value("${telemetry.send-timeout-ms:5000}") long sendTimeoutMillis,
+			@Value("${telemetry.send-threads:2}") int sendThreads) {
+		this.emitterTimeoutMillis = emitterTimeoutMillis;
+		this.sendTimeoutMillis = sendTimeoutMillis;
+
+		AtomicInteger threadNumber = new AtomicInteger();
+		// 구독자마다 진행 중인 전송은 1건이므로 대기열은 구독자 수 이상 쌓이지 않으며, 가득 차면 그 주기를 건너뜀
+		this.sender = new ThreadPoolExecutor(sendThreads, sendThreads, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(1024), runnable -> {
+					Thread thread = new Thread(runnable, "telemetry-send-" + threadNumber.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+	}
+
+	/**
+	 * 구독 등록 - 마지막 스냅샷이 있으면 바로 전송하여 화면이 다음 주기까지 비어 있지 않도록 함
+	 * 연결 시간이 지나면 종료되며 브라우저 EventSource 가 자동으로 다시 연결합니다.
+	 */
+	public SseEmitter subscribe() {
+		SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+		Subscriber subscriber = new Subscriber(emitter);
+		emitter.onCompletion(() -> subscribers.remove(subscriber));
+		emitter.onTimeout(emitter::complete);
+		emitter.onError(e -> subscribers.remove(subscriber));
+		subscribers.add(subscriber);
+
+		TelemetrySnapshot snapshot = latest != null ? latest : sample();
+		send(subscriber, snapshot);
+		logger.debug("Telemetry subscriber added ({} total)", subscribers.size());
+		return emitter;
+	}
+
+	/**
+	 * 주기마다 한 번 수집하여 모든 구독자에게 전송 (전송 스레드 풀에 맡기고 기다리지 않음)
+	 */
+	@Scheduled(fixedRateString = "${telemetry.interval-ms:1000}")
+	public void broadcast() {
+		if (subscribers.isEmpty()) {
+			return;
+		}
+		TelemetrySnapshot snapshot = sample();
+		long now = System.currentTimeMillis();
+		for (Subscriber subscriber : subscribers) {
+			long sendingSince = subscriber.sendingSince.get();
+			if (sendingSince != 0) {
+				if (now - sendingSince > sendTimeoutMillis) {
+					drop(subscriber);
+				}
+				continue;
+			}
+			subscriber.sendingSince.set(now);
+			try {
+				sender.execute(() -> deliver(subscriber, snapshot));
+			} catch (RejectedExecutionException e) {
+				subscriber.sendingSince.set(0);
+			}
+		}
+	}
+
+	public int getSubscriberCount() {
+		return subscribers.size();
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		sender.shutdownNow();
+	}
+
+	private void deliver(Subscriber subscriber, TelemetrySnapshot snapshot) {
+		boolean open = true;
+		try {
+			if (!subscriber.dropped) {
+				open = send(subscriber, snapshot);
+			}
+		} finally {
+			subscriber.sendingSince.set(0);
+		}
+		// 전송이 멈춘 사이 구독이 해제된 경우 - 전송이 끝났으므로 이제 연결을 종료
+		if (subscriber.dropped && open) {
+			subscriber.emitter.complete();
+		}
+	}
+
+	/**
+	 * 전송 시간 초과 구독자 해제 - 전송 중인 emitter 는 잠겨 있으므로 여기서 종료하지 않고 전송이 끝나면 종료
+	 */
+	private void drop(Subscriber subscriber) {
+		if (subscribers.remove(subscriber)) {
+			subscriber.dropped = true;
+			logger.debug("Dropping slow telemetry subscriber (send pending over {} ms)", sendTimeoutMillis);
+		}
+	}
+
+	private synchronized TelemetrySnapshot sample() {
+		MemoryUsage heap = memoryBean.getHeapMemoryUsage();
+		MemoryUsage nonHeap = memoryBean.getNonHeapMemoryUsage();
+
+		long gcCount = 0;
+		long gcTimeMillis = 0;
+		for (GarbageCollectorMXBean gc : gcBeans) {
+			gcCount += Math.max(gc.getCollectionCount(), 0);
+			gcTimeMillis += Math.max(gc.getCollectionTime(), 0);
+		}
+
+		TelemetrySnapshot snapshot = new TelemetrySnapshot(System.currentTimeMillis(),
+				heap.getMax(), heap.getCommitted(), heap.getUsed(), nonHeap.getUsed(),
+				gcCount - lastGcCount, gcTimeMillis - lastGcTimeMillis,
+				threadBean.getThreadCount(), threadBean.getDaemonThreadCount(), threadBean.getPeakThreadCount());
+		lastGcCount = gcCount;
+		lastGcTimeMillis = gcTimeMillis;
+		latest = snapshot;
+		return snapshot;
+	}
+
+	/**
+	 * @return 전송 성공 여부 (실패하면 구독을 해제하고 연결을 종료)
+	 */
+	private boolean send(Subscriber subscriber, TelemetrySnapshot snapshot) {
+		try {
+			subscriber.emitter.send(SseEmitter.event().name(EVENT_NAME).data(snapshot));
+			return true;
+		} catch (IOException | IllegalStateException e) {
+			// 브라우저가 연결을 끊은 경우 - 구독 해제
+			logger.debug("Removing telemetry subscriber: {}", e.getMessage());
+			subscribers.remove(subscriber);
+			subscriber.emitter.completeWithError(e);
+			return false;
+		}
+	}
+}
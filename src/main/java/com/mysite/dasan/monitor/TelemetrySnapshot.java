@@ -0,0 +1,22 @@
+package com.mysite.dasan.monitor;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 대시보드로 전송하는 JVM 상태 스냅샷 (메모리 단위는 바이트, GC 값은 직전 샘플 이후 증가분)
+ */
+@Getter
+@AllArgsConstructor
+public class TelemetrySnapshot {
+	private final long timestamp;
+	private final long heapMax;
+	private final long heapCommitted;
+	private final long heapUsed;
+	private final long nonHeapUsed;
+	private final long gcCount;
+	private final long gcTimeMillis;
+	private final int threadCount;
+	private final int daemonThreadCount;
+	private final int peakThreadCount;
+}
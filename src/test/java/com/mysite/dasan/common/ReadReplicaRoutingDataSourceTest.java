@@ -0,0 +1,116 @@
+package com.mysite.dasan.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.sql.Connection;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 기본 DB 와 복제본을 각각 H2 메모리 DB 로 두고 라우팅과 기본 DB 전환을 검증
+ */
+class ReadReplicaRoutingDataSourceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private HikariDataSource primary;
+    private HikariDataSource replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = pool("primary", "routing_primary", "");
+        new JdbcTemplate(primary).execute("CREATE TABLE IF NOT EXISTS target AS SELECT 'primary' AS name");
+    }
+
+    @AfterEach
+    void tearDown() {
+        primary.close();
+        if (replica != null) {
+            replica.close();
+        }
+    }
+
+    @Test
+    void readOnlyTransactionsUseReplica() {
+        replica = pool("replica", "routing_replica", "");
+        new JdbcTemplate(replica).execute("CREATE TABLE IF NOT EXISTS target AS SELECT 'replica' AS name");
+        Routing routing = routing(60000);
+
+        assertEquals("replica", routing.name(true));
+        assertEquals("primary", routing.name(false));
+        assertEquals("primary", routing.jdbcTemplate.queryForObject("SELECT name FROM target", String.class));
+        assertEquals(0.0, fallbacks());
+    }
+
+    @Test
+    void unreachableReplicaFallsBackToPrimary() {
+        replica = pool("replica", "routing_replica", "wrong-password");
+        Routing routing = routing(60000);
+
+        assertEquals("primary", routing.name(true));
+        // 재시도 간격 동안은 복제본에 접속하지 않음
+        assertEquals("primary", routing.name(true));
+        assertEquals(1.0, fallbacks());
+        assertEquals(0.0, meterRegistry.get("datasource.routing.connections").tag("target", "replica").counter().count());
+    }
+
+    @Test
+    void saturatedReplicaDoesNotFallBack() throws Exception {
+        replica = pool("replica", "routing_replica", "");
+        replica.setMaximumPoolSize(1);
+        replica.setConnectionTimeout(250);
+        new JdbcTemplate(replica).execute("CREATE TABLE IF NOT EXISTS target AS SELECT 'replica' AS name");
+        Routing routing = routing(60000);
+
+        // 복제본 풀의 유일한 커넥션을 사용 중인 상태
+        Connection busy = replica.getConnection();
+        try {
+            assertThrows(DataAccessException.class, () -> routing.name(true));
+        } finally {
+            busy.close();
+        }
+        assertEquals(0.0, fallbacks());
+        assertEquals("replica", routing.name(true));
+    }
+
+    private double fallbacks() {
+        return meterRegistry.get("datasource.routing.fallbacks").counter().count();
+    }
+
+    private Routing routing(long retryIntervalMillis) {
+        DataSource dataSource = new LazyConnectionDataSourceProxy(
+                new ReadReplicaRoutingDataSource(primary, replica, retryIntervalMillis, meterRegistry));
+        return new Routing(new JdbcTemplate(dataSource), new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+    }
+
+    private static HikariDataSource pool(String poolName, String database, String password) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(poolName);
+        dataSource.setJdbcUrl("jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUsername("sa");
+        dataSource.setPassword(password);
+        return dataSource;
+    }
+
+    private record Routing(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+
+        String name(boolean readOnly) {
+            transactionTemplate.setReadOnly(readOnly);
+            return transactionTemplate.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM target", String.class));
+        }
+    }
+}
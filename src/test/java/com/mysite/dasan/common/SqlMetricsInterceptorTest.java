@@ -0,0 +1,68 @@
+package com.mysite.dasan.common;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.mysite.dasan.excel.UnitTaskFilter;
+import com.mysite.dasan.excel.UnitTaskMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * 스트리밍 조회의 구문 실행 시간에 결과 처리 시간이 섞이지 않는지 검증 (H2)
+ */
+@SpringBootTest
+class SqlMetricsInterceptorTest {
+
+    private static final String STATEMENT = "UnitTaskMapper.streamAllUnitTasks";
+
+    @Autowired
+    private UnitTaskMapper unitTaskMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS Unit_Task");
+        jdbcTemplate.execute("CREATE TABLE Unit_Task (id BIGINT PRIMARY KEY, level1 VARCHAR(100), level2 VARCHAR(100), "
+                + "level3 VARCHAR(100), level4 VARCHAR(100), level5 VARCHAR(100), level6 VARCHAR(100), department VARCHAR(100))");
+        for (int id = 1; id <= 3; id++) {
+            jdbcTemplate.update("INSERT INTO Unit_Task (id, level1, department) VALUES (?, 'a', 'b')", id);
+        }
+    }
+
+    @Test
+    void streamingStatementIsTimedUntilFirstRow() {
+        Timer statement = meterRegistry.find("mybatis.statement").tag("statement", STATEMENT).timer();
+        double before = statement == null ? 0 : statement.totalTime(TimeUnit.MILLISECONDS);
+
+        // 행마다 파일/소켓 기록이 오래 걸리는 내보내기를 흉내냄
+        unitTaskMapper.streamAllUnitTasks(context -> sleep(200), new UnitTaskFilter(), 0);
+
+        double sqlMillis = meterRegistry.get("mybatis.statement").tag("statement", STATEMENT).timer()
+                .totalTime(TimeUnit.MILLISECONDS) - before;
+        Timer stream = meterRegistry.get("mybatis.statement.stream").tag("statement", STATEMENT).timer();
+        assertTrue(sqlMillis < 200, "statement time " + sqlMillis + " ms includes handler time");
+        assertTrue(stream.max(TimeUnit.MILLISECONDS) >= 600);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
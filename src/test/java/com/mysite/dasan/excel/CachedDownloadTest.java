@@ -0,0 +1,90 @@
+package com.mysite.dasan.excel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * 캐시 기반 다운로드의 ETag 검증 (H2)
+ * 캐시에서 삭제된 뒤 다시 생성된 파일에 이전 ETag 로 이어받기(If-Range + Range)를 요청하면 다른 파일의 일부가 아니라
+ * 전체 파일을 받아야 합니다.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc(addFilters = false)
+class CachedDownloadTest {
+
+	private static final String URL = "/api/excel/download/cached";
+
+	@TempDir
+	static Path cacheDir;
+
+	@DynamicPropertySource
+	static void cacheProperties(DynamicPropertyRegistry registry) {
+		registry.add("excel.cache.dir", () -> cacheDir.toString());
+		// 새 파일을 등록할 때마다 이전 파일이 삭제되도록 최소 용량
+		registry.add("excel.cache.max-bytes", () -> "1");
+	}
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void setUp() {
+		jdbcTemplate.execute("DROP TABLE IF EXISTS Unit_Task");
+		jdbcTemplate.execute("CREATE TABLE Unit_Task (id BIGINT PRIMARY KEY, level1 VARCHAR(100), level2 VARCHAR(100), "
+				+ "level3 VARCHAR(100), level4 VARCHAR(100), level5 VARCHAR(100), level6 VARCHAR(100), department VARCHAR(100))");
+		for (int id = 1; id <= 20; id++) {
+			jdbcTemplate.update("INSERT INTO Unit_Task (id, level1, department) VALUES (?, '본부', '부서')", id);
+		}
+	}
+
+	@Test
+	void rangeRequestWithEtagOfEvictedFileGetsWholeRegeneratedFile() throws Exception {
+		MockHttpServletResponse first = mockMvc.perform(get(URL).param("rowCount", "10")).andReturn().getResponse();
+		String oldEtag = first.getHeader(HttpHeaders.ETAG);
+		assertEquals(200, first.getStatus());
+		// 캐시에 남아 있는 동안은 같은 ETag 로 이어받기 가능
+		assertEquals(206, mockMvc.perform(get(URL).param("rowCount", "10")
+				.header(HttpHeaders.RANGE, "bytes=100-").header(HttpHeaders.IF_RANGE, oldEtag)).andReturn().getResponse()
+				.getStatus());
+
+		// 다른 파일을 등록하여 첫 파일을 삭제하고, zip 엔트리 시각(2초 단위)이 달라지도록 대기
+		mockMvc.perform(get(URL).param("rowCount", "5"));
+		Thread.sleep(2100);
+
+		MockHttpServletResponse resumed = mockMvc.perform(get(URL).param("rowCount", "10")
+				.header(HttpHeaders.RANGE, "bytes=100-").header(HttpHeaders.IF_RANGE, oldEtag)).andReturn().getResponse();
+		String newEtag = resumed.getHeader(HttpHeaders.ETAG);
+		assertNotEquals(oldEtag, newEtag);
+		assertEquals(200, resumed.getStatus());
+		assertEquals(null, resumed.getHeader(HttpHeaders.CONTENT_RANGE));
+
+		// 이전 ETag 로 재검증해도 304 가 아님, 새 ETag 로는 이어받기와 재검증 가능
+		assertEquals(200, mockMvc.perform(get(URL).param("rowCount", "10").header(HttpHeaders.IF_NONE_MATCH, oldEtag))
+				.andReturn().getResponse().getStatus());
+		MockHttpServletResponse partial = mockMvc.perform(get(URL).param("rowCount", "10")
+				.header(HttpHeaders.RANGE, "bytes=100-").header(HttpHeaders.IF_RANGE, newEtag)).andReturn().getResponse();
+		assertEquals(206, partial.getStatus());
+		assertEquals(resumed.getContentAsByteArray().length - 100, partial.getContentAsByteArray().length);
+		assertEquals(304, mockMvc.perform(get(URL).param("rowCount", "10").header(HttpHeaders.IF_NONE_MATCH, newEtag))
+				.andReturn().getResponse().getStatus());
+	}
+}
@@ -0,0 +1,45 @@
+package com.mysite.dasan.excel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+
+class CsvStreamWriterTest {
+
+	private static final String EXPECTED = "\uFEFFid,LEVEL_1,DEPARTMENT\r\n"
+			+ "1,\"A, \"\"B\"\"\",\"줄\n바꿈\"\r\n"
+			+ "2,,한글 😀\r\n";
+
+	@Test
+	void writesQuotedUtf8Csv() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (CsvStreamWriter writer = new CsvStreamWriter(out, false)) {
+			writeRows(writer);
+		}
+
+		assertEquals(EXPECTED, out.toString(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void writesGzipCompressedCsv() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (CsvStreamWriter writer = new CsvStreamWriter(out, true)) {
+			writeRows(writer);
+		}
+
+		try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+			assertEquals(EXPECTED, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+		}
+	}
+
+	private static void writeRows(CsvStreamWriter writer) throws Exception {
+		writer.writeRow(new String[] { "id", "LEVEL_1", "DEPARTMENT" });
+		writer.writeRow(new String[] { "1", "A, \"B\"", "줄\n바꿈" });
+		writer.writeRow(new String[] { "2", null, "한글 😀" });
+	}
+}
@@ -0,0 +1,74 @@
+package com.mysite.dasan.excel;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.DigestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ExcelFileCacheTest {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void etagFollowsFileContent() throws IOException {
+		ExcelFileCache cache = new ExcelFileCache(null, new SimpleMeterRegistry(), tempDir.toString(), 1000, 10);
+
+		String first;
+		try (ExcelFileCache.Lease lease = cache.getOrCreate("xlsx:a", out -> out.write(bytes(600, 1)))) {
+			first = lease.getFile().getEtag();
+		}
+		// 한도를 넘겨 첫 파일이 삭제된 뒤 같은 키를 다른 내용으로 다시 생성
+		cache.getOrCreate("xlsx:b", out -> out.write(bytes(600, 1))).close();
+		try (ExcelFileCache.Lease lease = cache.getOrCreate("xlsx:a", out -> out.write(bytes(600, 2)))) {
+			assertNotEquals(first, lease.getFile().getEtag());
+		}
+
+		// 재시작 후에도 파일명에 기록된 내용 해시를 그대로 사용
+		ExcelFileCache reloaded = new ExcelFileCache(null, new SimpleMeterRegistry(), tempDir.toString(), 1000, 10);
+		try (ExcelFileCache.Lease lease = reloaded.getOrCreate("xlsx:a", out -> {
+			throw new AssertionError("cached file should be reused");
+		})) {
+			assertEquals(DigestUtils.md5DigestAsHex(bytes(600, 2)), lease.getFile().getEtag());
+		}
+	}
+
+	@Test
+	void evictedFileIsKeptUntilLeaseIsClosed() throws IOException {
+		ExcelFileCache cache = new ExcelFileCache(null, new SimpleMeterRegistry(), tempDir.toString(), 1000, 10);
+		byte[] first = bytes(600, 1);
+
+		ExcelFileCache.Lease lease = cache.getOrCreate("xlsx:first", out -> out.write(first));
+		Path firstPath = lease.getFile().getPath();
+		// 한도를 넘겨 전송 중인 첫 파일이 캐시에서 제거됨
+		cache.getOrCreate("xlsx:second", out -> out.write(bytes(600, 2))).close();
+		assertEquals(1, cache.getEntryCount());
+		assertTrue(Files.exists(firstPath));
+
+		try (InputStream in = lease.openStream()) {
+			assertArrayEquals(first, in.readAllBytes());
+		}
+		lease.close();
+		assertFalse(Files.exists(firstPath));
+	}
+
+	private static byte[] bytes(int length, int seed) {
+		byte[] bytes = new byte[length];
+		for (int i = 0; i < length; i++) {
+			bytes[i] = (byte) (seed * 31 + i);
+		}
+		return bytes;
+	}
+}
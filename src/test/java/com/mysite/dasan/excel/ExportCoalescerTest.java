@@ -0,0 +1,380 @@
+package com.mysite.dasan.excel;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ExportCoalescerTest {
+
+	private static final int CHUNKS = 20;
+	private static final int CHUNK_SIZE = 10_000;
+	private static final int SPILL_THRESHOLD_BYTES = 5 * CHUNK_SIZE;
+
+	@TempDir
+	Path tempDir;
+
+	private SimpleMeterRegistry registry;
+	private ExportCoalescer coalescer;
+	private ExecutorService clients;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		registry = new SimpleMeterRegistry();
+		ExportAdmissionService admission = new ExportAdmissionService(4, 0.5, 0.9, 5000, 0, 50000, "direct", 1000, 10);
+		coalescer = new ExportCoalescer(admission, registry, true, tempDir.toString(), SPILL_THRESHOLD_BYTES, 4096);
+		clients = Executors.newCachedThreadPool();
+	}
+
+	@AfterEach
+	void tearDown() {
+		clients.shutdownNow();
+	}
+
+	@Test
+	void concurrentRequestsShareOneGeneration() throws Exception {
+		AtomicInteger generations = new AtomicInteger();
+		CountDownLatch firstChunkWritten = new CountDownLatch(1);
+		CountDownLatch allJoined = new CountDownLatch(1);
+		ExcelFileCache.Generator generator = out -> {
+			generations.incrementAndGet();
+			for (int i = 0; i < CHUNKS; i++) {
+				out.write(chunk(i));
+				out.flush();
+				if (i == 0) {
+					firstChunkWritten.countDown();
+					await(allJoined);
+				}
+			}
+		};
+
+		List<Future<byte[]>> results = new ArrayList<>();
+		results.add(clients.submit(() -> download(generator, new ByteArrayOutputStream())));
+		assertTrue(firstChunkWritten.await(5, TimeUnit.SECONDS));
+		for (int i = 0; i < 3; i++) {
+			results.add(clients.submit(() -> download(generator, new ByteArrayOutputStream())));
+		}
+		waitForJoined(3);
+		allJoined.countDown();
+
+		byte[] expected = expectedBytes();
+		for (Future<byte[]> result : results) {
+			assertArrayEquals(expected, result.get(10, TimeUnit.SECONDS));
+		}
+		assertEquals(1, generations.get());
+		assertEquals(1.0, registry.get("excel.export.coalesce.requests").tag("result", "generated").counter().count());
+		assertEquals(3.0, registry.get("excel.export.coalesce.requests").tag("result", "joined").counter().count());
+		waitForSpoolDeleted();
+	}
+
+	@Test
+	void slowOrDisconnectedJoinerDoesNotStallOthers() throws Exception {
+		CountDownLatch firstChunkWritten = new CountDownLatch(1);
+		CountDownLatch allJoined = new CountDownLatch(1);
+		CountDownLatch releaseSlowClient = new CountDownLatch(1);
+		ExcelFileCache.Generator generator = out -> {
+			for (int i = 0; i < CHUNKS; i++) {
+				out.write(chunk(i));
+				out.flush();
+				if (i == 0) {
+					firstChunkWritten.countDown();
+					await(allJoined);
+				}
+			}
+		};
+
+		Future<byte[]> first = clients.submit(() -> download(generator, new ByteArrayOutputStream()));
+		assertTrue(firstChunkWritten.await(5, TimeUnit.SECONDS));
+		Future<byte[]> slow = clients.submit(() -> download(generator, new ByteArrayOutputStream() {
+			@Override
+			public void write(byte[] b, int off, int len) {
+				await(releaseSlowClient);
+				super.write(b, off, len);
+			}
+		}));
+		Future<Object> disconnected = clients.submit(() -> downloadTo(generator, new OutputStream() {
+			@Override
+			public void write(int b) throws IOException {
+				throw new IOException("Broken pipe");
+			}
+		}));
+		waitForJoined(2);
+		allJoined.countDown();
+
+		// 느린 클라이언트가 첫 버퍼도 전송하지 못한 상태에서 생성한 요청은 전체를 받음
+		assertArrayEquals(expectedBytes(), first.get(10, TimeUnit.SECONDS));
+		Exception failure = assertThrows(Exception.class, () -> disconnected.get(10, TimeUnit.SECONDS));
+		assertTrue(failure.getCause() instanceof IOException);
+
+		releaseSlowClient.countDown();
+		assertArrayEquals(expectedBytes(), slow.get(10, TimeUnit.SECONDS));
+		waitForSpoolDeleted();
+	}
+
+	@Test
+	void generationContinuesForJoinersWhenFirstClientDisconnects() throws Exception {
+		AtomicInteger chunksWritten = new AtomicInteger();
+		CountDownLatch firstChunkWritten = new CountDownLatch(1);
+		CountDownLatch allJoined = new CountDownLatch(1);
+		ExcelFileCache.Generator generator = out -> {
+			for (int i = 0; i < CHUNKS; i++) {
+				out.write(chunk(i));
+				out.flush();
+				chunksWritten.incrementAndGet();
+				if (i == 0) {
+					firstChunkWritten.countDown();
+					await(allJoined);
+				}
+			}
+		};
+
+		// 합류한 요청이 생긴 뒤 연결이 끊기는 클라이언트
+		Future<Object> first = clients.submit(() -> downloadTo(generator, new OutputStream() {
+			@Override
+			public void write(int b) throws IOException {
+				if (allJoined.getCount() == 0) {
+					throw new IOException("Broken pipe");
+				}
+			}
+		}));
+		assertTrue(firstChunkWritten.await(5, TimeUnit.SECONDS));
+		Future<byte[]> joiner = clients.submit(() -> download(generator, new ByteArrayOutputStream()));
+		waitForJoined(1);
+		allJoined.countDown();
+
+		assertArrayEquals(expectedBytes(), joiner.get(10, TimeUnit.SECONDS));
+		Exception failure = assertThrows(Exception.class, () -> first.get(10, TimeUnit.SECONDS));
+		assertTrue(failure.getCause() instanceof IOException);
+		assertEquals(CHUNKS, chunksWritten.get());
+		waitForSpoolDeleted();
+	}
+
+	@Test
+	void slowFirstClientDoesNotStallJoiner() throws Exception {
+		CountDownLatch firstChunkWritten = new CountDownLatch(1);
+		CountDownLatch releaseFirstClient = new CountDownLatch(1);
+		ExcelFileCache.Generator generator = out -> {
+			for (int i = 0; i < CHUNKS; i++) {
+				out.write(chunk(i));
+				out.flush();
+				if (i == 0) {
+					firstChunkWritten.countDown();
+				}
+			}
+		};
+
+		// 생성을 시작한 요청의 클라이언트가 첫 버퍼도 받지 못하는 상태
+		Future<byte[]> first = clients.submit(() -> download(generator, new ByteArrayOutputStream() {
+			@Override
+			public void write(byte[] b, int off, int len) {
+				await(releaseFirstClient);
+				super.write(b, off, len);
+			}
+		}));
+		assertTrue(firstChunkWritten.await(5, TimeUnit.SECONDS));
+		Future<byte[]> joiner = clients.submit(() -> download(generator, new ByteArrayOutputStream()));
+
+		assertArrayEquals(expectedBytes(), joiner.get(10, TimeUnit.SECONDS));
+		assertFalse(first.isDone());
+		assertEquals(1.0, registry.get("excel.export.coalesce.requests").tag("result", "joined").counter().count());
+
+		releaseFirstClient.countDown();
+		assertArrayEquals(expectedBytes(), first.get(10, TimeUnit.SECONDS));
+		waitForSpoolDeleted();
+	}
+
+	@Test
+	void requestsJoinUntilGenerationCompletes() throws Exception {
+		AtomicInteger generations = new AtomicInteger();
+		CountDownLatch mostWritten = new CountDownLatch(1);
+		CountDownLatch joinedLate = new CountDownLatch(1);
+		ExcelFileCache.Generator generator = out -> {
+			generations.incrementAndGet();
+			for (int i = 0; i < CHUNKS; i++) {
+				out.write(chunk(i));
+				out.flush();
+				if (i == CHUNKS - 2) {
+					mostWritten.countDown();
+					await(joinedLate);
+				}
+			}
+		};
+
+		Future<byte[]> first = clients.submit(() -> download(generator, new ByteArrayOutputStream()));
+		assertTrue(mostWritten.await(5, TimeUnit.SECONDS));
+		// 메모리 보관 크기를 넘어 임시 파일로 옮겨진 뒤에도 합류
+		Future<byte[]> late = clients.submit(() -> download(generator, new ByteArrayOutputStream()));
+		waitForJoined(1);
+		joinedLate.countDown();
+
+		assertArrayEquals(expectedBytes(), first.get(10, TimeUnit.SECONDS));
+		assertArrayEquals(expectedBytes(), late.get(10, TimeUnit.SECONDS));
+		assertEquals(1, generations.get());
+		waitForSpoolDeleted();
+	}
+
+	@Test
+	void smallExportStaysInMemory() throws Exception {
+		CountDownLatch written = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ExcelFileCache.Generator generator = out -> {
+			out.write(chunk(0));
+			out.write(chunk(1));
+			out.flush();
+			written.countDown();
+			await(release);
+		};
+
+		Future<byte[]> result = clients.submit(() -> download(generator, new ByteArrayOutputStream()));
+		assertTrue(written.await(5, TimeUnit.SECONDS));
+		try (Stream<Path> files = Files.list(tempDir)) {
+			assertEquals(0, files.count());
+		}
+		release.countDown();
+
+		ByteArrayOutputStream expected = new ByteArrayOutputStream();
+		expected.writeBytes(chunk(0));
+		expected.writeBytes(chunk(1));
+		assertArrayEquals(expected.toByteArray(), result.get(10, TimeUnit.SECONDS));
+	}
+
+	@Test
+	void disconnectWithoutJoinersStopsGeneration() throws Exception {
+		AtomicInteger chunksWritten = new AtomicInteger();
+		ExcelFileCache.Generator generator = out -> {
+			for (int i = 0; i < CHUNKS; i++) {
+				out.write(chunk(i));
+				out.flush();
+				chunksWritten.incrementAndGet();
+				sleep(20);
+			}
+		};
+
+		assertThrows(IOException.class, () -> downloadTo(generator, new OutputStream() {
+			@Override
+			public void write(int b) throws IOException {
+				throw new IOException("Broken pipe");
+			}
+		}));
+		assertTrue(chunksWritten.get() < CHUNKS);
+		assertEquals(0.0, registry.get("excel.export.coalesce.in-progress").gauge().value());
+		waitForSpoolDeleted();
+	}
+
+	@Test
+	void generationFailureIsReportedToEveryClient() throws Exception {
+		CountDownLatch allJoined = new CountDownLatch(1);
+		ExcelFileCache.Generator generator = out -> {
+			out.write(chunk(0));
+			out.flush();
+			await(allJoined);
+			throw new IOException("query failed");
+		};
+
+		List<Future<byte[]>> results = new ArrayList<>();
+		for (int i = 0; i < 2; i++) {
+			results.add(clients.submit(() -> download(generator, new ByteArrayOutputStream())));
+			if (i == 0) {
+				waitForGenerated();
+			}
+		}
+		waitForJoined(1);
+		allJoined.countDown();
+
+		// 생성한 요청은 원래 오류를, 합류한 요청은 생성 실패 오류를 받음
+		Exception failure = assertThrows(Exception.class, () -> results.get(0).get(10, TimeUnit.SECONDS));
+		assertEquals("query failed", failure.getCause().getMessage());
+		failure = assertThrows(Exception.class, () -> results.get(1).get(10, TimeUnit.SECONDS));
+		assertTrue(failure.getCause() instanceof IllegalStateException);
+		waitForSpoolDeleted();
+	}
+
+	private byte[] download(ExcelFileCache.Generator generator, ByteArrayOutputStream out) throws IOException {
+		coalescer.stream("direct:CSV:rowCount=100:filter=none", "direct", 100, generator, out);
+		return out.toByteArray();
+	}
+
+	private Object downloadTo(ExcelFileCache.Generator generator, OutputStream out) throws IOException {
+		coalescer.stream("direct:CSV:rowCount=100:filter=none", "direct", 100, generator, out);
+		return null;
+	}
+
+	private void waitForGenerated() throws InterruptedException {
+		while (registry.get("excel.export.coalesce.requests").tag("result", "generated").counter().count() < 1) {
+			Thread.sleep(5);
+		}
+	}
+
+	private void waitForJoined(int count) throws InterruptedException {
+		while (registry.get("excel.export.coalesce.requests").tag("result", "joined").counter().count() < count) {
+			Thread.sleep(5);
+		}
+	}
+
+	private void waitForSpoolDeleted() throws IOException, InterruptedException {
+		for (int i = 0; i < 200; i++) {
+			try (Stream<Path> files = Files.list(tempDir)) {
+				if (files.findAny().isEmpty()) {
+					return;
+				}
+			}
+			Thread.sleep(5);
+		}
+		throw new AssertionError("spool file was not deleted");
+	}
+
+	private static byte[] chunk(int index) {
+		byte[] bytes = new byte[CHUNK_SIZE];
+		for (int i = 0; i < bytes.length; i++) {
+			bytes[i] = (byte) (index * 31 + i);
+		}
+		return bytes;
+	}
+
+	private static byte[] expectedBytes() {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		for (int i = 0; i < CHUNKS; i++) {
+			out.writeBytes(chunk(i));
+		}
+		return out.toByteArray();
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(10, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,48 @@
+package com.mysite.dasan.excel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+
+class StreamingWorkbookTest {
+
+	@Test
+	void writesCappedColumnsAsSharedStrings() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (StreamingWorkbook workbook = new StreamingWorkbook(10, 3, new int[] { 1, 2 }, 5, XlsxCompression.DEFAULT)) {
+			Sheet sheet = workbook.createSheet("Data");
+			for (int i = 0; i < 100; i++) {
+				Row row = sheet.createRow(i);
+				row.createCell(0).setCellValue("id-" + i);
+				row.createCell(1).setCellValue("부서-" + (i % 3));
+				row.createCell(2).setCellValue("값-" + i);
+			}
+			workbook.write(out);
+
+			SharedStringDictionary sharedStrings = workbook.getSharedStrings();
+			assertFalse(sharedStrings.isSaturated(1));
+			assertTrue(sharedStrings.isSaturated(2));
+			assertEquals(3 + 5, sharedStrings.size());
+		}
+
+		try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+			Sheet sheet = workbook.getSheet("Data");
+			assertEquals(99, sheet.getLastRowNum());
+			for (int i = 0; i < 100; i++) {
+				Row row = sheet.getRow(i);
+				assertEquals("id-" + i, row.getCell(0).getStringCellValue());
+				assertEquals("부서-" + (i % 3), row.getCell(1).getStringCellValue());
+				assertEquals("값-" + i, row.getCell(2).getStringCellValue());
+			}
+			assertEquals(8, workbook.getSharedStringSource().getUniqueCount());
+		}
+	}
+}
@@ -0,0 +1,154 @@
+package com.mysite.dasan.excel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * 내보내기 조회 검증 (H2)
+ * 순차 조회와 분할 조회가 같은 행과 같은 예외를 전달하는지, 수정 시각이 먼저 정해지고 나중에 커밋되는 행이
+ * 증분 내보내기 기준점 뒤로 밀려 누락되지 않는지 확인합니다.
+ */
+@SpringBootTest
+class UnitTaskFetcherTest {
+
+	@Autowired
+	private UnitTaskMapper unitTaskMapper;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void setUp() {
+		jdbcTemplate.execute("DROP TABLE IF EXISTS Unit_Task");
+		jdbcTemplate.execute("CREATE TABLE Unit_Task (id BIGINT PRIMARY KEY, level1 VARCHAR(100), level2 VARCHAR(100), "
+				+ "level3 VARCHAR(100), level4 VARCHAR(100), level5 VARCHAR(100), level6 VARCHAR(100), "
+				+ "department VARCHAR(100), modified_at TIMESTAMP)");
+		// 이미 내보낼 수 있는 오래된 행과 방금 커밋된 행
+		for (long id = 1; id <= 3; id++) {
+			insert(id, "DATEADD('MINUTE', -10, LOCALTIMESTAMP)");
+		}
+		insert(4, "LOCALTIMESTAMP");
+	}
+
+	@Test
+	void lateCommittedRowWithEarlierTimestampIsExportedAfterLag() throws Exception {
+		UnitTaskFetcher fetcher = fetcher(2);
+
+		UnitTaskWatermark first = fetcher.findWatermark(UnitTaskWatermark.Type.MODIFIED, null, 0);
+		assertEquals(3, first.getId());
+
+		// id 4 보다 먼저 수정 시각이 정해졌지만 늦게 커밋된 행
+		insertLateRow();
+		Thread.sleep(2500);
+
+		UnitTaskWatermark second = fetcher.findWatermark(UnitTaskWatermark.Type.MODIFIED, first, 0);
+		assertEquals(4, second.getId());
+		assertEquals(List.of("5", "4"), fetchIds(fetcher, first, second));
+		assertNull(fetcher.findWatermark(UnitTaskWatermark.Type.MODIFIED, second, 0));
+	}
+
+	@Test
+	void withoutLagLateCommittedRowFallsBehindWatermark() {
+		UnitTaskFetcher fetcher = fetcher(0);
+
+		UnitTaskWatermark first = fetcher.findWatermark(UnitTaskWatermark.Type.MODIFIED, null, 0);
+		assertEquals(4, first.getId());
+		assertEquals(List.of("1", "2", "3", "4"), fetchIds(fetcher, null, first));
+
+		insertLateRow();
+
+		assertNull(fetcher.findWatermark(UnitTaskWatermark.Type.MODIFIED, first, 0));
+	}
+
+	@Test
+	void rowCountLimitsWatermarkWithinLag() {
+		UnitTaskFetcher fetcher = fetcher(60);
+
+		UnitTaskWatermark first = fetcher.findWatermark(UnitTaskWatermark.Type.MODIFIED, null, 2);
+		assertEquals(2, first.getId());
+		UnitTaskWatermark second = fetcher.findWatermark(UnitTaskWatermark.Type.MODIFIED, first, 2);
+		assertEquals(3, second.getId());
+		assertNull(fetcher.findWatermark(UnitTaskWatermark.Type.MODIFIED, second, 2));
+	}
+
+	@Test
+	void sequentialAndParallelFetchSelectSameRows() {
+		for (long id = 100; id > 10; id -= 7) {
+			insert(id, "LOCALTIMESTAMP");
+		}
+		UnitTaskFetcher sequential = fetcher(1, 0);
+		UnitTaskFetcher parallel = fetcher(2, 0);
+		try {
+			assertEquals(List.of("1", "2", "3", "4", "16", "23"), fetchIds(sequential, 6));
+			assertEquals(fetchIds(sequential, 6), fetchIds(parallel, 6));
+			assertEquals(fetchIds(sequential, 0), fetchIds(parallel, 0));
+		} finally {
+			parallel.shutdown();
+		}
+	}
+
+	@Test
+	void handlerExceptionIsRethrownUnchanged() {
+		UnitTaskFetcher parallel = fetcher(2, 0);
+		try {
+			for (UnitTaskFetcher fetcher : List.of(fetcher(1, 0), parallel)) {
+				IllegalStateException clientGone = new IllegalStateException("client disconnected");
+				RuntimeException thrown = assertThrows(RuntimeException.class, () -> fetcher.fetch(context -> {
+					throw clientGone;
+				}, 0));
+				assertSame(clientGone, thrown);
+			}
+		} finally {
+			parallel.shutdown();
+		}
+	}
+
+	private UnitTaskFetcher fetcher(int lagSeconds) {
+		return fetcher(1, lagSeconds);
+	}
+
+	private UnitTaskFetcher fetcher(int parallelism, int lagSeconds) {
+		return new UnitTaskFetcher(unitTaskMapper, transactionManager, dataSource, parallelism, 1, false, "modified_at",
+				lagSeconds);
+	}
+
+	private List<String> fetchIds(UnitTaskFetcher fetcher, int rowCount) {
+		List<String> ids = new ArrayList<>();
+		fetcher.fetch(context -> ids.add(context.getResultObject().getId()), rowCount);
+		return ids;
+	}
+
+	private void insert(long id, String modifiedAt) {
+		jdbcTemplate.update("INSERT INTO Unit_Task VALUES (?, 'a', 'b', 'c', 'd', 'e', 'f', 'g', " + modifiedAt + ")", id);
+	}
+
+	private void insertLateRow() {
+		insert(5, "(SELECT DATEADD('SECOND', -1, modified_at) FROM Unit_Task WHERE id = 4)");
+	}
+
+	private List<String> fetchIds(UnitTaskFetcher fetcher, UnitTaskWatermark since, UnitTaskWatermark until) {
+		List<String> ids = new ArrayList<>();
+		fetcher.fetchSince(context -> ids.add(context.getResultObject().getId()), since, until);
+		return ids;
+	}
+}
@@ -0,0 +1,39 @@
+package com.mysite.dasan.excel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import org.junit.jupiter.api.Test;
+
+class UnitTaskFilterTest {
+
+	@Test
+	void valuesContainingSeparatorsDoNotCollide() {
+		UnitTaskFilter combined = new UnitTaskFilter();
+		combined.setDepartment("a,level1=b");
+
+		UnitTaskFilter separate = new UnitTaskFilter();
+		separate.setDepartment("a");
+		separate.setLevel1("b");
+
+		// 로그용 문자열은 같지만 키는 달라야 함
+		assertEquals(combined.toString(), separate.toString());
+		assertNotEquals(combined.cacheKey(), separate.cacheKey());
+
+		UnitTaskFilter shifted = new UnitTaskFilter();
+		shifted.setDepartment("a;b");
+		UnitTaskFilter split = new UnitTaskFilter();
+		split.setDepartment("a");
+		split.setLevel1("b");
+		assertNotEquals(shifted.cacheKey(), split.cacheKey());
+	}
+
+	@Test
+	void blankValuesMatchUnsetValues() {
+		UnitTaskFilter blank = new UnitTaskFilter();
+		blank.setLevel2("");
+
+		assertEquals(new UnitTaskFilter().cacheKey(), blank.cacheKey());
+		assertEquals("-;-;-;-;-;-;-;", blank.cacheKey());
+	}
+}
@@ -0,0 +1,33 @@
+package com.mysite.dasan.excel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+class UnitTaskWatermarkTest {
+
+	@Test
+	void parsesWhatItFormats() {
+		UnitTaskWatermark id = UnitTaskWatermark.parse(UnitTaskWatermark.Type.ID, "250");
+		assertEquals(250L, id.getId());
+		assertEquals("250", id.toString());
+
+		UnitTaskWatermark modified = new UnitTaskWatermark(LocalDateTime.of(2024, 1, 31, 9, 30, 0, 123456000), 77);
+		UnitTaskWatermark parsed = UnitTaskWatermark.parse(UnitTaskWatermark.Type.MODIFIED, modified.toString());
+		assertEquals("2024-01-31T09:30:00.123456~77", parsed.toString());
+		assertEquals(modified.getModifiedAt(), parsed.getModifiedAt());
+		assertEquals(77L, parsed.getId());
+	}
+
+	@Test
+	void rejectsMalformedWatermarks() {
+		assertThrows(IllegalArgumentException.class, () -> UnitTaskWatermark.parse(UnitTaskWatermark.Type.ID, "abc"));
+		assertThrows(IllegalArgumentException.class,
+				() -> UnitTaskWatermark.parse(UnitTaskWatermark.Type.MODIFIED, "2024-01-31T09:30:00"));
+		assertThrows(IllegalArgumentException.class,
+				() -> UnitTaskWatermark.parse(UnitTaskWatermark.Type.MODIFIED, "yesterday~1"));
+	}
+}
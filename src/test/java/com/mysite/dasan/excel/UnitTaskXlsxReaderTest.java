@@ -0,0 +1,76 @@
+package com.mysite.dasan.excel;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class UnitTaskXlsxReaderTest {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void readsDirectModeExportAcrossSheets() throws Exception {
+		Path file = tempDir.resolve("direct.xlsx");
+		try (OutputStream out = Files.newOutputStream(file); XlsxStreamWriter writer = new XlsxStreamWriter(out)) {
+			writer.startSheet("Data", 8, 3600);
+			writer.writeRow(ExcelService.EXCEL_HEADERS);
+			writer.writeRow(new String[] { "1", "A", null, "C", null, null, null, "D" });
+			writer.writeRow(new String[8]);
+			writer.startSheet("Data_2", 8, 3600);
+			writer.writeRow(ExcelService.EXCEL_HEADERS);
+			writer.writeRow(new String[] { "2", "A", "B", null, null, null, null, null });
+		}
+
+		List<String> rows = new ArrayList<>();
+		UnitTaskXlsxReader.read(file, (sheet, rowNumber, values) -> rows.add(sheet + ":" + rowNumber + ":" + String.join("|",
+				Arrays.stream(values).map(String::valueOf).toList())));
+
+		assertEquals(List.of("Data:2:1|A|null|C|null|null|null|D", "Data_2:2:2|A|B|null|null|null|null|null"), rows);
+	}
+
+	@Test
+	void readsNumericIdWithoutScientificNotation() throws Exception {
+		Path file = tempDir.resolve("numeric.xlsx");
+		try (XSSFWorkbook workbook = new XSSFWorkbook(); OutputStream out = Files.newOutputStream(file)) {
+			Row header = workbook.createSheet("Data").createRow(0);
+			for (int i = 0; i < ExcelService.EXCEL_HEADERS.length; i++) {
+				header.createCell(i).setCellValue(ExcelService.EXCEL_HEADERS[i]);
+			}
+			Row row = workbook.getSheet("Data").createRow(1);
+			row.createCell(0).setCellValue(1234567890123d);
+			row.createCell(7).setCellValue("D");
+			workbook.write(out);
+		}
+
+		List<String[]> rows = new ArrayList<>();
+		UnitTaskXlsxReader.read(file, (sheet, rowNumber, values) -> rows.add(values.clone()));
+
+		assertEquals(1, rows.size());
+		assertArrayEquals(new String[] { "1234567890123", null, null, null, null, null, null, "D" }, rows.get(0));
+	}
+
+	@Test
+	void rejectsUnexpectedHeader() throws Exception {
+		Path file = tempDir.resolve("header.xlsx");
+		try (OutputStream out = Files.newOutputStream(file); XlsxStreamWriter writer = new XlsxStreamWriter(out)) {
+			writer.startSheet("Data", 2, 3600);
+			writer.writeRow(new String[] { "id", "name" });
+		}
+
+		assertThrows(IllegalArgumentException.class, () -> UnitTaskXlsxReader.read(file, (sheet, rowNumber, values) -> {
+		}));
+	}
+}
@@ -0,0 +1,198 @@
+package com.mysite.dasan.excel;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.Inflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveInputStream;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class XlsxCompressionTest {
+
+	private static final int BLOCK_SIZE = 64 * 1024;
+
+	private final XlsxCompression parallel = new XlsxCompression(6, 3, BLOCK_SIZE);
+
+	@AfterEach
+	void tearDown() {
+		parallel.close();
+	}
+
+	@Test
+	void parallelBlocksInflateToOriginalBytes() throws Exception {
+		// 마지막 블록이 일부만 찬 경우, 블록 경계에서 정확히 끝나 빈 마지막 블록이 붙는 경우, 블록 1개인 경우
+		for (int length : new int[] { BLOCK_SIZE * 3 + 12345, BLOCK_SIZE * 4, 100 }) {
+			byte[] input = sampleXml(length);
+			ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+			try (ParallelDeflaterOutputStream out = parallel.newParallelDeflater(compressed)) {
+				for (int offset = 0; offset < input.length; offset += 1000) {
+					out.write(input, offset, Math.min(1000, input.length - offset));
+				}
+			}
+
+			assertArrayEquals(input, inflate(compressed.toByteArray(), input.length));
+			if (length > BLOCK_SIZE) {
+				assertTrue(compressed.size() < length / 5, "compressed size: " + compressed.size());
+			}
+		}
+	}
+
+	@Test
+	void directWriterWithParallelCompressionIsReadable() throws Exception {
+		byte[] xlsx = writeDirect(parallel, 20000);
+
+		assertEquals(List.of("xl/worksheets/sheet1.xml", "xl/worksheets/sheet2.xml", "xl/workbook.xml",
+				"xl/_rels/workbook.xml.rels", "xl/styles.xml", "_rels/.rels", "[Content_Types].xml"), entryNames(xlsx));
+		try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(xlsx))) {
+			Sheet sheet = workbook.getSheet("Data");
+			assertEquals(15000, sheet.getLastRowNum());
+			assertEquals("14999", sheet.getRow(15000).getCell(0).getStringCellValue());
+			assertEquals("부서 4", sheet.getRow(15000).getCell(2).getStringCellValue());
+			assertEquals(5000, workbook.getSheet("Data_2").getLastRowNum());
+		}
+	}
+
+	@Test
+	void storeOnlyLevelSkipsCompression() throws Exception {
+		try (XlsxCompression storeOnly = new XlsxCompression(0, 4, BLOCK_SIZE)) {
+			byte[] stored = writeDirect(storeOnly, 5000);
+			byte[] deflated = writeDirect(XlsxCompression.DEFAULT, 5000);
+
+			assertTrue(!storeOnly.isParallel());
+			assertTrue(stored.length > deflated.length * 5, stored.length + " vs " + deflated.length);
+			try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(stored))) {
+				assertEquals(5000, workbook.getSheet("Data").getLastRowNum());
+			}
+		}
+	}
+
+	@Test
+	void poiWorkbooksUseParallelSheetCompression() throws Exception {
+		ByteArrayOutputStream streamed = new ByteArrayOutputStream();
+		try (StreamingWorkbook workbook = new StreamingWorkbook(100, 3, new int[] { 2 }, 50, parallel)) {
+			fillSheet(workbook.createSheet("Data"), 20000);
+			workbook.write(streamed);
+			workbook.dispose();
+		}
+
+		ByteArrayOutputStream inMemory = new ByteArrayOutputStream();
+		try (XSSFWorkbook workbook = new XSSFWorkbook(); XlsxArchiveOutputStream zip = new XlsxArchiveOutputStream(inMemory, parallel)) {
+			fillSheet(workbook.createSheet("Data"), 20000);
+			workbook.write(zip);
+		}
+
+		for (byte[] xlsx : List.of(streamed.toByteArray(), inMemory.toByteArray())) {
+			// 병렬 압축한 시트는 크기를 로컬 헤더에 미리 기록한 raw 엔트리
+			assertTrue(sheetSizeInLocalHeader(xlsx) > 0);
+			try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(xlsx))) {
+				Sheet sheet = workbook.getSheet("Data");
+				assertEquals(19999, sheet.getLastRowNum());
+				assertEquals("19999", sheet.getRow(19999).getCell(0).getStringCellValue());
+				assertEquals("부서 9", sheet.getRow(19999).getCell(2).getStringCellValue());
+			}
+		}
+	}
+
+	private static byte[] writeDirect(XlsxCompression compression, int rows) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (XlsxStreamWriter writer = new XlsxStreamWriter(out, compression)) {
+			writer.startSheet("Data", 3, 3600);
+			writer.writeRow(new String[] { "id", "LEVEL_1", "DEPARTMENT" });
+			for (int i = 0; i < rows; i++) {
+				if (i == 15000) {
+					writer.startSheet("Data_2", 3, 3600);
+					writer.writeRow(new String[] { "id", "LEVEL_1", "DEPARTMENT" });
+				}
+				writer.writeRow(new String[] { Integer.toString(i), "본부 " + (i % 7), "부서 " + (i % 5) });
+				if (i % 1000 == 0) {
+					writer.flush();
+				}
+			}
+		}
+		return out.toByteArray();
+	}
+
+	private static void fillSheet(Sheet sheet, int rows) {
+		for (int i = 0; i < rows; i++) {
+			Row row = sheet.createRow(i);
+			row.createCell(0).setCellValue(Integer.toString(i));
+			row.createCell(1).setCellValue("본부 " + (i % 7));
+			row.createCell(2).setCellValue("부서 " + (i % 10));
+		}
+	}
+
+	/**
+	 * java.util.zip 으로 순서대로 읽어 로컬 헤더와 데이터 디스크립터 형식을 확인
+	 */
+	private static List<String> entryNames(byte[] zip) throws IOException {
+		List<String> names = new ArrayList<>();
+		try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(zip))) {
+			ZipEntry entry;
+			while ((entry = in.getNextEntry()) != null) {
+				in.readAllBytes();
+				names.add(entry.getName());
+			}
+		}
+		return names;
+	}
+
+	/**
+	 * SXSSF 는 ZIP64 데이터 디스크립터를 기록하므로 commons-compress 로 순서대로 읽음
+	 */
+	private static long sheetSizeInLocalHeader(byte[] zip) throws IOException {
+		try (ZipArchiveInputStream in = new ZipArchiveInputStream(new ByteArrayInputStream(zip))) {
+			ZipArchiveEntry entry;
+			while ((entry = in.getNextZipEntry()) != null) {
+				if (entry.getName().equals("xl/worksheets/sheet1.xml")) {
+					return entry.getSize();
+				}
+			}
+		}
+		return -1;
+	}
+
+	private static byte[] inflate(byte[] compressed, int expectedLength) throws Exception {
+		Inflater inflater = new Inflater(true);
+		try {
+			inflater.setInput(compressed);
+			byte[] output = new byte[expectedLength + 1];
+			int length = 0;
+			while (!inflater.finished()) {
+				int count = inflater.inflate(output, length, output.length - length);
+				if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+					break;
+				}
+				length += count;
+			}
+			assertTrue(inflater.finished());
+			return Arrays.copyOf(output, length);
+		} finally {
+			inflater.end();
+		}
+	}
+
+	private static byte[] sampleXml(int length) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(length);
+		for (int i = 0; out.size() < length; i++) {
+			out.writeBytes(("<row r=\"" + i + "\"><c t=\"inlineStr\"><is><t>" + (i * 7919 % 1000) + "</t></is></c></row>")
+					.getBytes(StandardCharsets.UTF_8));
+		}
+		return Arrays.copyOf(out.toByteArray(), length);
+	}
+}
@@ -0,0 +1,35 @@
+package com.mysite.dasan.excel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+
+class XlsxStreamWriterTest {
+
+	@Test
+	void writesWorkbookReadableByPoi() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (XlsxStreamWriter writer = new XlsxStreamWriter(out)) {
+			writer.startSheet("Data", 3, 3600);
+			writer.writeRow(new String[] { "id", "LEVEL_1", "DEPARTMENT" });
+			writer.writeRow(new String[] { "1", "A & B <C>", " 공백 " });
+			writer.writeRow(new String[] { "2", null, "\u0001제어" });
+		}
+
+		try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+			Sheet sheet = workbook.getSheet("Data");
+			assertEquals(2, sheet.getLastRowNum());
+			assertEquals("LEVEL_1", sheet.getRow(0).getCell(1).getStringCellValue());
+			assertEquals("A & B <C>", sheet.getRow(1).getCell(1).getStringCellValue());
+			assertEquals(" 공백 ", sheet.getRow(1).getCell(2).getStringCellValue());
+			assertEquals("", sheet.getRow(2).getCell(1).getStringCellValue());
+			assertEquals("제어", sheet.getRow(2).getCell(2).getStringCellValue());
+			assertEquals(3600, sheet.getColumnWidth(0));
+		}
+	}
+}
@@ -0,0 +1,119 @@
+package com.mysite.dasan.hierarchy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.mysite.dasan.excel.UnitTaskFetcher;
+
+/**
+ * 계층 색인의 증분 반영과 전체 재생성 검증 (H2)
+ */
+@SpringBootTest
+class TaskTreeIndexTest {
+
+	private static final long NEVER = Long.MAX_VALUE;
+
+	@Autowired
+	private UnitTaskFetcher unitTaskFetcher;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void setUp() {
+		jdbcTemplate.execute("DROP TABLE IF EXISTS Unit_Task");
+		jdbcTemplate.execute("CREATE TABLE Unit_Task (id BIGINT PRIMARY KEY, level1 VARCHAR(100), level2 VARCHAR(100), "
+				+ "level3 VARCHAR(100), level4 VARCHAR(100), level5 VARCHAR(100), level6 VARCHAR(100), department VARCHAR(100))");
+		List<Object[]> rows = new ArrayList<>();
+		for (int id = 1; id <= 300; id++) {
+			rows.add(new Object[] { id, "본부" + (id % 3), "팀" + (id % 4), id % 2 == 0 ? "파트" : null, "부서" + (id % 5) });
+		}
+		jdbcTemplate.batchUpdate("INSERT INTO Unit_Task (id, level1, level2, level3, department) VALUES (?, ?, ?, ?, ?)", rows);
+	}
+
+	@Test
+	void warmUpBuildsIndex() {
+		TaskTreeIndex index = new TaskTreeIndex(unitTaskFetcher, NEVER);
+		index.warmUp();
+		// 색인이 이미 있으므로 테이블이 없어져도 조회됨
+		jdbcTemplate.execute("DROP TABLE Unit_Task");
+
+		TaskTreeLevel top = index.getLevel(List.of());
+		assertEquals(300, top.getIndexedRows());
+		assertEquals(List.of("본부0", "본부1", "본부2"), names(top.getChildren()));
+
+		TaskTreeLevel level = index.getLevel(List.of("본부1"));
+		assertEquals(100, level.getNode().getCount());
+		assertEquals(4, level.getChildren().size());
+		assertEquals(20, level.getNode().getDepartments().get("부서1"));
+		assertNull(index.getLevel(List.of("없음")));
+	}
+
+	@Test
+	void warmUpFailureBuildsOnFirstRequest() {
+		jdbcTemplate.execute("ALTER TABLE Unit_Task RENAME TO Unit_Task_Moved");
+		TaskTreeIndex index = new TaskTreeIndex(unitTaskFetcher, NEVER);
+		index.warmUp();
+		jdbcTemplate.execute("ALTER TABLE Unit_Task_Moved RENAME TO Unit_Task");
+
+		assertEquals(300, index.getLevel(List.of()).getIndexedRows());
+	}
+
+	@Test
+	void refreshAppliesAddedRowsOnly() {
+		TaskTreeIndex index = new TaskTreeIndex(unitTaskFetcher, NEVER);
+		index.getLevel(List.of());
+
+		jdbcTemplate.update("INSERT INTO Unit_Task (id, level1, level2, department) VALUES (500, '본부1', '신규팀', '부서9')");
+		jdbcTemplate.update("INSERT INTO Unit_Task (id, level1, department) VALUES (501, '신규본부', '부서9')");
+		// 기존 행의 계층 수정은 전체 재생성 전까지 반영되지 않음
+		jdbcTemplate.update("UPDATE Unit_Task SET level1 = '본부2' WHERE id = 1");
+		index.refresh();
+
+		TaskTreeLevel top = index.getLevel(List.of());
+		assertEquals(302, top.getIndexedRows());
+		assertEquals(List.of("본부0", "본부1", "본부2", "신규본부"), names(top.getChildren()));
+		TaskTreeLevel level = index.getLevel(List.of("본부1"));
+		assertEquals(101, level.getNode().getCount());
+		assertEquals(5, level.getChildren().size());
+		assertEquals(Map.of("부서9", 1), index.getLevel(List.of("본부1", "신규팀")).getNode().getDepartments());
+	}
+
+	@Test
+	void refreshRebuildsWhenRowsWereDeleted() {
+		TaskTreeIndex index = new TaskTreeIndex(unitTaskFetcher, NEVER);
+		index.getLevel(List.of());
+
+		jdbcTemplate.update("DELETE FROM Unit_Task WHERE id IN (3, 6)");
+		index.refresh();
+
+		assertEquals(298, index.getLevel(List.of()).getIndexedRows());
+		assertEquals(98, index.getLevel(List.of("본부0")).getNode().getCount());
+	}
+
+	@Test
+	void refreshRebuildsAfterFullRebuildInterval() {
+		TaskTreeIndex index = new TaskTreeIndex(unitTaskFetcher, 0);
+		index.getLevel(List.of());
+
+		jdbcTemplate.update("UPDATE Unit_Task SET level1 = '본부2' WHERE id = 1");
+		index.refresh();
+
+		assertEquals(99, index.getLevel(List.of("본부1")).getNode().getCount());
+		assertEquals(101, index.getLevel(List.of("본부2")).getNode().getCount());
+	}
+
+	private static List<String> names(List<TaskTreeNodeView> views) {
+		return views.stream().map(TaskTreeNodeView::getName).toList();
+	}
+}
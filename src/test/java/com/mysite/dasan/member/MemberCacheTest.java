@@ -0,0 +1,81 @@
+package com.mysite.dasan.member;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MemberCacheTest {
+
+	private final Map<String, MemberVO> table = new ConcurrentHashMap<>();
+	private final AtomicInteger queries = new AtomicInteger();
+	private volatile CountDownLatch queryStarted;
+	private volatile CountDownLatch releaseQuery;
+
+	private final MemberCache cache = new MemberCache(mapper(), new SimpleMeterRegistry(), 100, 300, 100, 60);
+
+	@Test
+	void cachesMembersAndUnknownIds() {
+		table.put("kim", member("kim"));
+
+		assertNotNull(cache.findById("kim"));
+		assertNotNull(cache.findById("kim"));
+		assertNull(cache.findById("lee"));
+		assertNull(cache.findById("lee"));
+		assertEquals(2, queries.get());
+	}
+
+	@Test
+	void missRacingRegistrationDoesNotCacheNotFound() throws Exception {
+		queryStarted = new CountDownLatch(1);
+		releaseQuery = new CountDownLatch(1);
+
+		// 등록 커밋 전에 시작된 조회가 "없음" 결과를 가진 채로 지연됨
+		CompletableFuture<MemberVO> lookup = CompletableFuture.supplyAsync(() -> cache.findById("park"));
+		assertEquals(true, queryStarted.await(5, TimeUnit.SECONDS));
+
+		// 등록 커밋 후 evict 가 조회 결과 보관보다 먼저 실행됨
+		table.put("park", member("park"));
+		cache.evict("park");
+		releaseQuery.countDown();
+		assertNull(lookup.get(5, TimeUnit.SECONDS));
+
+		queryStarted = null;
+		assertNotNull(cache.findById("park"));
+	}
+
+	private MemberMapper mapper() {
+		return (MemberMapper) Proxy.newProxyInstance(MemberMapper.class.getClassLoader(), new Class<?>[] { MemberMapper.class },
+				(proxy, method, args) -> {
+					if (!method.getName().equals("selectMemberById")) {
+						throw new UnsupportedOperationException(method.getName());
+					}
+					queries.incrementAndGet();
+					MemberVO member = table.get((String) args[0]);
+					CountDownLatch started = queryStarted;
+					if (started != null) {
+						started.countDown();
+						releaseQuery.await();
+					}
+					return member;
+				});
+	}
+
+	private static MemberVO member(String id) {
+		MemberVO member = new MemberVO();
+		member.setId(id);
+		member.setRole("USER");
+		return member;
+	}
+}
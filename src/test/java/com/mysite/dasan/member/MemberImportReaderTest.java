@@ -0,0 +1,60 @@
+package com.mysite.dasan.member;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+
+class MemberImportReaderTest {
+
+	@Test
+	void readsQuotedCsvWithBom() throws Exception {
+		String csv = "\uFEFFEmail,ID,Password\r\n"
+				+ "a@x.com,alice,\" p,\"\"w\"\"\"\r\n"
+				+ ",,\r\n"
+				+ "b@x.com,bob,secret\n";
+
+		List<MemberImportReader.ImportRow> rows = MemberImportReader.read("members.csv",
+				new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), 10);
+
+		assertEquals(2, rows.size());
+		assertEquals(2, rows.get(0).rowNumber());
+		assertEquals("alice", rows.get(0).member().getId());
+		assertEquals(" p,\"w\"", rows.get(0).member().getPassword());
+		assertNull(rows.get(0).member().getRole());
+		assertEquals(4, rows.get(1).rowNumber());
+		assertEquals("b@x.com", rows.get(1).member().getEmail());
+	}
+
+	@Test
+	void readsXlsx() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+			Sheet sheet = workbook.createSheet();
+			writeRow(sheet.createRow(0), "id", "password", "email", "role");
+			writeRow(sheet.createRow(1), "carol", "secret", "c@x.com", "ORG");
+			workbook.write(out);
+		}
+
+		List<MemberImportReader.ImportRow> rows = MemberImportReader.read("members.XLSX",
+				new ByteArrayInputStream(out.toByteArray()), 10);
+
+		assertEquals(1, rows.size());
+		assertEquals("carol", rows.get(0).member().getId());
+		assertEquals("ORG", rows.get(0).member().getRole());
+	}
+
+	private static void writeRow(Row row, String... values) {
+		for (int i = 0; i < values.length; i++) {
+			row.createCell(i).setCellValue(values[i]);
+		}
+	}
+}
@@ -0,0 +1,93 @@
+package com.mysite.dasan.member;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import jakarta.validation.Validator;
+
+/**
+ * 회원 대량 등록 검증 (H2, 등록 SQL 이 Oracle 문법이므로 Oracle 호환 모드)
+ */
+@SpringBootTest(properties = { "spring.datasource.url=jdbc:h2:mem:memberimport;MODE=Oracle" })
+class MemberImportServiceTest {
+
+	@Autowired
+	private MemberMapper memberMapper;
+
+	@Autowired
+	private MemberCache memberCache;
+
+	@Autowired
+	private Validator validator;
+
+	@Autowired
+	private SqlSessionFactory sqlSessionFactory;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void setUp() {
+		jdbcTemplate.execute("DROP TABLE IF EXISTS MEMBER");
+		jdbcTemplate.execute("DROP SEQUENCE IF EXISTS MEMBER_NOSEQ");
+		jdbcTemplate.execute("CREATE SEQUENCE MEMBER_NOSEQ");
+		jdbcTemplate.execute("CREATE TABLE MEMBER (NO INT, ID VARCHAR(50) UNIQUE, PASSWORD VARCHAR(100), EMAIL VARCHAR(100), "
+				+ "ROLE VARCHAR(20), CREATE_DATE DATE)");
+		jdbcTemplate.update("INSERT INTO MEMBER VALUES (0, 'user2', 'x', 'user2@example.com', 'USER', CURRENT_DATE)");
+	}
+
+	@Test
+	void idsRegisteredDuringHashingAreReportedAsSkipped() {
+		// 기존 회원 확인 뒤, 해시하는 동안 다른 요청이 user4 를 먼저 등록
+		PasswordEncoder racingEncoder = new PasswordEncoder() {
+			private boolean registered;
+
+			@Override
+			public String encode(CharSequence rawPassword) {
+				if (!registered) {
+					registered = true;
+					jdbcTemplate.update("INSERT INTO MEMBER VALUES (-1, 'user4', 'x', 'user4@example.com', 'USER', CURRENT_DATE)");
+				}
+				return "hashed-" + rawPassword;
+			}
+
+			@Override
+			public boolean matches(CharSequence rawPassword, String encodedPassword) {
+				return encodedPassword.equals("hashed-" + rawPassword);
+			}
+		};
+		MemberImportService service = new MemberImportService(memberMapper, memberCache, racingEncoder, validator,
+				sqlSessionFactory, transactionManager, 2);
+
+		List<MemberImportReader.ImportRow> rows = new ArrayList<>();
+		for (int i = 1; i <= 6; i++) {
+			MemberVO member = new MemberVO();
+			member.setId("user" + i);
+			member.setPassword("password" + i);
+			member.setEmail("user" + i + "@example.com");
+			rows.add(new MemberImportReader.ImportRow(i + 1, member));
+		}
+
+		MemberImportResult result = service.importMembers(rows);
+
+		assertEquals(4, result.getImportedCount());
+		assertEquals(List.of(new MemberImportResult.SkippedRow(3, "user2", "이미 존재하는 아이디입니다."),
+				new MemberImportResult.SkippedRow(5, "user4", "이미 존재하는 아이디입니다.")), result.getSkippedRows());
+		assertEquals(6, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM MEMBER", Integer.class));
+		assertEquals("hashed-password5", jdbcTemplate.queryForObject("SELECT PASSWORD FROM MEMBER WHERE ID = 'user5'", String.class));
+	}
+}